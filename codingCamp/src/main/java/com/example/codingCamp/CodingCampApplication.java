@@ -11,10 +11,10 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
-import org.springframework.web.client.RestTemplate;
 import com.example.codingCamp.profile.model.Student;
 import com.example.codingCamp.profile.model.Teacher;
 import com.example.codingCamp.profile.model.Parent;
@@ -26,6 +26,7 @@ import com.example.codingCamp.profile.service.UserService;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 public class CodingCampApplication {
 
 	public static void main(String[] args) {
@@ -33,11 +34,6 @@ public class CodingCampApplication {
 		SpringApplication.run(CodingCampApplication.class, args);
 	}
 
-	@Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
-	
 	@Bean
 	CommandLineRunner run(
 			RoleRepository roleRepository,
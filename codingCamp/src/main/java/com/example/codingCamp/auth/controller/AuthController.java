@@ -1,95 +1,81 @@
 package com.example.codingCamp.auth.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.DisabledException;
-import org.springframework.security.authentication.ProviderManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 
 import com.example.codingCamp.auth.dto.request.LoginRequest;
 import com.example.codingCamp.auth.dto.response.LoginResponse;
+import com.example.codingCamp.auth.dto.response.TokenCacheStatsDTO;
+import com.example.codingCamp.auth.service.LoginService;
+import com.example.codingCamp.auth.service.LoginThrottledException;
 import com.example.codingCamp.dto.BaseResponseDTO;
-import com.example.codingCamp.profile.model.UserModel;
-import com.example.codingCamp.profile.service.UserService;
-import com.example.codingCamp.security.jwt.JwtUtils;
+import com.example.codingCamp.security.jwt.VerifiedTokenCache;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 import java.util.Date;
-import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("api/auth")
 public class AuthController {
 
     @Autowired
-    UserService userService;
-
-    @Autowired
-    JwtUtils jwtUtils;
+    LoginService loginService;
 
     @Autowired
-    BCryptPasswordEncoder encoder;
-
-    @Qualifier("userDetailsServiceImpl")
-    @Autowired
-    private UserDetailsService userDetailsService;
+    VerifiedTokenCache verifiedTokenCache;
 
     @PostMapping("/login")
-    public ResponseEntity<?> userLogin(@RequestBody LoginRequest requestDTO) {
+    public ResponseEntity<?> userLogin(@RequestBody LoginRequest requestDTO, HttpServletRequest request) {
         var baseResponseDTO = new BaseResponseDTO<LoginResponse>();
+        baseResponseDTO.setTimestamp(new Date());
         try {
-            // Ubah getEmailOrUsername ke getUsername sesuai LoginRequest
-            authenticate(requestDTO.getEmailOrUsername(), requestDTO.getPassword());
+            baseResponseDTO.setData(loginService.login(requestDTO, request.getRemoteAddr()));
             baseResponseDTO.setStatus(HttpStatus.OK.value());
             baseResponseDTO.setMessage("Login Berhasil");
-            baseResponseDTO.setTimestamp(new Date());
-        } catch (Exception e) {
-            baseResponseDTO.setStatus(HttpStatus.FORBIDDEN.value());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.OK);
+        } catch (LoginThrottledException e) {
+            baseResponseDTO.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            baseResponseDTO.setMessage(e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(baseResponseDTO);
+        } catch (RejectedExecutionException e) {
+            // Antrean BCrypt penuh: tolak cepat daripada menahan request lebih lama
+            baseResponseDTO.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
             baseResponseDTO.setMessage(e.getMessage());
-            baseResponseDTO.setTimestamp(new Date());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(baseResponseDTO);
+        } catch (IllegalArgumentException e) {
+            baseResponseDTO.setStatus(HttpStatus.BAD_REQUEST.value());
+            baseResponseDTO.setMessage(e.getMessage());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.BAD_REQUEST);
+        } catch (DisabledException e) {
+            baseResponseDTO.setStatus(HttpStatus.FORBIDDEN.value());
+            baseResponseDTO.setMessage("USER_DISABLED");
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.FORBIDDEN);
+        } catch (AuthenticationException e) {
+            baseResponseDTO.setStatus(HttpStatus.FORBIDDEN.value());
+            baseResponseDTO.setMessage("INVALID_CREDENTIALS");
             return new ResponseEntity<>(baseResponseDTO, HttpStatus.FORBIDDEN);
         }
-
-        UserModel user = userService.findUserByEmailOrUsername(requestDTO.getEmailOrUsername());
-
-        final String token = jwtUtils.generateJwtToken(
-                                user.getUsername(), 
-                                user.getId().toString(),
-                                user.getRole().getRole()
-                             );
-
-        // Buat LoginResponse dengan semua field agar sesuai constructor
-        baseResponseDTO.setData(new LoginResponse(token, user.getRole().getRole(), user.getId()));
-        return new ResponseEntity<>(baseResponseDTO, HttpStatus.OK);
     }
 
-    private void authenticate(String username, String password) throws Exception {
-        Objects.requireNonNull(username);
-        Objects.requireNonNull(password);
-
-        UserModel user = userService.findUserByEmailOrUsername(username);
-
-        if (user == null) {
-            throw new Exception("USER_NOT_FOUND");
-        }
-
-        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
-        authenticationProvider.setUserDetailsService(userDetailsService);
-        authenticationProvider.setPasswordEncoder(encoder);
-        AuthenticationManager authenticationManager = new ProviderManager(authenticationProvider);
-
-        try {
-            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(user.getUsername(), password));
-        } catch (DisabledException e) {
-            throw new Exception("USER_DISABLED", e);
-        } catch (Exception e) {
-            throw new Exception("INVALID_CREDENTIALS", e);
-        }
+    // Hit/miss cache token terverifikasi
+    @GetMapping("/token-cache")
+    public ResponseEntity<?> getTokenCacheStats() {
+        var baseResponseDTO = new BaseResponseDTO<TokenCacheStatsDTO>();
+        baseResponseDTO.setStatus(HttpStatus.OK.value());
+        baseResponseDTO.setMessage("Berhasil mendapatkan statistik cache token");
+        baseResponseDTO.setTimestamp(new Date());
+        baseResponseDTO.setData(verifiedTokenCache.getStats());
+        return new ResponseEntity<>(baseResponseDTO, HttpStatus.OK);
     }
 }
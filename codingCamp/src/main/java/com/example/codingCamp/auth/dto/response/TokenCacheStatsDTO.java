@@ -0,0 +1,23 @@
+package com.example.codingCamp.auth.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenCacheStatsDTO {
+    private Boolean enabled;
+    private Integer size;
+    private Integer capacity;
+    // Hit = token sudah pernah diverifikasi, tanpa cek signature lagi
+    private Long hits;
+    private Long misses;
+    private Double hitRate;
+    // Dibuang karena kapasitas penuh (LRU) vs karena token kedaluwarsa
+    private Long lruEvictions;
+    private Long expiredEvictions;
+}
@@ -3,42 +3,30 @@ package com.example.codingCamp.auth.service;
 
 
 
-import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import com.example.codingCamp.security.jwt.JwtUtils;
+import com.example.codingCamp.security.jwt.JwtPrincipal;
 
 @Service
 public class AuthService {
-    
-    @Autowired
-    private HttpServletRequest request;
-
-    @Autowired
-    private JwtUtils jwtUtils;
 
+    // Token sudah diverifikasi dan di-parse sekali oleh JwtTokenFilter
     public Long getCurrentUserId() {
-        String token = parseJwt(request);
-        if (token != null && jwtUtils.validateJwtToken(token)) {
-            String idString = jwtUtils.getClaimFromJwtToken(token, "id");
-            return Long.parseLong(idString);
-        }
-        return null;
+        JwtPrincipal principal = currentPrincipal();
+        return principal == null ? null : principal.id();
     }
 
     public String getCurrentUserRole() {
-        String token = parseJwt(request);
-        if (token != null && jwtUtils.validateJwtToken(token)) {
-            return jwtUtils.getClaimFromJwtToken(token, "role");
-        }
-        return null;
+        JwtPrincipal principal = currentPrincipal();
+        return principal == null ? null : principal.role();
     }
 
-    private String parseJwt(HttpServletRequest request) {
-        String headerAuth = request.getHeader("Authorization");
-        if (headerAuth != null && headerAuth.startsWith("Bearer ")) {
-            return headerAuth.substring(7); // Remove "Bearer "
+    private JwtPrincipal currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal;
         }
         return null;
     }
@@ -0,0 +1,9 @@
+package com.example.codingCamp.auth.service;
+
+import com.example.codingCamp.auth.dto.request.LoginRequest;
+import com.example.codingCamp.auth.dto.response.LoginResponse;
+
+public interface LoginService {
+    // clientIp untuk throttling per IP; null = tidak dibatasi per IP
+    LoginResponse login(LoginRequest request, String clientIp);
+}
@@ -0,0 +1,150 @@
+package com.example.codingCamp.auth.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.example.codingCamp.auth.dto.request.LoginRequest;
+import com.example.codingCamp.auth.dto.response.LoginResponse;
+import com.example.codingCamp.profile.model.UserModel;
+import com.example.codingCamp.profile.repository.UserRepository;
+import com.example.codingCamp.security.jwt.JwtUtils;
+import com.example.codingCamp.security.service.PasswordHashingExecutor;
+
+/**
+ * Login: throttle IP dulu (murah), lalu satu AuthenticationManager yang
+ * dibuat sekali. User dicari sekali (email atau username, role ikut
+ * di-fetch); token akun per id user diambil tepat setelah itu, sebelum
+ * BCrypt-nya berjalan di {@link PasswordHashingExecutor}.
+ */
+@Service
+public class LoginServiceImpl implements LoginService {
+
+    private final UserRepository userRepository;
+    private final JwtUtils jwtUtils;
+    private final LoginThrottle loginThrottle;
+    private final AuthenticationManager authenticationManager;
+
+    public LoginServiceImpl(UserRepository userRepository, JwtUtils jwtUtils, LoginThrottle loginThrottle,
+            PasswordHashingExecutor passwordHashingExecutor) {
+        this.userRepository = userRepository;
+        this.jwtUtils = jwtUtils;
+        this.loginThrottle = loginThrottle;
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider() {
+            @Override
+            protected void additionalAuthenticationChecks(UserDetails userDetails,
+                    UsernamePasswordAuthenticationToken authentication) {
+                try {
+                    super.additionalAuthenticationChecks(userDetails, authentication);
+                } catch (AuthenticationException e) {
+                    // Password salah: token percobaan tetap terpakai
+                    throw e;
+                } catch (RuntimeException e) {
+                    // Password tidak sempat dicek (mis. antrean BCrypt penuh): bukan tebakan password
+                    loginThrottle.releaseAccount(((LoginUser) userDetails).user.getId());
+                    throw e;
+                }
+            }
+        };
+        provider.setUserDetailsService(this::loadLoginUser);
+        provider.setPasswordEncoder(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return passwordHashingExecutor.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return passwordHashingExecutor.matches(rawPassword, encodedPassword);
+            }
+        });
+        this.authenticationManager = new ProviderManager(provider);
+    }
+
+    @Override
+    public LoginResponse login(LoginRequest request, String clientIp) {
+        String login = request.getEmailOrUsername();
+        if (login == null || login.isBlank() || request.getPassword() == null) {
+            throw new IllegalArgumentException("Email/username dan password wajib diisi");
+        }
+        loginThrottle.acquireIp(clientIp);
+
+        UserModel user;
+        try {
+            user = ((LoginUser) authenticationManager
+                    .authenticate(new UsernamePasswordAuthenticationToken(login, request.getPassword()))
+                    .getPrincipal()).user;
+        } catch (InternalAuthenticationServiceException e) {
+            // Bucket akun habis saat pencarian user; Spring membungkus exception dari UserDetailsService
+            if (e.getCause() instanceof LoginThrottledException throttled) {
+                throw throttled;
+            }
+            throw e;
+        }
+        loginThrottle.recordSuccess(user.getId());
+
+        String role = user.getRole().getRole();
+        String token = jwtUtils.generateJwtToken(user.getUsername(), user.getId().toString(), role);
+        return new LoginResponse(token, role, user.getId());
+    }
+
+    private UserDetails loadLoginUser(String login) {
+        List<UserModel> users = userRepository.findForLogin(login);
+        // Sama dengan findUserByEmailOrUsername: kecocokan email didahulukan
+        UserModel user = users.stream()
+                .filter(u -> login.equals(u.getEmail()))
+                .findFirst()
+                .or(() -> users.stream().findFirst())
+                .orElse(null);
+        // Token diambil sebelum BCrypt (termasuk BCrypt dummy Spring untuk user yang tidak ada)
+        if (user == null) {
+            loginThrottle.acquireUnknownLogin(login);
+            throw new UsernameNotFoundException("User not found");
+        }
+        loginThrottle.acquireAccount(user.getId());
+        return new LoginUser(user);
+    }
+
+    // UserModel hasil query login dibawa sampai token dibuat, tanpa query ulang
+    private static final class LoginUser implements UserDetails {
+        private final UserModel user;
+
+        private LoginUser(UserModel user) {
+            this.user = user;
+        }
+
+        @Override
+        public Collection<? extends GrantedAuthority> getAuthorities() {
+            return List.of(new SimpleGrantedAuthority(user.getRole().getRole()));
+        }
+
+        @Override
+        public String getPassword() {
+            return user.getPassword();
+        }
+
+        @Override
+        public String getUsername() {
+            return user.getUsername();
+        }
+
+        // User yang sudah dihapus tidak bisa login lagi
+        @Override
+        public boolean isEnabled() {
+            return user.getDeletedAt() == null;
+        }
+    }
+}
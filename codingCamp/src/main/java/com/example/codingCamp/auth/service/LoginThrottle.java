@@ -0,0 +1,153 @@
+package com.example.codingCamp.auth.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pembatas percobaan login, dicek sebelum BCrypt.
+ *
+ * Per IP: token bucket untuk semua percobaan, sebelum query user. Burst-nya
+ * dibuat longgar karena satu sekolah bisa keluar lewat satu IP. Per akun:
+ * satu token diambil setelah user ditemukan dan sebelum password dicek,
+ * sehingga percobaan paralel ikut terhitung sebelum BCrypt-nya selesai;
+ * bucket di-reset saat login berhasil. Bucket akun dikunci dengan id user,
+ * jadi login lewat email dan username akun yang sama berbagi bucket; login
+ * yang tidak cocok dengan user mana pun dikunci dengan teksnya.
+ *
+ * Hanya di memori per instance. Bucket yang sudah penuh kembali dianggap
+ * idle dan dibuang saat jumlah entri melewati batas.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+
+    private final int ipBurst;
+    private final double ipPerNano;
+    private final int accountBurst;
+    private final double accountPerNano;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, Bucket> ipBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> accountBuckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LoginThrottle(@Value("${auth.throttle.ip-burst:60}") int ipBurst,
+            @Value("${auth.throttle.ip-per-minute:120}") int ipPerMinute,
+            @Value("${auth.throttle.account-burst:5}") int accountBurst,
+            @Value("${auth.throttle.account-per-minute:1}") int accountPerMinute,
+            @Value("${auth.throttle.max-entries:100000}") int maxEntries) {
+        this(ipBurst, ipPerMinute, accountBurst, accountPerMinute, maxEntries, System::nanoTime);
+    }
+
+    LoginThrottle(int ipBurst, int ipPerMinute, int accountBurst, int accountPerMinute, int maxEntries,
+            LongSupplier nanoClock) {
+        this.ipBurst = ipBurst;
+        this.ipPerNano = ipPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.accountBurst = accountBurst;
+        this.accountPerNano = accountPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+    }
+
+    // Satu percobaan dari IP ini; ditolak bila bucket-nya kosong
+    public void acquireIp(String ip) {
+        if (ip == null || ipBurst <= 0) {
+            return;
+        }
+        long retryAfter = take(ipBuckets, ip, ipBurst, ipPerNano);
+        if (retryAfter > 0) {
+            throw new LoginThrottledException(
+                    "Terlalu banyak percobaan login dari jaringan ini, coba lagi dalam " + retryAfter + " detik",
+                    retryAfter);
+        }
+    }
+
+    // Satu percobaan untuk akun ini, diambil sebelum BCrypt; ditolak bila bucket-nya kosong
+    public void acquireAccount(Long userId) {
+        acquireAccountKey(key(userId));
+    }
+
+    // Login yang tidak dikenal tetap dibatasi, supaya tebakan massal tidak bebas menjalankan BCrypt dummy
+    public void acquireUnknownLogin(String login) {
+        acquireAccountKey("login:" + login.trim().toLowerCase());
+    }
+
+    private void acquireAccountKey(String key) {
+        if (accountBurst <= 0) {
+            return;
+        }
+        long retryAfter = take(accountBuckets, key, accountBurst, accountPerNano);
+        if (retryAfter > 0) {
+            throw new LoginThrottledException(
+                    "Terlalu banyak percobaan login gagal untuk akun ini, coba lagi dalam " + retryAfter + " detik",
+                    retryAfter);
+        }
+    }
+
+    // Percobaan yang tidak sampai mengecek password (mis. antrean BCrypt penuh) tidak dihitung
+    public void releaseAccount(Long userId) {
+        Bucket bucket = accountBuckets.get(key(userId));
+        if (bucket != null) {
+            synchronized (bucket) {
+                bucket.tokens = Math.min(accountBurst, bucket.tokens + 1);
+            }
+        }
+    }
+
+    public void recordSuccess(Long userId) {
+        accountBuckets.remove(key(userId));
+    }
+
+    // 0 = diizinkan, selain itu perkiraan detik sampai satu token tersedia lagi
+    private long take(Map<String, Bucket> buckets, String key, int burst, double perNano) {
+        long now = nanoClock.getAsLong();
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxEntries) {
+                pruneIdle(buckets, burst, perNano, now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket(burst, now));
+        }
+        synchronized (bucket) {
+            bucket.tokens = Math.min(burst, bucket.tokens + (now - bucket.updatedAt) * perNano);
+            bucket.updatedAt = now;
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            if (perNano <= 0) {
+                // Tanpa isi ulang: tertahan sampai entrinya dibuang
+                return TimeUnit.MINUTES.toSeconds(1);
+            }
+            return Math.max(1, (long) Math.ceil((1 - bucket.tokens) / perNano / TimeUnit.SECONDS.toNanos(1)));
+        }
+    }
+
+    private static void pruneIdle(Map<String, Bucket> buckets, int burst, double perNano, long now) {
+        buckets.values().removeIf(bucket -> {
+            synchronized (bucket) {
+                return bucket.tokens + (now - bucket.updatedAt) * perNano >= burst;
+            }
+        });
+    }
+
+    private static String key(Long userId) {
+        return "id:" + userId;
+    }
+}
@@ -4,19 +4,41 @@ package com.example.codingCamp.notification.controller;
 import java.util.Date;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.example.codingCamp.auth.service.AuthService;
 import com.example.codingCamp.dto.BaseResponseDTO;
+import com.example.codingCamp.notification.dto.request.MarkNotificationsReadRequestDTO;
+import com.example.codingCamp.notification.dto.response.NotificationDispatchStatsDTO;
+import com.example.codingCamp.notification.dto.response.NotificationFeedResponse;
 import com.example.codingCamp.notification.dto.response.NotificationResponse;
+import com.example.codingCamp.notification.dto.response.NotificationRetentionReportDTO;
+import com.example.codingCamp.notification.service.NotificationDispatcher;
+import com.example.codingCamp.notification.service.NotificationPushService;
+import com.example.codingCamp.notification.service.NotificationRetentionService;
 import com.example.codingCamp.notification.service.NotificationService;
+import com.example.codingCamp.prediction.dto.response.PredictionResponseDTO;
 
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
 
 
@@ -26,6 +48,15 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private NotificationPushService notificationPushService;
+
+    @Autowired
+    private NotificationRetentionService notificationRetentionService;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
     @Autowired
     AuthService authService;
 
@@ -66,4 +97,224 @@ public class NotificationController {
         }
     }
 
+    // Tandai semua notifikasi user sebagai sudah dibaca; data = jumlah yang berubah
+    @PutMapping("/read-all")
+    public ResponseEntity<?> markAllAsRead() {
+        var baseResponseDTO = new BaseResponseDTO<Integer>();
+        var userId = authService.getCurrentUserId();
+        try {
+            int updated = notificationService.markAllAsRead(userId);
+            baseResponseDTO.setMessage(updated + " notifikasi ditandai sudah dibaca");
+            baseResponseDTO.setStatus(HttpStatus.OK.value());
+            baseResponseDTO.setTimestamp(new Date());
+            baseResponseDTO.setData(updated);
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.OK);
+        } catch (Exception e) {
+            baseResponseDTO.setMessage("Gagal menandai notifikasi: " + e.getMessage());
+            baseResponseDTO.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            baseResponseDTO.setTimestamp(new Date());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PutMapping("/read")
+    public ResponseEntity<?> markAsRead(@Valid @RequestBody MarkNotificationsReadRequestDTO request,
+            BindingResult bindingResult) {
+        var baseResponseDTO = new BaseResponseDTO<Integer>();
+        if (bindingResult.hasFieldErrors()) {
+            StringBuilder errorMessages = new StringBuilder();
+            for (FieldError error : bindingResult.getFieldErrors()) {
+                errorMessages.append(error.getDefaultMessage()).append("; ");
+            }
+            baseResponseDTO.setStatus(HttpStatus.BAD_REQUEST.value());
+            baseResponseDTO.setMessage(errorMessages.toString());
+            baseResponseDTO.setTimestamp(new Date());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.BAD_REQUEST);
+        }
+
+        var userId = authService.getCurrentUserId();
+        try {
+            int updated = notificationService.markAsRead(userId, request.getIds());
+            baseResponseDTO.setMessage(updated + " notifikasi ditandai sudah dibaca");
+            baseResponseDTO.setStatus(HttpStatus.OK.value());
+            baseResponseDTO.setTimestamp(new Date());
+            baseResponseDTO.setData(updated);
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.OK);
+        } catch (Exception e) {
+            baseResponseDTO.setMessage("Gagal menandai notifikasi: " + e.getMessage());
+            baseResponseDTO.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            baseResponseDTO.setTimestamp(new Date());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Hapus notifikasi yang sudah dibaca; ?olderThanDays=N hanya yang lebih lama dari N hari
+    @DeleteMapping("/read")
+    public ResponseEntity<?> deleteReadNotifications(@RequestParam(required = false) Integer olderThanDays) {
+        var baseResponseDTO = new BaseResponseDTO<Integer>();
+        var userId = authService.getCurrentUserId();
+        try {
+            int deleted;
+            if (olderThanDays == null) {
+                deleted = notificationService.deleteReadNotificationsByUserId(userId);
+            } else if (olderThanDays < 0) {
+                throw new IllegalArgumentException("olderThanDays tidak boleh negatif");
+            } else {
+                Date before = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(olderThanDays));
+                deleted = notificationService.deleteReadNotificationsOlderThan(userId, before);
+            }
+            baseResponseDTO.setMessage(deleted + " notifikasi dihapus");
+            baseResponseDTO.setStatus(HttpStatus.OK.value());
+            baseResponseDTO.setTimestamp(new Date());
+            baseResponseDTO.setData(deleted);
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            baseResponseDTO.setMessage(e.getMessage());
+            baseResponseDTO.setStatus(HttpStatus.BAD_REQUEST.value());
+            baseResponseDTO.setTimestamp(new Date());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            baseResponseDTO.setMessage("Gagal menghapus notifikasi: " + e.getMessage());
+            baseResponseDTO.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            baseResponseDTO.setTimestamp(new Date());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Kedalaman antrean dan lag dispatcher notifikasi
+    @GetMapping("/dispatcher")
+    public ResponseEntity<?> getDispatcherStats() {
+        var baseResponseDTO = new BaseResponseDTO<NotificationDispatchStatsDTO>();
+        baseResponseDTO.setStatus(HttpStatus.OK.value());
+        baseResponseDTO.setMessage("Berhasil mendapatkan statistik dispatcher notifikasi");
+        baseResponseDTO.setTimestamp(new Date());
+        baseResponseDTO.setData(notificationDispatcher.getStats());
+        return new ResponseEntity<>(baseResponseDTO, HttpStatus.OK);
+    }
+
+    // Hasil retention terakhir: baris dihapus, partisi di-DROP/diarsipkan, estimasi baris tersisa
+    @GetMapping("/retention")
+    public ResponseEntity<?> getRetentionReport() {
+        var baseResponseDTO = new BaseResponseDTO<NotificationRetentionReportDTO>();
+        baseResponseDTO.setMessage(notificationRetentionService.getLastReport() == null
+                ? "Retention belum pernah dijalankan sejak aplikasi start"
+                : "Berhasil mendapatkan laporan retention");
+        baseResponseDTO.setStatus(HttpStatus.OK.value());
+        baseResponseDTO.setTimestamp(new Date());
+        baseResponseDTO.setData(notificationRetentionService.getLastReport());
+        return new ResponseEntity<>(baseResponseDTO, HttpStatus.OK);
+    }
+
+    @PostMapping("/retention/run")
+    public ResponseEntity<?> runRetention() {
+        var baseResponseDTO = new BaseResponseDTO<NotificationRetentionReportDTO>();
+        NotificationRetentionReportDTO report = notificationRetentionService.runRetention();
+        if (report.getErrorMessage() != null) {
+            baseResponseDTO.setMessage("Gagal menjalankan retention: " + report.getErrorMessage());
+            baseResponseDTO.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            baseResponseDTO.setTimestamp(new Date());
+            baseResponseDTO.setData(report);
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        baseResponseDTO.setMessage(report.getSkipped()
+                ? "Retention sedang dijalankan oleh instance lain"
+                : "Retention selesai dijalankan");
+        baseResponseDTO.setStatus(HttpStatus.OK.value());
+        baseResponseDTO.setTimestamp(new Date());
+        baseResponseDTO.setData(report);
+        return new ResponseEntity<>(baseResponseDTO, HttpStatus.OK);
+    }
+
+    // Angka badge header; jauh lebih murah daripada memuat seluruh inbox
+    @GetMapping("/unread-count")
+    public ResponseEntity<?> getUnreadCount() {
+        var baseResponseDTO = new BaseResponseDTO<Long>();
+        var userId = authService.getCurrentUserId();
+        try {
+            baseResponseDTO.setMessage("Berhasil mendapatkan jumlah notifikasi belum dibaca");
+            baseResponseDTO.setStatus(HttpStatus.OK.value());
+            baseResponseDTO.setTimestamp(new Date());
+            baseResponseDTO.setData(notificationService.getUnreadCount(userId));
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.OK);
+        } catch (Exception e) {
+            baseResponseDTO.setMessage("Gagal mendapatkan jumlah notifikasi: " + e.getMessage());
+            baseResponseDTO.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            baseResponseDTO.setTimestamp(new Date());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Feed notifikasi user dengan cursor: ?limit=20, lalu ?cursor=<nextCursor> untuk halaman berikutnya
+    @GetMapping("/feed")
+    public ResponseEntity<?> getNotificationFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Boolean isRead) {
+        var baseResponseDTO = new BaseResponseDTO<NotificationFeedResponse>();
+        var userId = authService.getCurrentUserId();
+        try {
+            NotificationFeedResponse feed = notificationService.getNotificationFeed(userId, cursor, limit, type, isRead);
+            baseResponseDTO.setMessage("Berhasil mendapatkan notifikasi");
+            baseResponseDTO.setStatus(HttpStatus.OK.value());
+            baseResponseDTO.setTimestamp(new Date());
+            baseResponseDTO.setData(feed);
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            baseResponseDTO.setMessage(e.getMessage());
+            baseResponseDTO.setStatus(HttpStatus.BAD_REQUEST.value());
+            baseResponseDTO.setTimestamp(new Date());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            baseResponseDTO.setMessage("Gagal mendapatkan notifikasi: " + e.getMessage());
+            baseResponseDTO.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            baseResponseDTO.setTimestamp(new Date());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Push notifikasi baru (SSE) menggantikan polling GET /api/notification.
+    // Client mengirim Last-Event-ID saat reconnect supaya notifikasi yang terlewat dikirim ulang
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        var userId = authService.getCurrentUserId();
+        SseEmitter emitter = notificationPushService.subscribe(userId, lastEventId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    // Detail per siswa dari notifikasi ringkasan batch prediksi (guru)
+    @GetMapping("/{id}/details")
+    public ResponseEntity<?> getDigestDetails(@PathVariable Long id,
+            @RequestParam(required = false) String status) {
+        var baseResponseDTO = new BaseResponseDTO<List<PredictionResponseDTO>>();
+        var userId = authService.getCurrentUserId();
+        try {
+            List<PredictionResponseDTO> details = notificationService.getDigestDetails(id, userId, status);
+            baseResponseDTO.setMessage("Berhasil mendapatkan detail notifikasi");
+            baseResponseDTO.setStatus(HttpStatus.OK.value());
+            baseResponseDTO.setTimestamp(new Date());
+            baseResponseDTO.setData(details);
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.OK);
+        } catch (NoSuchElementException e) {
+            baseResponseDTO.setMessage(e.getMessage());
+            baseResponseDTO.setStatus(HttpStatus.NOT_FOUND.value());
+            baseResponseDTO.setTimestamp(new Date());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            baseResponseDTO.setMessage(e.getMessage());
+            baseResponseDTO.setStatus(HttpStatus.BAD_REQUEST.value());
+            baseResponseDTO.setTimestamp(new Date());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            baseResponseDTO.setMessage("Gagal mendapatkan detail notifikasi: " + e.getMessage());
+            baseResponseDTO.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            baseResponseDTO.setTimestamp(new Date());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
 }
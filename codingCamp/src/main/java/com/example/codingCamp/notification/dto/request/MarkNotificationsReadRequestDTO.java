@@ -0,0 +1,19 @@
+package com.example.codingCamp.notification.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class MarkNotificationsReadRequestDTO {
+
+    @NotEmpty(message = "Daftar id notifikasi tidak boleh kosong")
+    @Size(max = 1000, message = "Maksimal 1000 notifikasi per permintaan")
+    private List<Long> ids;
+}
@@ -0,0 +1,33 @@
+package com.example.codingCamp.notification.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDispatchStatsDTO {
+    private Integer threads;
+    private Integer activeThreads;
+    // Batch notifikasi yang antre menunggu thread dispatcher
+    private Integer queueDepth;
+    private Integer queueCapacity;
+    // Lama batch terdepan sudah menunggu di antrean saat ini
+    private Long oldestQueuedMs;
+    // Waktu antre (submit -> mulai ditulis): terakhir, rata-rata dan maksimum sejak start
+    private Long lastLagMs;
+    private Long averageLagMs;
+    private Long maxLagMs;
+    private Long submitted;
+    private Long completed;
+    private Long failed;
+    // Antrean penuh -> thread pengirim menunggu slot antrean (backpressure)
+    private Long producerWaits;
+    // Bagian dari failed: antrean tetap penuh sampai enqueue-timeout-ms habis
+    private Long enqueueTimeouts;
+    private Long rowsWritten;
+    private Long rowsRefreshed;
+}
@@ -0,0 +1,19 @@
+package com.example.codingCamp.notification.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationFeedResponse {
+    private List<NotificationResponse> items;
+    // Kirim sebagai ?cursor= untuk halaman berikutnya; null = sudah halaman terakhir
+    private String nextCursor;
+    private Boolean hasMore;
+}
@@ -2,6 +2,8 @@ package com.example.codingCamp.notification.dto.response;
 
 import java.util.Date;
 
+import com.example.codingCamp.notification.model.Notification;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -28,5 +30,23 @@ public class NotificationResponse {
     private Date updatedAt;
 
     private Date readAt;
+
+    // Tidak null untuk digest batch prediksi: GET /api/notification/{id}/details
+    private String batchRunId;
+
+    public static NotificationResponse from(Notification notification) {
+        NotificationResponse response = new NotificationResponse();
+        response.setId(notification.getId());
+        response.setUserId(notification.getUserId());
+        response.setTitle(notification.getTitle());
+        response.setMessage(notification.getMessage());
+        response.setType(notification.getType());
+        response.setIsRead(notification.getIsRead());
+        response.setCreatedAt(notification.getCreatedAt());
+        response.setUpdatedAt(notification.getUpdatedAt());
+        response.setReadAt(notification.getReadAt());
+        response.setBatchRunId(notification.getBatchRunId());
+        return response;
+    }
 }
 
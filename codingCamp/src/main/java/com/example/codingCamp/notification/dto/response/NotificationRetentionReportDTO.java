@@ -0,0 +1,36 @@
+package com.example.codingCamp.notification.dto.response;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationRetentionReportDTO {
+    private Date startedAt;
+    private Long elapsedMs;
+    // true = instance lain sedang menjalankan retention, run ini dilewati
+    private Boolean skipped;
+    private Boolean partitioned;
+    // Baris yang dihapus per baris karena TTL type/status baca
+    private Long rowsDeleted;
+    // Partisi bulanan yang di-DROP utuh beserta estimasi isinya
+    private List<String> partitionsDropped;
+    private Long partitionRowsReclaimed;
+    private Long rowsArchived;
+    // Kunci dedup notifikasi yang sudah tidak menunjuk baris yang masih disimpan
+    private Long dedupKeysDeleted;
+    private Integer partitionsCreated;
+    // Estimasi statistik planner setelah run
+    private Long rowsRetained;
+    // Akumulasi sejak aplikasi start
+    private Long totalRowsReclaimed;
+    private Integer totalRuns;
+    private String errorMessage;
+}
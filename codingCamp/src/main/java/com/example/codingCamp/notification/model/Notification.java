@@ -9,9 +9,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -20,11 +23,20 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "notification")
+// Feed per user dibaca dengan keyset (updated_at, id) menurun; index ini melayani ORDER BY + LIMIT-nya
+@Table(name = "notification", indexes = {
+        @Index(name = "idx_notification_user_updated", columnList = "user_id, updated_at DESC, id DESC"),
+        // COUNT unread per user (badge) cukup dari index
+        @Index(name = "idx_notification_user_unread", columnList = "user_id, is_read") })
 public class Notification {
 
+    // Dipakai juga oleh NotificationBulkRepositoryImpl saat memesan id dari sequence
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // notifikasi dibuat berpuluh-puluh per prediksi; pooled sequence agar INSERT-nya bisa di-batch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "user_id")
@@ -39,6 +51,10 @@ public class Notification {
     @Column(name = "type")
     private String type; // e.g. INFO, WARNING, ERROR
 
+    // Diisi untuk digest batch prediksi; detail per siswa dicari lewat Prediction.batchRunId
+    @Column(name = "batch_run_id", length = 36)
+    private String batchRunId;
+
     @Column(name = "is_read")
     private Boolean isRead = false;
 
@@ -47,7 +63,7 @@ public class Notification {
     @Column(name = "created_at", updatable = false, nullable = false)
     private Date createdAt;
 
-    @Column(nullable = true)
+    @Column(name = "updated_at", nullable = false)
     private Date updatedAt;
 
     @Column(nullable = true)
@@ -56,4 +72,8 @@ public class Notification {
 
     @Column(nullable = true)
     private Date deletedAt;
+
+    // Kunci isi (penerima, siswa, status, semester); null = selalu baris baru. Lihat NotificationDedup
+    @Transient
+    private String dedupKey;
 }
@@ -0,0 +1,44 @@
+package com.example.codingCamp.notification.model;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Kunci isi notifikasi -> baris notification yang mewakilinya. Dipisah dari
+ * tabel notification karena unique index di tabel terpartisi wajib memuat
+ * created_at, sehingga tidak bisa menjaga keunikan kunci ini di sana.
+ * Ditulis lewat NotificationBulkRepositoryImpl (INSERT ... ON CONFLICT).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notification_dedup")
+public class NotificationDedup {
+
+    @Id
+    @Column(name = "dedup_key", length = 128)
+    private String dedupKey;
+
+    // (id, created_at) = primary key notification terpartisi
+    @Column(name = "notification_id", nullable = false)
+    private Long notificationId;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "notification_created_at", nullable = false)
+    private Date notificationCreatedAt;
+
+    // Terakhir kali isi yang sama dikirim lagi; dipakai retention untuk membuang kunci lama
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "refreshed_at", nullable = false)
+    private Date refreshedAt;
+}
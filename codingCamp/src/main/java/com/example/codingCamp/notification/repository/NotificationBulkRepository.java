@@ -0,0 +1,21 @@
+package com.example.codingCamp.notification.repository;
+
+import java.util.List;
+
+import com.example.codingCamp.notification.model.Notification;
+
+public interface NotificationBulkRepository {
+    // Multi-row INSERT di connection transaksi aktif; id diambil dari notification_seq
+    int insertAll(List<Notification> notifications);
+
+    /**
+     * Seperti insertAll, tapi notifikasi yang dedupKey-nya sudah punya baris
+     * hanya me-refresh baris itu (judul, isi, tipe, batch_run_id, updated_at)
+     * tanpa mengubah status bacanya. Notifikasi tanpa dedupKey selalu ditulis baru.
+     */
+    UpsertResult upsertAll(List<Notification> notifications);
+
+    // inserted = baris yang benar-benar baru (yang perlu di-push), refreshed = baris lama yang diperbarui
+    record UpsertResult(List<Notification> inserted, int refreshed) {
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.codingCamp.notification.repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.example.codingCamp.notification.model.Notification;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fragment NotificationRepository untuk fan-out notifikasi. Satu statement
+ * INSERT ... VALUES (..), (..) per maksimal {@link #ROWS_PER_STATEMENT}
+ * baris, tanpa melewati persistence context Hibernate.
+ */
+@RequiredArgsConstructor
+public class NotificationBulkRepositoryImpl implements NotificationBulkRepository {
+
+    // 9 parameter per baris, jauh di bawah batas 32767 parameter Postgres
+    static final int ROWS_PER_STATEMENT = 500;
+
+    private static final String INSERT_PREFIX = "INSERT INTO notification "
+            + "(id, user_id, title, message, type, batch_run_id, is_read, created_at, updated_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Baris lama yang ditunjuk kunci tetap dipakai; refreshed_at menandai kunci masih hidup
+    private static final String DEDUP_PREFIX = "INSERT INTO notification_dedup "
+            + "(dedup_key, notification_id, notification_created_at, refreshed_at) VALUES ";
+    private static final String DEDUP_ROW = "(?, ?, ?, ?)";
+    private static final String DEDUP_SUFFIX = " ON CONFLICT (dedup_key) DO UPDATE "
+            + "SET refreshed_at = EXCLUDED.refreshed_at "
+            + "RETURNING dedup_key, notification_id, notification_created_at";
+
+    private static final String REFRESH_PREFIX = "UPDATE notification n SET title = v.title, message = v.message, "
+            + "type = v.type, batch_run_id = v.batch_run_id, updated_at = v.updated_at FROM (VALUES ";
+    private static final String REFRESH_ROW = "(?::bigint, ?::timestamp, ?::varchar, ?::text, ?::varchar, "
+            + "?::varchar, ?::timestamp)";
+    private static final String REFRESH_SUFFIX = ") AS v(id, created_at, title, message, type, batch_run_id, "
+            + "updated_at) WHERE n.id = v.id AND n.created_at = v.created_at RETURNING n.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Baris notification yang sudah ada untuk satu kunci
+    private record Existing(Long id, Timestamp createdAt) {
+    }
+
+    @Override
+    public int insertAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        prepare(notifications);
+        return insertPrepared(notifications);
+    }
+
+    @Override
+    public UpsertResult upsertAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return new UpsertResult(List.of(), 0);
+        }
+        // ON CONFLICT menolak kunci yang sama dua kali dalam satu statement; yang pertama dipakai
+        Map<String, Notification> keyed = new LinkedHashMap<>();
+        List<Notification> toInsert = new ArrayList<>();
+        for (Notification notification : notifications) {
+            if (notification.getDedupKey() == null) {
+                toInsert.add(notification);
+            } else {
+                keyed.putIfAbsent(notification.getDedupKey(), notification);
+            }
+        }
+        List<Notification> candidates = new ArrayList<>(keyed.values());
+        candidates.addAll(toInsert);
+        // Id dipesan untuk semua calon; id baris yang ternyata di-refresh dibiarkan jadi celah sequence
+        prepare(candidates);
+
+        Map<String, Existing> existing = claimKeys(new ArrayList<>(keyed.values()));
+        Set<Long> refreshed = refresh(existing, keyed);
+
+        List<Notification> revived = new ArrayList<>();
+        for (Notification notification : keyed.values()) {
+            Existing current = existing.get(notification.getDedupKey());
+            if (current == null) {
+                toInsert.add(notification);
+            } else if (!refreshed.contains(current.id())) {
+                // Baris lama sudah dibuang retention: tulis baru dan arahkan kuncinya ke sana
+                revived.add(notification);
+            }
+        }
+        if (!revived.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE notification_dedup SET notification_id = ?, "
+                    + "notification_created_at = ? WHERE dedup_key = ?", revived.stream()
+                            .map(n -> new Object[] { n.getId(), new Timestamp(n.getCreatedAt().getTime()),
+                                    n.getDedupKey() })
+                            .toList());
+            toInsert.addAll(revived);
+        }
+
+        insertPrepared(toInsert);
+        return new UpsertResult(toInsert, refreshed.size());
+    }
+
+    /**
+     * Daftarkan kunci dengan id yang baru dipesan. Mengembalikan kunci yang
+     * sudah menunjuk baris lain; baris dedup-nya terkunci sampai transaksi
+     * selesai, jadi batch lain dengan kunci sama menunggu, tidak ikut menulis.
+     */
+    private Map<String, Existing> claimKeys(List<Notification> keyed) {
+        Map<String, Existing> existing = new HashMap<>();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int from = 0; from < keyed.size(); from += ROWS_PER_STATEMENT) {
+            List<Notification> rows = keyed.subList(from, Math.min(from + ROWS_PER_STATEMENT, keyed.size()));
+            StringBuilder sql = new StringBuilder(DEDUP_PREFIX);
+            List<Object> args = new ArrayList<>(rows.size() * 4);
+            Map<String, Long> proposed = new HashMap<>();
+            for (int i = 0; i < rows.size(); i++) {
+                Notification notification = rows.get(i);
+                sql.append(i == 0 ? "" : ", ").append(DEDUP_ROW);
+                args.add(notification.getDedupKey());
+                args.add(notification.getId());
+                args.add(new Timestamp(notification.getCreatedAt().getTime()));
+                args.add(now);
+                proposed.put(notification.getDedupKey(), notification.getId());
+            }
+            sql.append(DEDUP_SUFFIX);
+            jdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs -> {
+                String key = rs.getString("dedup_key");
+                long id = rs.getLong("notification_id");
+                // Id dari sequence unik, jadi id yang berbeda berarti kunci sudah ada sebelumnya
+                if (!Long.valueOf(id).equals(proposed.get(key))) {
+                    existing.put(key, new Existing(id, rs.getTimestamp("notification_created_at")));
+                }
+            }, args.toArray());
+        }
+        return existing;
+    }
+
+    // Mengembalikan id baris lama yang masih ada dan sudah diperbarui
+    private Set<Long> refresh(Map<String, Existing> existing, Map<String, Notification> keyed) {
+        Set<Long> refreshed = new HashSet<>();
+        List<Map.Entry<String, Existing>> entries = new ArrayList<>(existing.entrySet());
+        for (int from = 0; from < entries.size(); from += ROWS_PER_STATEMENT) {
+            List<Map.Entry<String, Existing>> rows = entries.subList(from,
+                    Math.min(from + ROWS_PER_STATEMENT, entries.size()));
+            StringBuilder sql = new StringBuilder(REFRESH_PREFIX);
+            List<Object> args = new ArrayList<>(rows.size() * 7);
+            for (int i = 0; i < rows.size(); i++) {
+                Existing current = rows.get(i).getValue();
+                Notification notification = keyed.get(rows.get(i).getKey());
+                sql.append(i == 0 ? "" : ", ").append(REFRESH_ROW);
+                args.add(current.id());
+                args.add(current.createdAt());
+                args.add(notification.getTitle());
+                args.add(notification.getMessage());
+                args.add(notification.getType());
+                args.add(notification.getBatchRunId());
+                args.add(new Timestamp(notification.getUpdatedAt().getTime()));
+            }
+            sql.append(REFRESH_SUFFIX);
+            refreshed.addAll(jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray()));
+        }
+        return refreshed;
+    }
+
+    // Id dari sequence, created_at/updated_at diisi bila kosong (updated_at jadi kunci urutan feed)
+    private void prepare(List<Notification> notifications) {
+        List<Long> ids = allocateIds(notifications.size());
+        Date now = new Date();
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification notification = notifications.get(i);
+            notification.setId(ids.get(i));
+            if (notification.getCreatedAt() == null) {
+                notification.setCreatedAt(now);
+            }
+            if (notification.getUpdatedAt() == null) {
+                notification.setUpdatedAt(notification.getCreatedAt());
+            }
+        }
+    }
+
+    private int insertPrepared(List<Notification> notifications) {
+        int written = 0;
+        for (int from = 0; from < notifications.size(); from += ROWS_PER_STATEMENT) {
+            written += insertRows(notifications.subList(from, Math.min(from + ROWS_PER_STATEMENT,
+                    notifications.size())));
+        }
+        return written;
+    }
+
+    private int insertRows(List<Notification> rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows.size() * (ROW.length() + 2))
+                .append(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(rows.size() * 9);
+        for (int i = 0; i < rows.size(); i++) {
+            Notification notification = rows.get(i);
+            sql.append(i == 0 ? "" : ", ").append(ROW);
+            args.add(notification.getId());
+            args.add(notification.getUserId());
+            args.add(notification.getTitle());
+            args.add(notification.getMessage());
+            args.add(notification.getType());
+            args.add(notification.getBatchRunId());
+            args.add(Boolean.TRUE.equals(notification.getIsRead()));
+            args.add(new Timestamp(notification.getCreatedAt().getTime()));
+            args.add(new Timestamp(notification.getUpdatedAt().getTime()));
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    /**
+     * Meniru pooled optimizer Hibernate: nilai v dari sequence (increment =
+     * allocationSize) memesan blok (v - allocationSize, v]. Id yang dipakai di
+     * sini tidak pernah bentrok dengan id yang dibagikan Hibernate.
+     */
+    private List<Long> allocateIds(int count) {
+        int blockSize = Notification.ID_ALLOCATION_SIZE;
+        int blocks = (count + blockSize - 1) / blockSize;
+        List<Long> highs = jdbcTemplate.queryForList(
+                "SELECT nextval('notification_seq') FROM generate_series(1, ?)", Long.class, blocks);
+
+        List<Long> ids = new ArrayList<>(count);
+        for (Long high : highs) {
+            for (long id = Math.max(1, high - blockSize + 1); id <= high && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        // Blok pertama sequence (nilai 1) hanya berisi satu id; minta lagi bila kurang
+        while (ids.size() < count) {
+            long high = jdbcTemplate.queryForObject("SELECT nextval('notification_seq')", Long.class);
+            for (long id = Math.max(1, high - blockSize + 1); id <= high && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+}
@@ -1,16 +1,51 @@
 package com.example.codingCamp.notification.repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.codingCamp.notification.model.Notification;
 
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
-    List<Notification> findByUserId(Long userId);
-    void deleteByUserIdAndIsReadTrue(Long userId);
+public interface NotificationRepository extends JpaRepository<Notification, Long>,
+        JpaSpecificationExecutor<Notification>, NotificationBulkRepository {
+    List<Notification> findByUserIdOrderByUpdatedAtDescIdDesc(Long userId);
+    long countByUserIdAndIsReadFalse(Long userId);
+
+    // Operasi massal: satu statement, tanpa memuat entity; mengembalikan jumlah baris yang kena
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :now, n.updatedAt = :now "
+            + "WHERE n.userId = :userId AND n.isRead = false")
+    int markAllReadByUserId(@Param("userId") Long userId, @Param("now") Date now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :now, n.updatedAt = :now "
+            + "WHERE n.userId = :userId AND n.id IN :ids AND n.isRead = false")
+    int markReadByUserIdAndIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids,
+            @Param("now") Date now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Notification n WHERE n.userId = :userId AND n.isRead = true")
+    int deleteReadByUserId(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Notification n WHERE n.userId = :userId AND n.isRead = true AND n.updatedAt < :before")
+    int deleteReadByUserIdOlderThan(@Param("userId") Long userId, @Param("before") Date before);
+
+    // Rekonsiliasi counter unread; user tanpa notifikasi belum dibaca tidak muncul di hasil
+    @Query("SELECT n.userId AS userId, COUNT(n) AS unread FROM Notification n "
+            + "WHERE n.isRead = false AND n.userId IN :userIds GROUP BY n.userId")
+    List<UnreadCount> countUnreadByUserIds(@Param("userIds") Collection<Long> userIds);
+    // Replay SSE setelah reconnect (Last-Event-ID)
+    List<Notification> findByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAscIdAsc(Long userId, Date since,
+            Pageable pageable);
 
 }
@@ -0,0 +1,39 @@
+package com.example.codingCamp.notification.repository;
+
+import java.util.Date;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.codingCamp.notification.model.Notification;
+
+/**
+ * Kriteria feed notifikasi. Urutan dan keyset memakai (updatedAt, id)
+ * menurun, sama dengan index idx_notification_user_updated.
+ */
+public final class NotificationSpecifications {
+
+    public static final Sort FEED_ORDER = Sort.by(Sort.Direction.DESC, "updatedAt", "id");
+
+    private NotificationSpecifications() {
+    }
+
+    public static Specification<Notification> ofUser(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("userId"), userId);
+    }
+
+    public static Specification<Notification> ofType(String type) {
+        return (root, query, cb) -> type == null ? null : cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Notification> isRead(Boolean isRead) {
+        return (root, query, cb) -> isRead == null ? null : cb.equal(root.get("isRead"), isRead);
+    }
+
+    // Baris sesudah cursor: updatedAt < c.updatedAt, atau updatedAt sama dan id < c.id
+    public static Specification<Notification> after(Date updatedAt, Long id) {
+        return (root, query, cb) -> updatedAt == null ? null : cb.or(
+                cb.lessThan(root.get("updatedAt"), updatedAt),
+                cb.and(cb.equal(root.get("updatedAt"), updatedAt), cb.lessThan(root.get("id"), id)));
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.codingCamp.notification.repository;
+
+// Proyeksi hasil NotificationRepository.countUnreadByUserIds
+public interface UnreadCount {
+    Long getUserId();
+
+    Long getUnread();
+}
@@ -0,0 +1,18 @@
+package com.example.codingCamp.notification.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.example.codingCamp.notification.dto.response.NotificationDispatchStatsDTO;
+import com.example.codingCamp.notification.model.Notification;
+import com.example.codingCamp.notification.repository.NotificationBulkRepository.UpsertResult;
+
+public interface NotificationDispatcher {
+    /**
+     * Tulis dan push notifikasi di thread dispatcher, dalam transaksi sendiri.
+     * Future selesai setelah commit; gagal tulis = future gagal.
+     */
+    CompletableFuture<UpsertResult> dispatch(List<Notification> notifications, boolean dedup);
+
+    NotificationDispatchStatsDTO getStats();
+}
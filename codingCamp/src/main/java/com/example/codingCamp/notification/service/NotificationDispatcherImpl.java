@@ -0,0 +1,221 @@
+package com.example.codingCamp.notification.service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.codingCamp.notification.dto.response.NotificationDispatchStatsDTO;
+import com.example.codingCamp.notification.model.Notification;
+import com.example.codingCamp.notification.repository.NotificationBulkRepository.UpsertResult;
+import com.example.codingCamp.notification.repository.NotificationRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Penulisan notifikasi di luar loop prediksi. Thread tetap dengan antrean
+ * terbatas; saat antrean penuh thread pengirim menunggu slot kosong paling
+ * lama enqueue-timeout-ms, jadi produsen melambat dan memori tetap terbatas.
+ * Pengirim tidak pernah menulis sendiri: thread prediksi sedang memegang
+ * connection cursor, jadi koneksi ke database hanya dipakai oleh thread
+ * dispatcher (threads connection). Saat shutdown antrean dikuras dulu sampai
+ * drain-timeout-ms.
+ */
+@Slf4j
+@Service
+public class NotificationDispatcherImpl implements NotificationDispatcher {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationPushService notificationPushService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final int queueCapacity;
+    private final long drainTimeoutMs;
+    private final long enqueueTimeoutMs;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong producerWaits = new AtomicLong();
+    private final AtomicLong enqueueTimeouts = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong rowsRefreshed = new AtomicLong();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong totalLagNanos = new AtomicLong();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+    private volatile long lastLagNanos;
+
+    public NotificationDispatcherImpl(NotificationRepository notificationRepository,
+            NotificationPushService notificationPushService,
+            PlatformTransactionManager transactionManager,
+            @Value("${notification.dispatch.threads:2}") int threads,
+            @Value("${notification.dispatch.queue-capacity:64}") int queueCapacity,
+            @Value("${notification.dispatch.drain-timeout-ms:30000}") long drainTimeoutMs,
+            @Value("${notification.dispatch.enqueue-timeout-ms:30000}") long enqueueTimeoutMs) {
+        this.notificationRepository = notificationRepository;
+        this.notificationPushService = notificationPushService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.threads = Math.max(1, threads);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.enqueueTimeoutMs = Math.max(0, enqueueTimeoutMs);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity),
+                r -> Thread.ofPlatform().name("notification-dispatch-" + threadNumber.incrementAndGet())
+                        .daemon(true).unstarted(r),
+                this::overflow);
+    }
+
+    private final class DispatchTask implements Runnable {
+        private final List<Notification> notifications;
+        private final boolean dedup;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<UpsertResult> future = new CompletableFuture<>();
+
+        DispatchTask(List<Notification> notifications, boolean dedup) {
+            this.notifications = notifications;
+            this.dedup = dedup;
+        }
+
+        @Override
+        public void run() {
+            recordLag(System.nanoTime() - enqueuedAt);
+            try {
+                UpsertResult result = transactionTemplate.execute(tx -> write(notifications, dedup));
+                rowsWritten.addAndGet(result.inserted().size());
+                rowsRefreshed.addAndGet(result.refreshed());
+                completed.incrementAndGet();
+                future.complete(result);
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                log.error("Failed to write {} notification(s): {}", notifications.size(), e.getMessage());
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<UpsertResult> dispatch(List<Notification> notifications, boolean dedup) {
+        if (notifications.isEmpty()) {
+            return CompletableFuture.completedFuture(new UpsertResult(List.of(), 0));
+        }
+        DispatchTask task = new DispatchTask(List.copyOf(notifications), dedup);
+        submitted.incrementAndGet();
+        executor.execute(task);
+        return task.future;
+    }
+
+    @Override
+    public NotificationDispatchStatsDTO getStats() {
+        long oldestQueuedMs = 0;
+        if (executor.getQueue().peek() instanceof DispatchTask head) {
+            oldestQueuedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - head.enqueuedAt);
+        }
+        long startedCount = started.get();
+        return NotificationDispatchStatsDTO.builder()
+                .threads(threads)
+                .activeThreads(executor.getActiveCount())
+                .queueDepth(executor.getQueue().size())
+                .queueCapacity(queueCapacity)
+                .oldestQueuedMs(oldestQueuedMs)
+                .lastLagMs(TimeUnit.NANOSECONDS.toMillis(lastLagNanos))
+                .averageLagMs(startedCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLagNanos.get() / startedCount))
+                .maxLagMs(TimeUnit.NANOSECONDS.toMillis(maxLagNanos.get()))
+                .submitted(submitted.get())
+                .completed(completed.get())
+                .failed(failed.get())
+                .producerWaits(producerWaits.get())
+                .enqueueTimeouts(enqueueTimeouts.get())
+                .rowsWritten(rowsWritten.get())
+                .rowsRefreshed(rowsRefreshed.get())
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(drainTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.info("Notification dispatcher drained: {} batch(es) written, {} failed", completed.get(),
+                        failed.get());
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Runnable> dropped = executor.shutdownNow();
+        for (Runnable runnable : dropped) {
+            ((DispatchTask) runnable).future.completeExceptionally(
+                    new RejectedExecutionException("Dispatcher notifikasi dihentikan sebelum antrean habis"));
+        }
+        log.error("Notification dispatcher not drained within {} ms; {} queued batch(es) dropped", drainTimeoutMs,
+                dropped.size());
+    }
+
+    private UpsertResult write(List<Notification> notifications, boolean dedup) {
+        UpsertResult result;
+        if (dedup) {
+            result = notificationRepository.upsertAll(notifications);
+        } else {
+            notificationRepository.insertAll(notifications);
+            result = new UpsertResult(notifications, 0);
+        }
+        // NOTIFY ikut transaksi ini: push terkirim setelah commit
+        notificationPushService.publish(result.inserted());
+        return result;
+    }
+
+    // Backpressure: antrean penuh -> pengirim menunggu slot; setelah shutdown atau timeout batch ditolak
+    private void overflow(Runnable runnable, ThreadPoolExecutor pool) {
+        DispatchTask task = (DispatchTask) runnable;
+        if (pool.isShutdown()) {
+            reject(task, "Dispatcher notifikasi sudah berhenti");
+            return;
+        }
+        producerWaits.incrementAndGet();
+        BlockingQueue<Runnable> queue = pool.getQueue();
+        try {
+            if (!queue.offer(task, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                enqueueTimeouts.incrementAndGet();
+                log.error("Notification dispatch queue still full after {} ms, rejecting {} notification(s)",
+                        enqueueTimeoutMs, task.notifications.size());
+                reject(task, "Antrean dispatcher notifikasi penuh");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(task, "Menunggu antrean dispatcher notifikasi terputus");
+            return;
+        }
+        // Shutdown selama menunggu: worker mungkin sudah berhenti dan tidak akan mengambilnya lagi
+        if (pool.isShutdown() && queue.remove(task)) {
+            reject(task, "Dispatcher notifikasi sudah berhenti");
+        }
+    }
+
+    private void reject(DispatchTask task, String message) {
+        failed.incrementAndGet();
+        task.future.completeExceptionally(new RejectedExecutionException(message));
+    }
+
+    private void recordLag(long lagNanos) {
+        started.incrementAndGet();
+        lastLagNanos = lagNanos;
+        totalLagNanos.addAndGet(lagNanos);
+        maxLagNanos.accumulateAndGet(lagNanos, Math::max);
+    }
+}
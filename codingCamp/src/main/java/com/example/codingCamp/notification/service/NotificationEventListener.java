@@ -0,0 +1,129 @@
+package com.example.codingCamp.notification.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * LISTEN pada channel notifikasi dengan koneksi sendiri (di luar pool Hikari,
+ * koneksi ini dipegang selama aplikasi hidup) lalu meneruskan event ke
+ * {@link NotificationPushService} dan counter unread milik instance ini.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notification.push.listen", havingValue = "true", matchIfMissing = true)
+class NotificationEventListener {
+
+    private final DataSourceProperties dataSourceProperties;
+    private final NotificationPushService notificationPushService;
+    private final NotificationUnreadCounter notificationUnreadCounter;
+
+    @Value("${notification.push.reconnect-ms:5000}")
+    private long reconnectMs;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        running = true;
+        thread = Thread.ofPlatform().name("notification-listen").daemon(true).start(this::run);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + NotificationPushServiceImpl.CHANNEL);
+                }
+                if (reconnecting) {
+                    // Selama terputus event tidak tertampung; client yang tersambung ke instance ini memuat ulang
+                    notificationPushService.resyncAll();
+                    log.info("Notification listener reconnected");
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(10_000);
+                    if (notifications != null && notifications.length > 0) {
+                        deliver(notifications);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Notification listener disconnected: {}", e.getMessage());
+            }
+            reconnecting = true;
+            try {
+                Thread.sleep(reconnectMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    // Gagal kirim/baca notifikasi tidak boleh memutus koneksi LISTEN
+    private void deliver(PGNotification[] notifications) {
+        try {
+            // Tulisan instance ini sudah dihitung counter saat commit
+            notificationUnreadCounter.onCreated(groupByUser(notifications, NotificationPushServiceImpl.ORIGIN));
+            notificationPushService.deliver(groupByUser(notifications, null));
+        } catch (RuntimeException e) {
+            log.error("Failed to push {} notification event(s): {}", notifications.length, e.getMessage());
+        }
+    }
+
+    // Payload "userId:notificationId[:origin]"; payload yang tidak dikenali diabaikan, begitu juga
+    // payload dari skipOrigin (null = semua)
+    static Map<Long, List<Long>> groupByUser(PGNotification[] notifications, String skipOrigin) {
+        Map<Long, List<Long>> byUser = new LinkedHashMap<>();
+        for (PGNotification notification : notifications) {
+            String[] parts = notification.getParameter() == null ? new String[0]
+                    : notification.getParameter().split(":");
+            if (parts.length < 2 || parts.length > 3) {
+                continue;
+            }
+            if (skipOrigin != null && parts.length == 3 && skipOrigin.equals(parts[2])) {
+                continue;
+            }
+            try {
+                Long userId = Long.valueOf(parts[0]);
+                Long notificationId = Long.valueOf(parts[1]);
+                byUser.computeIfAbsent(userId, id -> new ArrayList<>()).add(notificationId);
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring notification payload '{}'", notification.getParameter());
+            }
+        }
+        return byUser;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.codingCamp.notification.service;
+
+public interface NotificationFanOutService {
+    // Dibuka sekali per batch prediksi; daftar guru di-resolve saat ini juga
+    PredictionNotificationFanOut openPredictionFanOut();
+}
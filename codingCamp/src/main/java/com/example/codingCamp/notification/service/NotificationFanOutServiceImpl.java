@@ -0,0 +1,46 @@
+package com.example.codingCamp.notification.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.codingCamp.profile.repository.TeacherRepository;
+import com.example.codingCamp.profile.service.TeacherAssignments;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationFanOutServiceImpl implements NotificationFanOutService {
+
+    private final TeacherRepository teacherRepository;
+    private final NotificationDispatcher notificationDispatcher;
+
+    // Baris notifikasi per batch yang diserahkan ke dispatcher (satu multi-row INSERT)
+    @Value("${notification.fanout.chunk-size:500}")
+    private int chunkSize;
+
+    // true = guru menerima satu ringkasan per batch, bukan satu notifikasi per siswa
+    @Value("${notification.teacher.digest:true}")
+    private boolean teacherDigest;
+
+    // true = hasil prediksi yang sama me-refresh notifikasi lama, bukan menulis notifikasi baru
+    @Value("${notification.dedup.enabled:true}")
+    private boolean dedup;
+
+    // Batas tunggu di akhir batch sampai notifikasinya selesai ditulis (untuk ringkasan batch)
+    @Value("${notification.dispatch.await-ms:120000}")
+    private long awaitMs;
+
+    @Override
+    public PredictionNotificationFanOut openPredictionFanOut() {
+        // Penugasan guru -> kelas di-resolve sekali untuk seluruh batch
+        TeacherAssignments teachers = TeacherAssignments.of(teacherRepository.findActiveAssignments());
+        if (teachers.allTeacherIds().isEmpty()) {
+            log.warn("No teachers found to send notification");
+        }
+        return new PredictionNotificationFanOut(notificationDispatcher, teachers, chunkSize, teacherDigest,
+                dedup, awaitMs);
+    }
+}
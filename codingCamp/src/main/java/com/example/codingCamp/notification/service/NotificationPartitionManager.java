@@ -0,0 +1,239 @@
+package com.example.codingCamp.notification.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Partisi bulanan tabel notification (RANGE created_at). Tabel dibuat
+ * Hibernate sebagai tabel biasa, lalu diubah menjadi tabel terpartisi
+ * saat start. Partisi diberi nama notification_YYYY_MM; baris di luar
+ * rentang masuk notification_default yang tidak pernah di-DROP.
+ */
+@Slf4j
+@Component
+class NotificationPartitionManager {
+
+    static final String TABLE = "notification";
+    static final String DEFAULT_PARTITION = "notification_default";
+    private static final Pattern MONTHLY = Pattern.compile("notification_(\\d{4})_(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    NotificationPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    record Partition(String name, YearMonth month) {
+
+        static Partition of(YearMonth month) {
+            return new Partition(String.format("%s_%04d_%02d", TABLE, month.getYear(), month.getMonthValue()), month);
+        }
+
+        // null untuk nama yang bukan partisi bulanan (mis. notification_default)
+        static Partition parse(String name) {
+            Matcher matcher = MONTHLY.matcher(name);
+            if (!matcher.matches()) {
+                return null;
+            }
+            return new Partition(name,
+                    YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+        }
+
+        // Batas atas eksklusif: semua baris partisi ini created_at < upperBound
+        LocalDate upperBound() {
+            return month.plusMonths(1).atDay(1);
+        }
+    }
+
+    boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_partitioned_table WHERE partrelid = to_regclass(?)", Integer.class, TABLE);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Ganti tabel biasa dengan tabel terpartisi berisi data yang sama, dalam
+     * satu transaksi. Primary key menjadi (id, created_at) karena kunci
+     * partisi wajib ada di primary key.
+     */
+    void convertToPartitioned(int premakeMonths) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+            if (isPartitioned()) {
+                return;
+            }
+            String legacy = TABLE + "_unpartitioned";
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + legacy);
+            // Index tabel lama (apa pun yang dibuat Hibernate dari @Index) dibuat ulang di tabel baru;
+            // primary key diganti (id, created_at) di bawah
+            List<String> primaryKeys = jdbcTemplate.queryForList("SELECT conname FROM pg_constraint "
+                    + "WHERE conrelid = to_regclass(?) AND contype = 'p'", String.class, legacy);
+            List<String> indexDefinitions = new ArrayList<>();
+            jdbcTemplate.query("SELECT indexname, indexdef FROM pg_indexes WHERE tablename = ?", rs -> {
+                if (!primaryKeys.contains(rs.getString("indexname"))) {
+                    indexDefinitions.add(rewriteIndex(rs.getString("indexdef"), legacy));
+                }
+            }, legacy);
+
+            // Nama constraint/index lama dibebaskan untuk tabel baru; tabel lama dibuang setelah disalin
+            for (String constraint : jdbcTemplate.queryForList("SELECT conname FROM pg_constraint "
+                    + "WHERE conrelid = to_regclass(?) AND contype IN ('p', 'u')", String.class, legacy)) {
+                jdbcTemplate.execute("ALTER TABLE " + legacy + " DROP CONSTRAINT \"" + constraint + "\"");
+            }
+            for (String index : jdbcTemplate.queryForList(
+                    "SELECT indexname FROM pg_indexes WHERE tablename = ?", String.class, legacy)) {
+                jdbcTemplate.execute("DROP INDEX \"" + index + "\"");
+            }
+
+            jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + legacy + " INCLUDING DEFAULTS) "
+                    + "PARTITION BY RANGE (created_at)");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE
+                    + " ADD CONSTRAINT notification_pkey PRIMARY KEY (id, created_at)");
+            for (String definition : indexDefinitions) {
+                jdbcTemplate.execute(definition);
+            }
+            jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+
+            Timestamp oldest = jdbcTemplate.queryForObject("SELECT min(created_at) FROM " + legacy, Timestamp.class);
+            YearMonth from = oldest == null ? YearMonth.now() : YearMonth.from(oldest.toLocalDateTime());
+            YearMonth until = YearMonth.now().plusMonths(premakeMonths);
+            for (YearMonth month = from; !month.isAfter(until); month = month.plusMonths(1)) {
+                createPartition(Partition.of(month));
+            }
+
+            int copied = jdbcTemplate.update("INSERT INTO " + TABLE + " SELECT * FROM " + legacy);
+            jdbcTemplate.execute("DROP TABLE " + legacy);
+            log.info("Converted {} to monthly partitions from {} ({} rows copied)", TABLE, from, copied);
+        });
+    }
+
+    /**
+     * Ubah indexdef dari pg_indexes tabel lama menjadi index di tabel
+     * terpartisi: nama tabel diganti, dan index UNIQUE diberi kolom
+     * created_at karena index unik di tabel terpartisi wajib memuat kunci
+     * partisi.
+     */
+    static String rewriteIndex(String indexDefinition, String legacyTable) {
+        String definition = indexDefinition.replaceFirst(
+                " ON (ONLY )?(\\S+\\.)?\"?" + Pattern.quote(legacyTable) + "\"? ", " ON " + TABLE + " ");
+        if (!definition.startsWith("CREATE UNIQUE INDEX")) {
+            return definition;
+        }
+        int open = definition.indexOf('(', definition.indexOf(" ON " + TABLE + " "));
+        int depth = 0;
+        for (int i = open; i < definition.length(); i++) {
+            char c = definition.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                String columns = definition.substring(open + 1, i);
+                if (Pattern.compile("\\bcreated_at\\b").matcher(columns).find()) {
+                    return definition;
+                }
+                return definition.substring(0, i) + ", created_at" + definition.substring(i);
+            }
+        }
+        return definition;
+    }
+
+    // Siapkan partisi bulan ini sampai premakeMonths ke depan; mengembalikan jumlah yang baru dibuat
+    int ensurePartitions(int premakeMonths) {
+        List<String> existing = listPartitions().stream().map(Partition::name).toList();
+        int created = 0;
+        for (int i = 0; i <= premakeMonths; i++) {
+            Partition partition = Partition.of(YearMonth.now().plusMonths(i));
+            if (existing.contains(partition.name())) {
+                continue;
+            }
+            try {
+                createPartition(partition);
+                created++;
+            } catch (DataAccessException e) {
+                // Biasanya notification_default sudah berisi baris bulan itu; tetap tersimpan di default
+                log.warn("Could not create partition {}: {}", partition.name(), e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    List<Partition> listPartitions() {
+        List<Partition> partitions = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)", String.class, TABLE)) {
+            Partition partition = Partition.parse(name);
+            if (partition != null) {
+                partitions.add(partition);
+            }
+        }
+        return partitions;
+    }
+
+    // Tulis isi partisi sebagai CSV ter-gzip lewat COPY; mengembalikan jumlah baris
+    long archive(Partition partition, Path directory) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                Files.createDirectories(directory);
+                Path target = directory.resolve(partition.name() + ".csv.gz");
+                Path temp = directory.resolve(partition.name() + ".csv.gz.part");
+                long rows;
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                    rows = connection.unwrap(PGConnection.class).getCopyAPI()
+                            .copyOut("COPY " + partition.name() + " TO STDOUT WITH (FORMAT csv, HEADER)", out);
+                }
+                // File arsip baru terlihat setelah lengkap
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return rows;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    long estimateRows(Partition partition) {
+        Long rows = jdbcTemplate.queryForObject("SELECT GREATEST(reltuples, 0)::bigint FROM pg_class "
+                + "WHERE oid = to_regclass(?)", Long.class, partition.name());
+        return rows == null ? 0 : rows;
+    }
+
+    // Estimasi jumlah baris seluruh tabel dari statistik planner, tanpa COUNT(*)
+    long estimateTotalRows() {
+        Long rows = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(GREATEST(c.reltuples, 0)), 0)::bigint "
+                + "FROM pg_class c WHERE c.oid = to_regclass(?) OR c.oid IN "
+                + "(SELECT inhrelid FROM pg_inherits WHERE inhparent = to_regclass(?))", Long.class, TABLE, TABLE);
+        return rows == null ? 0 : rows;
+    }
+
+    // Satu statement, tanpa DELETE per baris
+    void drop(Partition partition) {
+        jdbcTemplate.execute("DROP TABLE " + partition.name());
+    }
+
+    private void createPartition(Partition partition) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition.name() + " PARTITION OF " + TABLE
+                + " FOR VALUES FROM ('" + partition.month().atDay(1) + "') TO ('" + partition.upperBound() + "')");
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.codingCamp.notification.service;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.codingCamp.notification.model.Notification;
+
+public interface NotificationPushService {
+    // Buka stream SSE untuk user; lastEventId dari header Last-Event-ID (null = koneksi baru)
+    SseEmitter subscribe(Long userId, String lastEventId);
+
+    // Umumkan notifikasi yang baru ditulis ke semua instance; ikut transaksi yang sedang aktif
+    void publish(List<Notification> notifications);
+
+    // Dipanggil listener LISTEN/NOTIFY: userId -> id notifikasi baru
+    void deliver(Map<Long, List<Long>> notificationIdsByUser);
+
+    // Event mungkin terlewat (listener reconnect): minta client memuat ulang inbox
+    void resyncAll();
+}
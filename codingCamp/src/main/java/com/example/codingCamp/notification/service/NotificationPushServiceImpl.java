@@ -0,0 +1,313 @@
+package com.example.codingCamp.notification.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.codingCamp.notification.dto.response.NotificationResponse;
+import com.example.codingCamp.notification.model.Notification;
+import com.example.codingCamp.notification.repository.NotificationRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Push notifikasi baru ke browser lewat SSE. Penulisan notifikasi diumumkan
+ * dengan pg_notify, listener di tiap instance meneruskannya ke stream yang
+ * terbuka di instance itu saja.
+ *
+ * Id event = "createdAtMillis-notificationId". Id notifikasi berasal dari
+ * pooled sequence sehingga tidak urut antar instance; resume Last-Event-ID
+ * memakai createdAt dengan toleransi replay-skew-ms, client membuang
+ * notifikasi yang id-nya sudah dimiliki.
+ *
+ * Thread LISTEN tidak pernah menulis ke socket: setiap stream punya antrean
+ * terbatas yang ditulis oleh sender virtual thread. Browser yang macet sampai
+ * antreannya penuh diputus, user lain tidak ikut tertahan.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationPushServiceImpl implements NotificationPushService {
+
+    static final String CHANNEL = "notification_events";
+    // Penanda instance di payload; listener tidak menghitung ulang notifikasi yang ditulis instance ini
+    static final String ORIGIN = UUID.randomUUID().toString().substring(0, 8);
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationUnreadCounter notificationUnreadCounter;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${notification.push.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${notification.push.heartbeat-ms:25000}")
+    private long heartbeatMs;
+
+    @Value("${notification.push.replay-limit:200}")
+    private int replayLimit;
+
+    @Value("${notification.push.replay-skew-ms:5000}")
+    private long replaySkewMs;
+
+    // Event yang boleh menumpuk per stream sebelum browser dianggap macet dan diputus
+    @Value("${notification.push.queue-capacity:512}")
+    private int queueCapacity;
+
+    private final Map<Long, Set<UserStream>> streams = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+            r -> Thread.ofPlatform().name("notification-push-heartbeat").daemon(true).unstarted(r));
+
+    // Penulisan ke socket; thread LISTEN dan heartbeat hanya memasukkan event ke antrean stream
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("notification-push-sender-", 0).factory());
+
+    private static final class UserStream {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        // true selama ada task sender yang mengosongkan antrean; maksimal satu per stream
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Putus atau antrean pernah penuh: event berikutnya ditolak
+        private volatile boolean closed;
+
+        UserStream(Long userId, SseEmitter emitter, int queueCapacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        // Tidak pernah menunggu socket; false = stream harus dilepas
+        boolean offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return false;
+            }
+            if (!queue.offer(event)) {
+                closed = true;
+                queue.clear();
+                return false;
+            }
+            return true;
+        }
+
+        // Hanya dipanggil dari task sender milik stream ini
+        boolean write(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                return false;
+            }
+        }
+    }
+
+    @PostConstruct
+    void startHeartbeat() {
+        // Komentar SSE kosong supaya proxy/load balancer tidak menutup koneksi yang diam
+        heartbeat.scheduleWithFixedDelay(() -> forEachStream(stream -> send(stream, SseEmitter.event().comment(""))),
+                heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        forEachStream(stream -> {
+            stream.emitter.complete();
+            return true;
+        });
+        senders.shutdownNow();
+    }
+
+    @Override
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // Replay penuh harus muat di antrean, kalau tidak stream langsung diputus saat reconnect
+        UserStream stream = new UserStream(userId, emitter, Math.max(queueCapacity, replayLimit + 2));
+        streams.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(stream);
+        emitter.onCompletion(() -> remove(stream));
+        emitter.onTimeout(() -> remove(stream));
+        emitter.onError(e -> remove(stream));
+
+        // Didaftarkan sebelum replay: notifikasi yang masuk di antaranya bisa terkirim dua kali, tidak hilang
+        send(stream, SseEmitter.event().comment("connected").reconnectTime(3000));
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            replay(stream, lastEventId);
+        }
+        return emitter;
+    }
+
+    @Override
+    public void publish(List<Notification> notifications) {
+        String payloads = notifications.stream()
+                .filter(n -> n.getId() != null && n.getUserId() != null)
+                .map(n -> n.getUserId() + ":" + n.getId() + ":" + ORIGIN)
+                .collect(Collectors.joining(","));
+        if (payloads.isEmpty()) {
+            return;
+        }
+        // Badge di instance ini tidak bergantung pada LISTEN (notification.push.listen=false)
+        notificationUnreadCounter.onWritten(notifications);
+        // Satu round trip per chunk; NOTIFY di dalam transaksi baru terkirim saat commit
+        jdbcTemplate.queryForObject(
+                "SELECT count(pg_notify(?, payload)) FROM unnest(string_to_array(?, ',')) AS payload",
+                Long.class, CHANNEL, payloads);
+    }
+
+    @Override
+    public void deliver(Map<Long, List<Long>> notificationIdsByUser) {
+        List<Long> ids = notificationIdsByUser.entrySet().stream()
+                .filter(entry -> streams.containsKey(entry.getKey()))
+                .flatMap(entry -> entry.getValue().stream())
+                .toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Notification>> byUser = notificationRepository.findAllById(ids).stream()
+                .collect(Collectors.groupingBy(Notification::getUserId));
+        byUser.forEach((userId, notifications) -> {
+            notifications.sort(Comparator.comparing(Notification::getCreatedAt,
+                    Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(Notification::getId));
+            for (UserStream stream : streams.getOrDefault(userId, Set.of())) {
+                sendAll(stream, notifications);
+            }
+        });
+    }
+
+    @Override
+    public void resyncAll() {
+        forEachStream(stream -> send(stream, SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON)));
+    }
+
+    private void replay(UserStream stream, String lastEventId) {
+        int separator = lastEventId.indexOf('-');
+        long lastMillis;
+        long lastId;
+        try {
+            lastMillis = Long.parseLong(lastEventId.substring(0, separator));
+            lastId = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (RuntimeException e) {
+            log.debug("Ignoring malformed Last-Event-ID '{}' from user {}", lastEventId, stream.userId);
+            send(stream, SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON));
+            return;
+        }
+
+        List<Notification> missed = new ArrayList<>(notificationRepository
+                .findByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAscIdAsc(stream.userId,
+                        new Date(lastMillis - replaySkewMs), PageRequest.of(0, replayLimit + 1)));
+        boolean truncated = missed.size() > replayLimit;
+        missed.removeIf(n -> Objects.equals(n.getId(), lastId));
+        if (truncated) {
+            // Terputus terlalu lama; lebih murah client memuat ulang inbox sekali
+            send(stream, SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON));
+            return;
+        }
+        sendAll(stream, missed);
+    }
+
+    private void sendAll(UserStream stream, List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            long createdMillis = notification.getCreatedAt() != null ? notification.getCreatedAt().getTime() : 0L;
+            boolean queued = send(stream, SseEmitter.event()
+                    .id(createdMillis + "-" + notification.getId())
+                    .name("notification")
+                    .data(NotificationResponse.from(notification), MediaType.APPLICATION_JSON));
+            if (!queued) {
+                return;
+            }
+        }
+    }
+
+    // Masukkan event ke antrean stream dan pastikan ada sender yang menulisnya. Stream yang
+    // antreannya penuh (browser macet) diputus; EventSource akan reconnect dengan Last-Event-ID
+    private boolean send(UserStream stream, SseEmitter.SseEventBuilder event) {
+        if (!stream.offer(event)) {
+            drop(stream);
+            return false;
+        }
+        if (stream.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(stream));
+            } catch (RejectedExecutionException e) {
+                // sedang shutdown
+                stream.draining.set(false);
+            }
+        }
+        return true;
+    }
+
+    private void drain(UserStream stream) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = stream.queue.poll()) != null) {
+                if (!stream.write(event)) {
+                    stream.closed = true;
+                    stream.queue.clear();
+                    remove(stream);
+                    stream.draining.set(false);
+                    return;
+                }
+            }
+            stream.draining.set(false);
+            // Event yang masuk setelah poll terakhir tapi sebelum flag dilepas
+        } while (!stream.queue.isEmpty() && stream.draining.compareAndSet(false, true));
+    }
+
+    private void drop(UserStream stream) {
+        if (remove(stream)) {
+            log.debug("Dropping notification stream of user {}: client too slow or disconnected", stream.userId);
+            // complete() bisa menunggu send yang macet, jangan di thread pemanggil
+            try {
+                senders.execute(stream.emitter::complete);
+            } catch (RejectedExecutionException e) {
+                // sedang shutdown
+            }
+        }
+    }
+
+    private void forEachStream(Predicate<UserStream> action) {
+        for (Set<UserStream> userStreams : streams.values()) {
+            for (UserStream stream : userStreams) {
+                if (!action.test(stream)) {
+                    remove(stream);
+                }
+            }
+        }
+    }
+
+    // true jika stream masih terdaftar sebelum dilepas
+    private boolean remove(UserStream stream) {
+        boolean[] removed = new boolean[1];
+        streams.computeIfPresent(stream.userId, (userId, userStreams) -> {
+            removed[0] = userStreams.remove(stream);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+        return removed[0];
+    }
+}
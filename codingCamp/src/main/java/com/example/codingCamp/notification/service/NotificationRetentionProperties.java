@@ -0,0 +1,59 @@
+package com.example.codingCamp.notification.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Konfigurasi notification.retention. TTL dihitung dari created_at, dalam
+ * hari, per type notifikasi dan status baca; key "default" berlaku untuk
+ * type yang tidak disebut.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "notification.retention")
+public class NotificationRetentionProperties {
+
+    static final String DEFAULT_TYPE = "default";
+
+    private boolean enabled = true;
+
+    // Tabel notification dipartisi per bulan (created_at); partisi kedaluwarsa di-DROP utuh
+    private boolean partitioning = true;
+
+    // Partisi bulan depan yang disiapkan lebih dulu
+    private int premakeMonths = 3;
+
+    // Baris per DELETE untuk TTL per baris (di luar partisi yang di-DROP)
+    private int deleteBatchSize = 5000;
+
+    // Partisi diarsipkan ke <archiveDir>/<partisi>.csv.gz sebelum di-DROP; kosong = tanpa arsip
+    private String archiveDir = "";
+
+    private Map<String, Integer> readTtlDays = new HashMap<>(Map.of(DEFAULT_TYPE, 30));
+
+    private Map<String, Integer> unreadTtlDays = new HashMap<>(Map.of(DEFAULT_TYPE, 180));
+
+    public int ttlDays(String type, boolean read) {
+        Map<String, Integer> ttl = read ? readTtlDays : unreadTtlDays;
+        Integer days = type == null ? null : ttl.get(type);
+        return days != null ? days : ttl.getOrDefault(DEFAULT_TYPE, Integer.MAX_VALUE);
+    }
+
+    // Partisi yang seluruhnya lebih tua dari ini pasti kedaluwarsa untuk semua aturan
+    public int maxTtlDays() {
+        // Tanpa "default", type lain tidak pernah kedaluwarsa
+        if (!readTtlDays.containsKey(DEFAULT_TYPE) || !unreadTtlDays.containsKey(DEFAULT_TYPE)) {
+            return Integer.MAX_VALUE;
+        }
+        return Stream.concat(readTtlDays.values().stream(), unreadTtlDays.values().stream())
+                .mapToInt(Integer::intValue)
+                .max()
+                .orElse(Integer.MAX_VALUE);
+    }
+}
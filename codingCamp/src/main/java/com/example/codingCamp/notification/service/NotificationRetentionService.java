@@ -0,0 +1,11 @@
+package com.example.codingCamp.notification.service;
+
+import com.example.codingCamp.notification.dto.response.NotificationRetentionReportDTO;
+
+public interface NotificationRetentionService {
+    // Jalankan retention sekarang (juga dijadwalkan lewat notification.retention.cron)
+    NotificationRetentionReportDTO runRetention();
+
+    // Hasil run terakhir; null kalau belum pernah jalan sejak start
+    NotificationRetentionReportDTO getLastReport();
+}
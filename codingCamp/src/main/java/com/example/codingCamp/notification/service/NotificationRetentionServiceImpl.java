@@ -0,0 +1,233 @@
+package com.example.codingCamp.notification.service;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.codingCamp.notification.dto.response.NotificationRetentionReportDTO;
+import com.example.codingCamp.notification.service.NotificationPartitionManager.Partition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Retention notifikasi. Partisi bulanan yang seluruhnya melewati TTL
+ * terpanjang diarsipkan lalu di-DROP; sisa baris kedaluwarsa (TTL per type
+ * dan status baca) dihapus per batch. Penghapusan notifikasi belum dibaca
+ * tercermin di counter badge setelah rekonsiliasi berikutnya.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationRetentionServiceImpl implements NotificationRetentionService {
+
+    // Advisory lock Postgres: dengan beberapa instance hanya satu yang menjalankan retention
+    private static final long RETENTION_LOCK_KEY = 7_310_017L;
+
+    private final NotificationRetentionProperties properties;
+    private final NotificationPartitionManager partitionManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    private final AtomicLong totalRowsReclaimed = new AtomicLong();
+    private final AtomicInteger totalRuns = new AtomicInteger();
+    private volatile NotificationRetentionReportDTO lastReport;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void preparePartitions() {
+        if (!properties.isEnabled() || !properties.isPartitioning()) {
+            return;
+        }
+        try {
+            if (partitionManager.isPartitioned()) {
+                partitionManager.ensurePartitions(properties.getPremakeMonths());
+            } else {
+                partitionManager.convertToPartitioned(properties.getPremakeMonths());
+            }
+        } catch (RuntimeException e) {
+            // Aplikasi tetap jalan dengan tabel biasa; retention memakai DELETE per batch saja
+            log.error("Failed to partition notification table: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${notification.retention.cron:0 30 2 * * *}")
+    void scheduledRun() {
+        if (properties.isEnabled()) {
+            runRetention();
+        }
+    }
+
+    @Override
+    public synchronized NotificationRetentionReportDTO runRetention() {
+        long start = System.nanoTime();
+        NotificationRetentionReportDTO report = NotificationRetentionReportDTO.builder()
+                .startedAt(new Date())
+                .skipped(false)
+                .partitioned(false)
+                .rowsDeleted(0L)
+                .partitionsDropped(new ArrayList<>())
+                .partitionRowsReclaimed(0L)
+                .rowsArchived(0L)
+                .dedupKeysDeleted(0L)
+                .partitionsCreated(0)
+                .build();
+
+        try (Connection lockConnection = dataSource.getConnection()) {
+            if (!advisoryLock(lockConnection, "pg_try_advisory_lock")) {
+                report.setSkipped(true);
+            } else {
+                try {
+                    run(report);
+                } finally {
+                    advisoryLock(lockConnection, "pg_advisory_unlock");
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.error("Notification retention failed: {}", e.getMessage());
+            report.setErrorMessage(e.getMessage());
+        }
+
+        long reclaimed = report.getRowsDeleted() + report.getPartitionRowsReclaimed();
+        report.setTotalRowsReclaimed(totalRowsReclaimed.addAndGet(reclaimed));
+        report.setTotalRuns(totalRuns.incrementAndGet());
+        report.setElapsedMs((System.nanoTime() - start) / 1_000_000);
+        if (!report.getSkipped()) {
+            log.info("Notification retention: {} rows deleted, {} partition(s) dropped ({} rows), "
+                    + "{} rows archived, ~{} rows retained in {} ms", report.getRowsDeleted(),
+                    report.getPartitionsDropped().size(), report.getPartitionRowsReclaimed(),
+                    report.getRowsArchived(), report.getRowsRetained(), report.getElapsedMs());
+        }
+        lastReport = report;
+        return report;
+    }
+
+    @Override
+    public NotificationRetentionReportDTO getLastReport() {
+        return lastReport;
+    }
+
+    private void run(NotificationRetentionReportDTO report) {
+        boolean partitioned = properties.isPartitioning() && partitionManager.isPartitioned();
+        report.setPartitioned(partitioned);
+        if (partitioned) {
+            report.setPartitionsCreated(partitionManager.ensurePartitions(properties.getPremakeMonths()));
+            // Partisi dulu: baris di dalamnya tidak perlu dihapus satu per satu
+            dropExpiredPartitions(report);
+        }
+        report.setRowsDeleted(deleteExpiredRows());
+        report.setDedupKeysDeleted(deleteStaleDedupKeys());
+        report.setRowsRetained(partitionManager.estimateTotalRows());
+    }
+
+    private void dropExpiredPartitions(NotificationRetentionReportDTO report) {
+        int maxTtlDays = properties.maxTtlDays();
+        if (maxTtlDays == Integer.MAX_VALUE) {
+            return;
+        }
+        LocalDate cutoff = LocalDate.now().minusDays(maxTtlDays);
+        String archiveDir = properties.getArchiveDir();
+        for (Partition partition : partitionManager.listPartitions()) {
+            if (partition.upperBound().isAfter(cutoff)) {
+                continue;
+            }
+            long rows;
+            if (archiveDir != null && !archiveDir.isBlank()) {
+                rows = partitionManager.archive(partition, Path.of(archiveDir));
+                report.setRowsArchived(report.getRowsArchived() + rows);
+            } else {
+                rows = partitionManager.estimateRows(partition);
+            }
+            partitionManager.drop(partition);
+            report.getPartitionsDropped().add(partition.name());
+            report.setPartitionRowsReclaimed(report.getPartitionRowsReclaimed() + rows);
+        }
+    }
+
+    private long deleteExpiredRows() {
+        Set<String> types = new LinkedHashSet<>(properties.getReadTtlDays().keySet());
+        types.addAll(properties.getUnreadTtlDays().keySet());
+        types.remove(NotificationRetentionProperties.DEFAULT_TYPE);
+
+        long deleted = 0;
+        for (boolean read : new boolean[] { true, false }) {
+            for (String type : types) {
+                deleted += deleteBatched(List.of(type), false, read, properties.ttlDays(type, read));
+            }
+            // Type lain (dan type null) mengikuti TTL "default"
+            deleted += deleteBatched(new ArrayList<>(types), true, read, properties.ttlDays(null, read));
+        }
+        return deleted;
+    }
+
+    private long deleteBatched(List<String> types, boolean excludeTypes, boolean read, int ttlDays) {
+        if (ttlDays == Integer.MAX_VALUE) {
+            return 0;
+        }
+        StringBuilder select = new StringBuilder("SELECT id FROM notification WHERE COALESCE(is_read, false) = ? "
+                + "AND created_at < ?");
+        List<Object> args = new ArrayList<>();
+        args.add(read);
+        args.add(Timestamp.valueOf(LocalDateTime.now().minusDays(ttlDays)));
+        if (!types.isEmpty()) {
+            String placeholders = String.join(", ", types.stream().map(t -> "?").toList());
+            select.append(excludeTypes ? " AND (type IS NULL OR type NOT IN (" + placeholders + "))"
+                    : " AND type IN (" + placeholders + ")");
+            args.addAll(types);
+        }
+        select.append(" LIMIT ?");
+        args.add(properties.getDeleteBatchSize());
+        return deleteRepeatedly("DELETE FROM notification WHERE id IN (" + select + ")", args);
+    }
+
+    // Kunci dedup yang tidak di-refresh selama TTL terpanjang pasti menunjuk notifikasi yang sudah dibuang
+    private long deleteStaleDedupKeys() {
+        int maxTtlDays = properties.maxTtlDays();
+        if (maxTtlDays == Integer.MAX_VALUE) {
+            return 0;
+        }
+        return deleteRepeatedly("DELETE FROM notification_dedup WHERE dedup_key IN (SELECT dedup_key "
+                + "FROM notification_dedup WHERE refreshed_at < ? LIMIT ?)",
+                List.of(Timestamp.valueOf(LocalDateTime.now().minusDays(maxTtlDays)),
+                        properties.getDeleteBatchSize()));
+    }
+
+    private long deleteRepeatedly(String sql, List<Object> args) {
+        // Batch kecil: lock dan WAL per statement tetap terbatas
+        long deleted = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(sql, args.toArray());
+            deleted += batch;
+        } while (batch >= properties.getDeleteBatchSize());
+        return deleted;
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(?)")) {
+            statement.setLong(1, RETENTION_LOCK_KEY);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+}
@@ -1,18 +1,29 @@
 package com.example.codingCamp.notification.service;
 
+import java.util.Date;
 import java.util.List;
 
+import com.example.codingCamp.notification.dto.response.NotificationFeedResponse;
 import com.example.codingCamp.notification.dto.response.NotificationResponse;
 import com.example.codingCamp.notification.model.Notification;
-import com.example.codingCamp.prediction.model.Prediction;
+import com.example.codingCamp.prediction.dto.response.PredictionResponseDTO;
 
 public interface NotificationService {
-    void markAllAsRead(Long userId);
+    // Operasi massal mengembalikan jumlah notifikasi yang berubah / terhapus
+    int markAllAsRead(Long userId);
+    // Hanya id milik userId yang diubah
+    int markAsRead(Long userId, List<Long> notificationIds);
+    // Angka badge; O(1) dari counter di memori
+    long getUnreadCount(Long userId);
     void deleteNotification(Long notificationId) ;
     List<NotificationResponse> getNotificationsByUserId(Long userId);
-    void deleteReadNotificationsByUserId(Long userId);
-    void sendPredictionNotificationToTeachers(Prediction prediction);
-    void sendPredictionNotificationToStudent(Prediction prediction, Long studentId);
-    void sendPredictionNotificationToParent(Prediction prediction, Long parentId);
+    int deleteReadNotificationsByUserId(Long userId);
+    // Notifikasi yang sudah dibaca dan terakhir berubah sebelum `before`
+    int deleteReadNotificationsOlderThan(Long userId, Date before);
     List<NotificationResponse> getAllNotification();
+    // Satu halaman feed (updatedAt terbaru dulu); cursor null = halaman pertama, type/isRead opsional
+    NotificationFeedResponse getNotificationFeed(Long userId, String cursor, Integer limit, String type,
+            Boolean isRead);
+    // Detail per siswa dari digest batch prediksi milik userId
+    List<PredictionResponseDTO> getDigestDetails(Long notificationId, Long userId, String status);
 }
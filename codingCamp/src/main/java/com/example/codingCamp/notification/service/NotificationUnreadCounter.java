@@ -0,0 +1,25 @@
+package com.example.codingCamp.notification.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.codingCamp.notification.model.Notification;
+
+public interface NotificationUnreadCounter {
+    // Jumlah notifikasi belum dibaca; dari memori, hanya query saat user pertama kali diminta
+    long getUnreadCount(Long userId);
+
+    // Notifikasi yang baru ditulis instance ini; dihitung setelah transaksi commit
+    void onWritten(List<Notification> notifications);
+
+    // Notifikasi baru yang sudah commit di instance lain (event LISTEN/NOTIFY): userId -> id notifikasi
+    void onCreated(Map<Long, List<Long>> notificationIdsByUser);
+
+    // Notifikasi user ditandai dibaca / dihapus selagi belum dibaca; diterapkan setelah commit
+    void onRead(Long userId, long count);
+
+    void onAllRead(Long userId);
+
+    // Samakan counter di memori dengan database
+    void reconcile();
+}
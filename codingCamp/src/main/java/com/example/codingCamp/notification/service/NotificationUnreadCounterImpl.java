@@ -0,0 +1,229 @@
+package com.example.codingCamp.notification.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.codingCamp.notification.model.Notification;
+import com.example.codingCamp.notification.repository.NotificationRepository;
+import com.example.codingCamp.notification.repository.UnreadCount;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counter notifikasi belum dibaca per user untuk badge header. Nilai awal
+ * dihitung sekali dari database, setelah itu hanya ditambah/dikurangi.
+ *
+ * Notifikasi yang ditulis instance ini dihitung setelah commit; tulisan dari
+ * instance lain dihitung dari event LISTEN/NOTIFY. Baca/hapus dari instance
+ * lain tidak disiarkan dan baru terlihat setelah rekonsiliasi berkala. User
+ * yang badge-nya tidak diminta selama idle-evict-ms dilepas dari memori.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationUnreadCounterImpl implements NotificationUnreadCounter {
+
+    // Batas parameter IN per query rekonsiliasi
+    private static final int RECONCILE_CHUNK = 1000;
+
+    private final NotificationRepository notificationRepository;
+
+    @Value("${notification.unread.reconcile-ms:60000}")
+    private long reconcileMs;
+
+    @Value("${notification.unread.idle-evict-ms:1800000}")
+    private long idleEvictMs;
+
+    private static final class Counter {
+        // LongAdder: banyak thread menambah counter user yang sama tanpa saling menunggu
+        private final LongAdder value = new LongAdder();
+        // Selesai setelah jumlah awal dari database ditambahkan; perubahan selama itu tetap dicatat
+        private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        boolean isLoaded() {
+            return loaded.isDone() && !loaded.isCompletedExceptionally();
+        }
+    }
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService reconciler = Executors.newSingleThreadScheduledExecutor(
+            r -> Thread.ofPlatform().name("notification-unread-reconcile").daemon(true).unstarted(r));
+
+    @PostConstruct
+    void startReconciler() {
+        reconciler.scheduleWithFixedDelay(() -> {
+            try {
+                evictIdle();
+                reconcile();
+            } catch (RuntimeException e) {
+                log.warn("Unread counter reconciliation failed: {}", e.getMessage());
+            }
+        }, reconcileMs, reconcileMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    @Override
+    public long getUnreadCount(Long userId) {
+        Counter counter = counters.get(userId);
+        if (counter == null) {
+            // Counter dipasang sebelum query supaya notifikasi yang masuk selama query tidak hilang;
+            // query di luar computeIfAbsent supaya tidak memegang lock map selama round trip
+            Counter created = new Counter();
+            counter = counters.putIfAbsent(userId, created);
+            if (counter == null) {
+                counter = created;
+                load(userId, created);
+            }
+        }
+        counter.loaded.join();
+        counter.lastAccess = System.currentTimeMillis();
+        return Math.max(0, counter.value.sum());
+    }
+
+    private void load(Long userId, Counter counter) {
+        try {
+            counter.value.add(notificationRepository.countByUserIdAndIsReadFalse(userId));
+            counter.loaded.complete(null);
+        } catch (RuntimeException e) {
+            counters.remove(userId, counter);
+            counter.loaded.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void onWritten(List<Notification> notifications) {
+        Map<Long, List<Long>> byUser = new HashMap<>();
+        for (Notification notification : notifications) {
+            if (notification.getUserId() != null && !Boolean.TRUE.equals(notification.getIsRead())) {
+                byUser.computeIfAbsent(notification.getUserId(), id -> new ArrayList<>()).add(notification.getId());
+            }
+        }
+        if (!byUser.isEmpty()) {
+            afterCommit(() -> onCreated(byUser));
+        }
+    }
+
+    @Override
+    public void onCreated(Map<Long, List<Long>> notificationIdsByUser) {
+        notificationIdsByUser.forEach((userId, ids) -> {
+            // User yang belum pernah diminta akan dihitung dari database saat dibutuhkan
+            Counter counter = counters.get(userId);
+            if (counter != null) {
+                counter.value.add(ids.size());
+            }
+        });
+    }
+
+    @Override
+    public void onRead(Long userId, long count) {
+        if (count > 0) {
+            afterCommit(() -> {
+                Counter counter = counters.get(userId);
+                if (counter != null) {
+                    counter.value.add(-count);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void onAllRead(Long userId) {
+        afterCommit(() -> {
+            Counter counter = counters.get(userId);
+            if (counter != null) {
+                counter.value.reset();
+            }
+        });
+    }
+
+    @Override
+    public void reconcile() {
+        List<Long> userIds = new ArrayList<>(counters.keySet());
+        int corrected = 0;
+        for (int from = 0; from < userIds.size(); from += RECONCILE_CHUNK) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + RECONCILE_CHUNK, userIds.size()));
+            Map<Long, Long> before = snapshot(chunk);
+            Map<Long, Long> actual = new HashMap<>();
+            for (UnreadCount row : notificationRepository.countUnreadByUserIds(chunk)) {
+                actual.put(row.getUserId(), row.getUnread());
+            }
+            for (Long userId : chunk) {
+                Counter counter = counters.get(userId);
+                Long expected = before.get(userId);
+                if (counter == null || expected == null) {
+                    continue;
+                }
+                // Counter yang berubah selama query dilewati; diperiksa lagi di putaran berikutnya
+                long current = counter.value.sum();
+                long target = actual.getOrDefault(userId, 0L);
+                if (current == expected && current != target) {
+                    counter.value.add(target - current);
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0) {
+            log.debug("Reconciled unread counters of {} user(s)", corrected);
+        }
+    }
+
+    // Counter yang masih memuat nilai awal tidak ikut dikoreksi
+    private Map<Long, Long> snapshot(List<Long> userIds) {
+        Map<Long, Long> values = new HashMap<>();
+        for (Long userId : userIds) {
+            Counter counter = counters.get(userId);
+            if (counter != null && counter.isLoaded()) {
+                values.put(userId, counter.value.sum());
+            }
+        }
+        return values;
+    }
+
+    // Dihitung ulang dari database saat user itu membuka aplikasi lagi
+    void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleEvictMs;
+        int before = counters.size();
+        counters.entrySet().removeIf(entry -> entry.getValue().isLoaded() && entry.getValue().lastAccess < cutoff);
+        int evicted = before - counters.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle unread counter(s)", evicted);
+        }
+    }
+
+    // Counter hanya diubah kalau perubahan di database benar-benar commit
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
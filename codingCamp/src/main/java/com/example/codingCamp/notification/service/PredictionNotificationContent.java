@@ -0,0 +1,198 @@
+package com.example.codingCamp.notification.service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import com.example.codingCamp.notification.model.Notification;
+import com.example.codingCamp.prediction.model.Prediction;
+import com.example.codingCamp.prediction.model.PredictionStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Judul, isi dan tipe notifikasi prediksi untuk satu penerima. Dirender
+ * sekali per prediksi lalu dipakai untuk semua penerima dengan peran yang sama.
+ */
+@Slf4j
+public record PredictionNotificationContent(String title, String message, String type) {
+
+    public static PredictionNotificationContent forTeachers(Prediction prediction) {
+        String namaSiswa = safeGetString(prediction.getNamaSiswa());
+        String statusPrediksi = safeGetString(prediction.getStatusPrediksi());
+        return new PredictionNotificationContent(
+                "📊 Prediksi Performa Siswa: " + namaSiswa,
+                buildTeacherNotificationMessage(
+                        namaSiswa, statusPrediksi,
+                        safeGetDouble(prediction.getNilaiAkhir()),
+                        safeGetInteger(prediction.getSemesterSiswa()),
+                        safeGetInteger(prediction.getJumlahKetidakhadiran()),
+                        safeGetInteger(prediction.getPersentaseTugas())),
+                determineNotificationType(statusPrediksi));
+    }
+
+    public static PredictionNotificationContent forStudent(Prediction prediction) {
+        String statusPrediksi = safeGetString(prediction.getStatusPrediksi());
+        return new PredictionNotificationContent(
+                "📊 Prediksi Performa Anda",
+                buildStudentNotificationMessage(statusPrediksi),
+                determineNotificationType(statusPrediksi));
+    }
+
+    public static PredictionNotificationContent forParent(Prediction prediction) {
+        String namaSiswa = safeGetString(prediction.getNamaSiswa());
+        String statusPrediksi = safeGetString(prediction.getStatusPrediksi());
+        return new PredictionNotificationContent(
+                "📊 Prediksi Performa " + namaSiswa,
+                buildParentNotificationMessage(namaSiswa, statusPrediksi),
+                determineNotificationType(statusPrediksi));
+    }
+
+    // Satu notifikasi per guru per batch: jumlah per status dan siswa yang menurun
+    public static PredictionNotificationContent forTeacherDigest(Map<PredictionStatus, Integer> statusCounts,
+            List<String> declinedNames, int declinedCount) {
+        int increase = statusCounts.getOrDefault(PredictionStatus.SIGNIFICANT_INCREASE, 0);
+        int stable = statusCounts.getOrDefault(PredictionStatus.STABLE, 0);
+        int decrease = statusCounts.getOrDefault(PredictionStatus.SIGNIFICANT_DECREASE, 0);
+        int total = increase + stable + decrease;
+
+        StringBuilder message = new StringBuilder(String.format(
+                "Prediksi performa selesai untuk %d siswa: %d Significant Increase, %d Stable, %d Significant Decrease.",
+                total, increase, stable, decrease));
+        if (declinedCount > 0) {
+            message.append(" Siswa yang diprediksi menurun: ")
+                    .append(String.join(", ", declinedNames.stream().map(PredictionNotificationContent::safeGetString)
+                            .toList()));
+            if (declinedCount > declinedNames.size()) {
+                message.append(" dan ").append(declinedCount - declinedNames.size()).append(" siswa lainnya");
+            }
+            message.append(". Disarankan untuk memantau dan melakukan intervensi akademik.");
+        }
+        message.append(" Buka detail notifikasi untuk melihat hasil per siswa.");
+
+        String type = decrease > 0 ? "ERROR" : stable > 0 ? "WARNING" : "INFO";
+        return new PredictionNotificationContent("📊 Ringkasan Prediksi Performa: " + total + " Siswa",
+                message.toString(), type);
+    }
+
+    public Notification toNotification(Long userId, Date now) {
+        Notification notification = new Notification();
+        notification.setUserId(userId);
+        notification.setTitle(title);
+        notification.setMessage(message);
+        notification.setType(type);
+        notification.setIsRead(false);
+        notification.setCreatedAt(now);
+        notification.setUpdatedAt(now);
+        return notification;
+    }
+
+    private static String determineNotificationType(String predictionStatus) {
+        if (predictionStatus == null || predictionStatus.trim().isEmpty()) {
+            return "INFO";
+        }
+
+        switch (predictionStatus.trim().toLowerCase()) {
+            case "significant increase performance":
+                return "INFO";
+            case "stable performance":
+                return "WARNING";
+            case "significant decrease performance":
+                return "ERROR";
+            default:
+                return "INFO";
+        }
+    }
+
+    // Helper methods untuk safe conversion
+    private static String safeGetString(Object obj) {
+        if (obj == null)
+            return "N/A";
+        return obj.toString().trim();
+    }
+
+    private static Double safeGetDouble(Object obj) {
+        if (obj == null)
+            return 0.0;
+        try {
+            if (obj instanceof Double)
+                return (Double) obj;
+            if (obj instanceof Number)
+                return ((Number) obj).doubleValue();
+            return Double.parseDouble(obj.toString());
+        } catch (NumberFormatException e) {
+            log.warn("Failed to convert {} to Double", obj);
+            return 0.0;
+        }
+    }
+
+    private static Integer safeGetInteger(Object obj) {
+        if (obj == null)
+            return 0;
+        try {
+            if (obj instanceof Integer)
+                return (Integer) obj;
+            if (obj instanceof Number)
+                return ((Number) obj).intValue();
+            return Integer.parseInt(obj.toString());
+        } catch (NumberFormatException e) {
+            log.warn("Failed to convert {} to Integer", obj);
+            return 0;
+        }
+    }
+
+    private static String buildTeacherNotificationMessage(String namaSiswa, String statusPrediksi,
+            Double nilaiAkhir, Integer semesterSiswa, Integer jumlahKetidakhadiran, Integer persentaseTugas) {
+
+        return String.format(
+                "Siswa %s (Semester %d) memiliki prediksi performa: %s dengan nilai akhir %.2f. " +
+                        "Tingkat kehadiran siswa adalah %d ketidakhadiran, dan tingkat penyelesaian tugas sebesar %d%%. "
+                        +
+                        "Disarankan untuk memantau dan melakukan intervensi akademik jika diperlukan.",
+                namaSiswa,
+                semesterSiswa,
+                statusPrediksi,
+                nilaiAkhir,
+                jumlahKetidakhadiran,
+                persentaseTugas);
+    }
+
+    private static String buildStudentNotificationMessage(String status) {
+        if (status == null)
+            return "Hasil prediksi performa Anda telah tersedia.";
+
+        switch (status.trim().toLowerCase()) {
+            case "significant increase performance":
+                return "Selamat! Performa Anda diprediksi akan meningkat secara signifikan. Terus pertahankan kerja keras Anda!";
+            case "stable performance":
+                return "Performa Anda diprediksi akan tetap stabil. Cobalah tantangan baru untuk meningkatkan hasil belajar Anda!";
+            case "significant decrease performance":
+                return "Performa Anda diprediksi akan menurun. Silakan konsultasikan dengan guru atau orang tua untuk bantuan.";
+            default:
+                return "Hasil prediksi performa Anda telah tersedia.";
+        }
+    }
+
+    private static String buildParentNotificationMessage(String namaSiswa, String status) {
+        if (status == null) {
+            return String.format("Hasil prediksi performa untuk %s telah tersedia.", namaSiswa);
+        }
+
+        switch (status.trim().toLowerCase()) {
+            case "significant increase performance":
+                return String.format(
+                        "Anak Anda, %s, diprediksi akan mengalami peningkatan performa yang signifikan. Terus berikan dukungan dan motivasi!",
+                        namaSiswa);
+            case "stable performance":
+                return String.format(
+                        "Anak Anda, %s, diprediksi akan mempertahankan performa yang stabil. Dorong mereka untuk mencoba tantangan baru!",
+                        namaSiswa);
+            case "significant decrease performance":
+                return String.format(
+                        "Anak Anda, %s, diprediksi akan mengalami penurunan performa. Silakan berkoordinasi dengan guru untuk strategi pendampingan.",
+                        namaSiswa);
+            default:
+                return String.format("Hasil prediksi performa untuk %s telah tersedia.", namaSiswa);
+        }
+    }
+}
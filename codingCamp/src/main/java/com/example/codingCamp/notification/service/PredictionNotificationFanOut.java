@@ -0,0 +1,270 @@
+package com.example.codingCamp.notification.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.codingCamp.notification.model.Notification;
+import com.example.codingCamp.prediction.model.Prediction;
+import com.example.codingCamp.prediction.model.PredictionStatus;
+import com.example.codingCamp.profile.service.TeacherAssignments;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fan-out notifikasi untuk satu batch prediksi. Per prediksi pesan dirender
+ * sekali untuk tiap peran (siswa, orang tua, guru). Baris satu chunk
+ * prediksi ditampung dan baru diserahkan ke {@link NotificationDispatcher}
+ * setelah chunk itu commit, sehingga loop prediksi tidak menunggu tulis
+ * notifikasi dan chunk yang di-rollback tidak pernah mengirim notifikasi.
+ *
+ * Guru hanya menerima notifikasi siswa di kelas yang diampunya (lihat
+ * {@link TeacherAssignments}).
+ *
+ * Mode digest: guru tidak menerima notifikasi per siswa, tapi satu ringkasan
+ * per batch lewat {@link #finish()}, dihitung dari kelas yang diampunya.
+ * Detail per siswa diambil lewat runId.
+ *
+ * Mode dedup: tiap baris diberi kunci isi (penerima, siswa, status,
+ * semester). Batch ulang dengan hasil yang sama me-refresh baris lama, bukan
+ * menulis dan mem-push notifikasi yang sama lagi.
+ *
+ * Tidak thread-safe; dipakai dari thread yang menyimpan hasil batch:
+ * commit/discard setelah transaksi chunk, finish sekali di akhir batch.
+ */
+@Slf4j
+public class PredictionNotificationFanOut {
+
+    // Nama siswa yang menurun yang ditulis di isi digest; sisanya cukup jumlahnya
+    static final int DIGEST_MAX_NAMES = 20;
+
+    // Kunci rekap digest untuk siswa tanpa kelas
+    private static final String NO_KELAS = "";
+
+    private final NotificationDispatcher notificationDispatcher;
+    private final TeacherAssignments teachers;
+    private final int chunkSize;
+    private final boolean teacherDigest;
+    private final boolean dedup;
+    private final long awaitMs;
+    private final String runId = UUID.randomUUID().toString();
+
+    // Baris chunk prediksi yang belum commit
+    private final List<Notification> pending = new ArrayList<>();
+    private final Set<Long> recipients = new HashSet<>();
+    private final List<CompletableFuture<?>> inFlight = new ArrayList<>();
+    // Diisi dari thread dispatcher
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger refreshed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    // Rekap digest per kelas; yang *Chunk belum commit dan dibuang bila chunk di-rollback
+    private final Map<String, DigestStats> digestStats = new HashMap<>();
+    private final Map<String, DigestStats> digestStatsChunk = new HashMap<>();
+
+    private static final class DigestStats {
+        private final Map<PredictionStatus, Integer> statusCounts = new EnumMap<>(PredictionStatus.class);
+        private final List<String> declined = new ArrayList<>();
+        private int declinedCount;
+
+        void add(PredictionStatus status, String namaSiswa) {
+            statusCounts.merge(status, 1, Integer::sum);
+            if (status == PredictionStatus.SIGNIFICANT_DECREASE) {
+                if (declined.size() < DIGEST_MAX_NAMES) {
+                    declined.add(namaSiswa);
+                }
+                declinedCount++;
+            }
+        }
+
+        void addAll(DigestStats other) {
+            other.statusCounts.forEach((status, count) -> statusCounts.merge(status, count, Integer::sum));
+            for (String nama : other.declined) {
+                if (declined.size() < DIGEST_MAX_NAMES) {
+                    declined.add(nama);
+                }
+            }
+            declinedCount += other.declinedCount;
+        }
+    }
+
+    PredictionNotificationFanOut(NotificationDispatcher notificationDispatcher, TeacherAssignments teachers,
+            int chunkSize, boolean teacherDigest, boolean dedup, long awaitMs) {
+        this.notificationDispatcher = notificationDispatcher;
+        this.teachers = teachers;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.teacherDigest = teacherDigest;
+        this.dedup = dedup;
+        this.awaitMs = awaitMs;
+    }
+
+    public void add(Prediction prediction, Long studentId, Long parentId, String kelas) {
+        Date now = new Date();
+        if (studentId != null) {
+            queue(studentId, PredictionNotificationContent.forStudent(prediction), now,
+                    dedupKey(studentId, prediction));
+        }
+        if (parentId != null) {
+            queue(parentId, PredictionNotificationContent.forParent(prediction), now,
+                    dedupKey(parentId, prediction));
+        }
+        if (teacherDigest) {
+            digestStatsChunk.computeIfAbsent(kelas == null || kelas.isBlank() ? NO_KELAS : kelas,
+                    key -> new DigestStats())
+                    .add(PredictionStatus.fromString(prediction.getStatusPrediksi()), prediction.getNamaSiswa());
+            return;
+        }
+        List<Long> teacherIds = teachers.teachersFor(kelas);
+        if (!teacherIds.isEmpty()) {
+            PredictionNotificationContent teacherContent = PredictionNotificationContent.forTeachers(prediction);
+            for (Long teacherId : teacherIds) {
+                queue(teacherId, teacherContent, now, dedupKey(teacherId, prediction));
+            }
+        }
+    }
+
+    // Chunk prediksi sudah commit: rekap digest ikut dihitung, barisnya diserahkan ke dispatcher
+    public void commit() {
+        digestStatsChunk.forEach((kelas, stats) -> digestStats.computeIfAbsent(kelas, key -> new DigestStats())
+                .addAll(stats));
+        digestStatsChunk.clear();
+        dispatchPending();
+    }
+
+    // Transaksi chunk di-rollback: notifikasinya tidak pernah dikirim
+    public void discard() {
+        pending.clear();
+        digestStatsChunk.clear();
+    }
+
+    /**
+     * Kirim satu digest untuk tiap guru (mode digest), lalu tunggu semua
+     * notifikasi batch ini selesai ditulis (paling lama awaitMs) supaya
+     * jumlah written/refreshed di ringkasan batch lengkap.
+     */
+    public void finish() {
+        if (teacherDigest && !digestStats.isEmpty()) {
+            queueDigests();
+        }
+        dispatchPending();
+        awaitInFlight();
+    }
+
+    // Guru dengan kelas yang sama berbagi satu digest yang dirender sekali
+    private void queueDigests() {
+        Map<Set<String>, List<Long>> teachersByKelas = new LinkedHashMap<>();
+        for (Long teacherId : teachers.allTeacherIds()) {
+            teachersByKelas.computeIfAbsent(teachers.kelasOf(teacherId), kelas -> new ArrayList<>()).add(teacherId);
+        }
+        Date now = new Date();
+        teachersByKelas.forEach((kelas, teacherIds) -> {
+            DigestStats merged = new DigestStats();
+            digestStats.forEach((statsKelas, stats) -> {
+                if (kelas.isEmpty() || NO_KELAS.equals(statsKelas) || kelas.contains(statsKelas)) {
+                    merged.addAll(stats);
+                }
+            });
+            if (merged.statusCounts.isEmpty()) {
+                return;
+            }
+            PredictionNotificationContent digest = PredictionNotificationContent.forTeacherDigest(
+                    merged.statusCounts, merged.declined, merged.declinedCount);
+            // Ringkasan dengan isi yang sama (batch ulang tanpa perubahan) cukup me-refresh digest lama
+            String digestHash = UUID.nameUUIDFromBytes(digest.message().getBytes(StandardCharsets.UTF_8))
+                    .toString();
+            for (Long teacherId : teacherIds) {
+                Notification notification = digest.toNotification(teacherId, now);
+                notification.setBatchRunId(runId);
+                queue(notification, teacherId + "|digest|" + digestHash);
+            }
+        });
+    }
+
+    // Disimpan di setiap prediksi batch ini supaya detail digest bisa diambil
+    public String getRunId() {
+        return runId;
+    }
+
+    public int getTeacherCount() {
+        return teachers.allTeacherIds().size();
+    }
+
+    // Pengguna berbeda yang menerima minimal satu notifikasi di batch ini
+    public int getRecipientCount() {
+        return recipients.size();
+    }
+
+    // Baris notifikasi baru yang sudah ditulis dispatcher
+    public int getWrittenCount() {
+        return written.get();
+    }
+
+    // Baris lama yang di-refresh karena isinya sama dengan notifikasi sebelumnya
+    public int getRefreshedCount() {
+        return refreshed.get();
+    }
+
+    // Baris yang gagal ditulis dispatcher
+    public int getFailedCount() {
+        return failed.get();
+    }
+
+    static String dedupKey(Long recipientId, Prediction prediction) {
+        return recipientId + "|" + prediction.getSiswaId() + "|" + prediction.getStatusPrediksi() + "|"
+                + prediction.getSemesterSiswa();
+    }
+
+    private void queue(Long userId, PredictionNotificationContent content, Date now, String dedupKey) {
+        queue(content.toNotification(userId, now), dedupKey);
+    }
+
+    private void queue(Notification notification, String dedupKey) {
+        if (dedup) {
+            notification.setDedupKey(dedupKey);
+        }
+        pending.add(notification);
+        recipients.add(notification.getUserId());
+    }
+
+    private void dispatchPending() {
+        inFlight.removeIf(CompletableFuture::isDone);
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Notification> rows = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            int size = rows.size();
+            inFlight.add(notificationDispatcher.dispatch(rows, dedup).whenComplete((result, error) -> {
+                if (error != null) {
+                    failed.addAndGet(size);
+                } else {
+                    written.addAndGet(result.inserted().size());
+                    refreshed.addAndGet(result.refreshed());
+                }
+            }));
+        }
+        pending.clear();
+    }
+
+    private void awaitInFlight() {
+        try {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).get(awaitMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Sudah dicatat per batch oleh dispatcher dan dihitung di failed
+        } catch (TimeoutException e) {
+            log.warn("Notifications of batch {} still being written after {} ms", runId, awaitMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.codingCamp.prediction.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker sederhana untuk layanan Flask.
+ *
+ * CLOSED: semua call diteruskan, kegagalan berturut-turut dihitung.
+ * OPEN: setelah failureThreshold kegagalan, call langsung ditolak selama openMs.
+ * HALF_OPEN: setelah openMs satu call percobaan diizinkan; sukses menutup
+ * kembali, gagal membuka lagi.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    public static class OpenException extends RuntimeException {
+        public OpenException(String message) {
+            super(message);
+        }
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMs;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, long openMs) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold harus >= 1");
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+    }
+
+    /** Lempar {@link OpenException} jika call tidak boleh dijalankan sekarang. */
+    public synchronized void acquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMs) {
+                throw new OpenException("Circuit " + name + " terbuka, layanan prediksi sedang tidak tersedia");
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+            log.info("Circuit {} half-open, mencoba satu request", name);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                throw new OpenException("Circuit " + name + " sedang menunggu hasil request percobaan");
+            }
+            probeInFlight = true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("Circuit {} closed kembali", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("Circuit {} open setelah {} kegagalan berturut-turut", name, consecutiveFailures);
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            probeInFlight = false;
+        }
+    }
+
+    /** Call selesai tanpa hasil yang bisa dinilai; hanya lepas slot percobaan HALF_OPEN. */
+    public synchronized void release() {
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
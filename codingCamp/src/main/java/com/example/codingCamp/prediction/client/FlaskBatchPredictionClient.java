@@ -0,0 +1,267 @@
+package com.example.codingCamp.prediction.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import com.example.codingCamp.student.model.StudentPerformance;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Client untuk endpoint /predict_batch di layanan Flask.
+ *
+ * Request per siswa dikumpulkan menjadi micro-batch (maksimal
+ * flask.api.batch.size baris atau menunggu flask.api.batch.linger-ms) lalu
+ * dikirim dalam satu HTTP call. Hasil predicted_label/probabilities dipecah
+ * kembali ke masing-masing pemanggil sesuai urutan.
+ */
+@Slf4j
+@Component
+public class FlaskBatchPredictionClient {
+
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        private final String predictedLabel;
+        private final List<Double> probabilities;
+        // Diisi jika Flask mengembalikan {"error": ...}
+        private final String error;
+    }
+
+    private static class PendingRequest {
+        private final Map<String, Object> features;
+        private final CompletableFuture<Result> future = new CompletableFuture<>();
+
+        PendingRequest(Map<String, Object> features) {
+            this.features = features;
+        }
+    }
+
+    private final PredictionHttpClient predictionHttpClient;
+    private final BlockingQueue<PendingRequest> queue = new LinkedBlockingQueue<>();
+
+    @Value("${flask.api.url:https://learntic-production.up.railway.app/predict}")
+    private String flaskApiUrl;
+
+    @Value("${flask.api.batch.url:}")
+    private String batchUrl;
+
+    @Value("${flask.api.batch.size:32}")
+    private int maxBatchSize;
+
+    @Value("${flask.api.batch.linger-ms:20}")
+    private long lingerMs;
+
+    private volatile boolean running = true;
+    private Thread dispatcher;
+
+    public FlaskBatchPredictionClient(PredictionHttpClient predictionHttpClient) {
+        this.predictionHttpClient = predictionHttpClient;
+    }
+
+    @PostConstruct
+    void start() {
+        if (batchUrl == null || batchUrl.isBlank()) {
+            batchUrl = flaskApiUrl.endsWith("/predict")
+                    ? flaskApiUrl + "_batch"
+                    : flaskApiUrl.replaceAll("/+$", "") + "/predict_batch";
+        }
+        log.info("Flask batch client ready: {} (size {}, linger {} ms)", batchUrl, maxBatchSize, lingerMs);
+    }
+
+    // Thread dispatcher baru dibuat saat request pertama; dengan flask.api.batch.enabled=false dan
+    // scorer selain table, client ini tidak pernah dipakai sehingga tidak ada thread yang menganggur
+    private synchronized void ensureDispatcher() {
+        if (dispatcher == null && running) {
+            dispatcher = Thread.ofPlatform().name("flask-batch-dispatcher").daemon(true).start(this::dispatchLoop);
+        }
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        List<PendingRequest> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        leftover.forEach(p -> p.future.completeExceptionally(
+                new RuntimeException("Flask batch client dihentikan")));
+    }
+
+    public CompletableFuture<Result> submit(StudentPerformance performance) {
+        Map<String, Object> features = new LinkedHashMap<>();
+        features.put("Persentase Tugas", performance.getPersentaseTugas());
+        features.put("Jumlah Ketidakhadiran", performance.getJumlahKetidakhadiran());
+        features.put("Rata-rata", performance.getNilaiAkhirRataRata());
+
+        PendingRequest pending = new PendingRequest(features);
+        if (!running) {
+            pending.future.completeExceptionally(new RuntimeException("Flask batch client dihentikan"));
+            return pending.future;
+        }
+        ensureDispatcher();
+        queue.add(pending);
+        return pending.future;
+    }
+
+    // Versi blocking untuk dipanggil dari worker BatchPredictionEngine
+    public Result predict(StudentPerformance performance) {
+        try {
+            return submit(performance).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Prediksi dibatalkan", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Prediction service error: " + cause.getMessage(), cause);
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                PendingRequest first = queue.take();
+                List<PendingRequest> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.drainTo(batch, maxBatchSize - batch.size());
+                        break;
+                    }
+                    PendingRequest next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                // Kirim di virtual thread supaya batch berikutnya bisa langsung dikumpulkan
+                Thread.ofVirtual().name("flask-batch-call").start(() -> send(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void send(List<PendingRequest> batch) {
+        try {
+            List<Map<String, Object>> instances = new ArrayList<>(batch.size());
+            for (PendingRequest pending : batch) {
+                instances.add(pending.features);
+            }
+            List<Result> results = postInstances(instances);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(results.get(i));
+            }
+        } catch (Exception e) {
+            batch.forEach(p -> p.future.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Kirim baris fitur langsung tanpa antrean micro-batch, dipakai untuk
+     * sweep tabel prediksi. Setiap elemen rows: {tugas, ketidakhadiran, rata-rata}.
+     */
+    public List<Result> predictRows(List<int[]> rows) {
+        List<Map<String, Object>> instances = new ArrayList<>(rows.size());
+        for (int[] row : rows) {
+            Map<String, Object> features = new LinkedHashMap<>();
+            features.put("Persentase Tugas", row[0]);
+            features.put("Jumlah Ketidakhadiran", row[1]);
+            features.put("Rata-rata", row[2]);
+            instances.add(features);
+        }
+        return postInstances(instances);
+    }
+
+    // model_version dari GET /model_info, sama dengan yang ditulis export_model.py
+    @SuppressWarnings("unchecked")
+    public String fetchModelVersion() {
+        String infoUrl = batchUrl.replaceAll("/predict_batch/?$", "") + "/model_info";
+        try {
+            Map<String, Object> body = predictionHttpClient.getForObject(infoUrl, Map.class);
+            if (body == null || body.get("model_version") == null) {
+                throw new RuntimeException("Flask tidak mengembalikan model_version");
+            }
+            return String.valueOf(body.get("model_version"));
+        } catch (RestClientException e) {
+            throw new RuntimeException("Prediction service unavailable: " + e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Result> postInstances(List<Map<String, Object>> instances) {
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(Map.of("instances", instances), headers);
+
+            log.debug("Sending batch of {} rows to {}", instances.size(), batchUrl);
+            ResponseEntity<Map> response = predictionHttpClient.postForEntity(batchUrl, entity, Map.class);
+
+            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                throw new RuntimeException("API returned " + response.getStatusCode());
+            }
+
+            Map<String, Object> body = response.getBody();
+            if (body.containsKey("error")) {
+                String errorMsg = String.valueOf(body.get("error"));
+                log.warn("Flask batch API returned error: {}", errorMsg);
+                return Collections.nCopies(instances.size(), new Result(null, null, errorMsg));
+            }
+
+            List<Object> labels = (List<Object>) body.get("predicted_label");
+            List<List<Number>> probabilities = (List<List<Number>>) body.get("probabilities");
+            if (labels == null || labels.size() != instances.size()) {
+                throw new RuntimeException("Jumlah hasil batch tidak sesuai: dikirim " + instances.size()
+                        + ", diterima " + (labels == null ? 0 : labels.size()));
+            }
+
+            List<Result> results = new ArrayList<>(instances.size());
+            for (int i = 0; i < instances.size(); i++) {
+                List<Double> proba = null;
+                if (probabilities != null && i < probabilities.size()) {
+                    proba = probabilities.get(i).stream().map(Number::doubleValue).toList();
+                }
+                results.add(new Result(String.valueOf(labels.get(i)), proba, null));
+            }
+            return results;
+        } catch (RestClientException e) {
+            log.error("REST Client Exception on batch call: {}", e.getMessage());
+            throw new RuntimeException("Prediction service unavailable: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            log.error("Unexpected error calling Flask batch API: {}", e.getMessage());
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.codingCamp.prediction.client;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * HTTP client khusus layanan prediksi Flask.
+ *
+ * - java.net.http.HttpClient menyimpan koneksi keep-alive per host (pool),
+ *   jadi call berikutnya tidak membuka koneksi TCP/TLS baru.
+ * - Connect timeout dan read timeout (flask.api.timeout).
+ * - Retry untuk error jaringan, 5xx dan 429 sampai flask.api.retry.max kali
+ *   dengan exponential backoff + full jitter.
+ * - Circuit breaker: selama layanan dianggap mati call langsung gagal dengan
+ *   {@link CircuitBreaker.OpenException} tanpa menunggu timeout.
+ * - Hedging (opsional): jika request belum selesai setelah hedge delay,
+ *   request kedua dikirim dan hasil yang pertama selesai dipakai. Aman karena
+ *   prediksi tidak mengubah state di Flask.
+ */
+@Slf4j
+@Component
+public class PredictionHttpClient {
+
+    private final RestTemplate restTemplate;
+    // Untuk request hedging; HttpClient sendiri memakai executor bawaannya
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CircuitBreaker circuitBreaker;
+
+    private final long readTimeoutMs;
+    private final int maxRetries;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private final boolean hedgeEnabled;
+    private final long hedgeDelayMs;
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+
+    public PredictionHttpClient(
+            @Value("${flask.api.connect-timeout:5000}") long connectTimeoutMs,
+            @Value("${flask.api.timeout:30000}") long readTimeoutMs,
+            @Value("${flask.api.retry.max:3}") int maxRetries,
+            @Value("${flask.api.retry.backoff-ms:200}") long backoffMs,
+            @Value("${flask.api.retry.max-backoff-ms:2000}") long maxBackoffMs,
+            @Value("${flask.api.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${flask.api.circuit.open-ms:30000}") long openMs,
+            @Value("${flask.api.hedge.enabled:false}") boolean hedgeEnabled,
+            @Value("${flask.api.hedge.delay-ms:500}") long hedgeDelayMs) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                // Flask/gunicorn tidak mendukung h2c, hindari upgrade HTTP/2 di setiap koneksi baru
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.circuitBreaker = new CircuitBreaker("flask-prediction", failureThreshold, openMs);
+        this.readTimeoutMs = readTimeoutMs;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgeDelayMs = hedgeDelayMs;
+    }
+
+    @PreDestroy
+    void close() {
+        executor.shutdownNow();
+    }
+
+    public <T> ResponseEntity<T> postForEntity(String url, HttpEntity<?> entity, Class<T> responseType) {
+        return execute(() -> restTemplate.postForEntity(url, entity, responseType));
+    }
+
+    public <T> T getForObject(String url, Class<T> responseType) {
+        return execute(() -> restTemplate.getForObject(url, responseType));
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    private <T> T execute(Supplier<T> call) {
+        for (int attempt = 0;; attempt++) {
+            circuitBreaker.acquire();
+            boolean reported = false;
+            try {
+                T result = hedgeEnabled ? hedged(call) : attempt(call);
+                circuitBreaker.onSuccess();
+                reported = true;
+                return result;
+            } catch (RestClientException e) {
+                if (!isRetryable(e)) {
+                    // 4xx: layanan hidup, kesalahan ada di request
+                    circuitBreaker.onSuccess();
+                    reported = true;
+                    throw e;
+                }
+                circuitBreaker.onFailure();
+                reported = true;
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                retries.increment();
+                long sleep = backoff(attempt);
+                log.warn("Flask call gagal ({}), retry {}/{} dalam {} ms", e.getMessage(), attempt + 1, maxRetries,
+                        sleep);
+                sleep(sleep);
+            } finally {
+                if (!reported) {
+                    // Error lokal (URI salah, executor menolak task, ...) bukan bukti layanan mati,
+                    // tapi slot request percobaan HALF_OPEN tetap harus dilepas
+                    circuitBreaker.release();
+                }
+            }
+        }
+    }
+
+    private <T> T hedged(Supplier<T> call) {
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(() -> attempt(call), executor);
+        try {
+            return primary.get(hedgeDelayMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // lanjut kirim request cadangan
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Request prediksi dibatalkan");
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+
+        hedges.increment();
+        CompletableFuture<T> backup = CompletableFuture.supplyAsync(() -> attempt(call), executor);
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> future : List.of(primary, backup)) {
+            future.whenComplete((result, error) -> {
+                if (error == null) {
+                    first.complete(result);
+                } else if (failures.incrementAndGet() == 2) {
+                    first.completeExceptionally(error);
+                }
+            });
+        }
+        try {
+            return first.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Request prediksi dibatalkan");
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } finally {
+            primary.cancel(true);
+            backup.cancel(true);
+        }
+    }
+
+    private <T> T attempt(Supplier<T> call) {
+        attempts.increment();
+        try {
+            return call.get();
+        } catch (CancellationException e) {
+            // JdkClientHttpRequest membatalkan request saat read timeout tanpa membungkus exception-nya
+            throw new ResourceAccessException("Read timeout setelah " + readTimeoutMs + " ms");
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new ResourceAccessException("Prediction service error: " + cause.getMessage());
+    }
+
+    private static boolean isRetryable(RestClientException e) {
+        if (e instanceof ResourceAccessException) {
+            return true;
+        }
+        if (e instanceof HttpStatusCodeException statusException) {
+            HttpStatusCode status = statusException.getStatusCode();
+            return status.is5xxServerError() || status.value() == 429;
+        }
+        return false;
+    }
+
+    // Full jitter: acak antara 0 dan backoff eksponensial, supaya retry banyak worker tidak serempak
+    private long backoff(int attempt) {
+        long cap = Math.min(maxBackoffMs, backoffMs << Math.min(attempt, 20));
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Retry prediksi dibatalkan");
+        }
+    }
+}
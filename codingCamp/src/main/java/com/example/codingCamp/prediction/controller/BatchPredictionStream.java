@@ -0,0 +1,187 @@
+package com.example.codingCamp.prediction.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.codingCamp.prediction.dto.response.PredictionJobResponseDTO;
+import com.example.codingCamp.prediction.dto.response.PredictionResponseDTO;
+import com.example.codingCamp.prediction.service.BatchPredictionListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mengirim hasil prediksi batch ke client per siswa, sebagai SSE
+ * (text/event-stream) atau NDJSON (satu objek JSON per baris).
+ *
+ * Event: job (status awal), start, prediction, failure, done / error.
+ * Thread job hanya memasukkan event ke antrean terbatas; penulisan ke socket
+ * dilakukan thread milik stream ini. Client yang terlalu lambat sampai
+ * antreannya penuh diputus, sehingga tidak pernah menahan job atau
+ * subscriber lain.
+ */
+@Slf4j
+class BatchPredictionStream implements BatchPredictionListener {
+
+    private static final MediaType NDJSON = MediaType.APPLICATION_NDJSON;
+
+    private record Event(String name, Object data, boolean terminal) {
+    }
+
+    private final ResponseBodyEmitter emitter;
+    private final boolean sse;
+    private final AtomicLong sequence = new AtomicLong();
+    // Event dari thread job sebelum event "job" terkirim ikut menunggu di sini supaya urutannya tetap
+    private final BlockingQueue<Event> queue;
+    private boolean writerStarted;
+    // Tidak menerima event lagi: sudah selesai, client putus, atau antrean pernah penuh
+    private volatile boolean closed;
+
+    private BatchPredictionStream(ResponseBodyEmitter emitter, boolean sse, int queueCapacity) {
+        this.emitter = emitter;
+        this.sse = sse;
+        this.queue = new ArrayBlockingQueue<>(Math.max(2, queueCapacity));
+    }
+
+    static BatchPredictionStream sse(long timeoutMs, int queueCapacity) {
+        return new BatchPredictionStream(new SseEmitter(timeoutMs), true, queueCapacity);
+    }
+
+    static BatchPredictionStream ndjson(long timeoutMs, int queueCapacity) {
+        return new BatchPredictionStream(new ResponseBodyEmitter(timeoutMs), false, queueCapacity);
+    }
+
+    ResponseBodyEmitter getEmitter() {
+        return emitter;
+    }
+
+    MediaType getMediaType() {
+        return sse ? MediaType.TEXT_EVENT_STREAM : NDJSON;
+    }
+
+    @Override
+    public void onStart(int expectedCount) {
+        send("start", Map.of("expectedCount", expectedCount));
+    }
+
+    @Override
+    public void onSuccess(PredictionResponseDTO result) {
+        send("prediction", result);
+    }
+
+    @Override
+    public void onFailure(Long siswaId, String error) {
+        Map<String, Object> failure = new LinkedHashMap<>();
+        failure.put("siswaId", siswaId);
+        failure.put("error", error);
+        send("failure", failure);
+    }
+
+    synchronized void job(PredictionJobResponseDTO job) {
+        startWriter(job);
+    }
+
+    synchronized void done(PredictionJobResponseDTO job) {
+        finish(new Event("done", job, true));
+    }
+
+    synchronized void error(String message) {
+        if (!writerStarted) {
+            // Gagal sebelum event "job" (gagal submit); event yang tertahan tidak relevan lagi
+            queue.clear();
+        }
+        finish(new Event("error", Map.of("message", message), true));
+        startWriter(null);
+    }
+
+    private void finish(Event event) {
+        if (closed) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            overflow();
+            return;
+        }
+        closed = true;
+    }
+
+    // Dipanggil dari thread job, tidak pernah menunggu socket. Exception = subscriber akan dilepas
+    private synchronized void send(String event, Object data) {
+        if (closed) {
+            throw new IllegalStateException("Stream prediksi sudah ditutup");
+        }
+        if (!queue.offer(new Event(event, data, false))) {
+            overflow();
+            throw new IllegalStateException("Client stream prediksi terlalu lambat, stream dihentikan");
+        }
+    }
+
+    // Buang event yang menumpuk dan tutup stream dengan event error begitu writer sempat menulis
+    private void overflow() {
+        log.debug("Batch prediction stream queue full ({} events), dropping client", queue.size());
+        closed = true;
+        queue.clear();
+        queue.offer(new Event("error", Map.of("message", "Koneksi terlalu lambat, stream dihentikan"), true));
+    }
+
+    private void startWriter(PredictionJobResponseDTO job) {
+        if (writerStarted) {
+            return;
+        }
+        writerStarted = true;
+        Thread.ofVirtual().name("prediction-batch-stream").start(() -> drain(job));
+    }
+
+    private void drain(PredictionJobResponseDTO job) {
+        try {
+            if (job != null) {
+                write("job", job);
+            }
+            while (true) {
+                Event event = queue.take();
+                write(event.name(), event.data());
+                if (event.terminal()) {
+                    emitter.complete();
+                    return;
+                }
+            }
+        } catch (UncheckedIOException e) {
+            // client sudah menutup koneksi; event berikutnya dari job melepas subscriber ini
+            closed = true;
+            queue.clear();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closed = true;
+        }
+    }
+
+    private void write(String event, Object data) {
+        try {
+            if (sse) {
+                ((SseEmitter) emitter).send(SseEmitter.event()
+                        .id(String.valueOf(sequence.incrementAndGet()))
+                        .name(event)
+                        .data(data, MediaType.APPLICATION_JSON));
+            } else {
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("event", event);
+                line.put("data", data);
+                emitter.send(line, MediaType.APPLICATION_JSON);
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (IllegalStateException e) {
+            // emitter sudah selesai (timeout/complete)
+            throw new UncheckedIOException(new IOException(e.getMessage(), e));
+        }
+    }
+}
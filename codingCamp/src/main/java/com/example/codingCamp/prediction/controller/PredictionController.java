@@ -1,25 +1,36 @@
 package com.example.codingCamp.prediction.controller;
 
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.codingCamp.dto.BaseResponseDTO;
+import com.example.codingCamp.prediction.dto.response.PredictionJobResponseDTO;
 import com.example.codingCamp.prediction.dto.response.PredictionResponseDTO;
+import com.example.codingCamp.prediction.dto.response.PredictionTableInfoDTO;
 import com.example.codingCamp.prediction.model.Prediction;
+import com.example.codingCamp.prediction.model.PredictionJobStatus;
+import com.example.codingCamp.prediction.service.PredictionJobConflictException;
+import com.example.codingCamp.prediction.service.PredictionJobService;
 import com.example.codingCamp.prediction.service.PredictionService;
+import com.example.codingCamp.prediction.service.PredictionTableService;
 import com.example.codingCamp.student.dto.response.StudentPerformanceResponseDTO;
 
 import java.util.Date;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 @RestController
 @RequestMapping("/api/prediction")
@@ -28,17 +39,43 @@ public class PredictionController {
     @Autowired
     private PredictionService predictionService;
 
+    @Autowired
+    private PredictionTableService predictionTableService;
+
+    @Autowired
+    private PredictionJobService predictionJobService;
+
+    @Value("${prediction.stream.timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    // Event yang boleh menumpuk per client stream sebelum client dianggap terlalu lambat dan diputus
+    @Value("${prediction.stream.queue-capacity:1024}")
+    private int streamQueueCapacity;
+
     // Endpoint untuk prediksi batch - GET lebih sesuai karena hanya mengambil data
+    // Blocking sampai job batch selesai; bergabung ke job yang sedang berjalan jika ada
     @GetMapping("/batch")
-    public ResponseEntity<BaseResponseDTO<List<PredictionResponseDTO>>> predictBatch() {
+    public ResponseEntity<BaseResponseDTO<List<PredictionResponseDTO>>> predictBatch(
+            @RequestParam(required = false) Boolean incremental) {
         BaseResponseDTO<List<PredictionResponseDTO>> responseDTO = new BaseResponseDTO<>();
         try {
-            List<PredictionResponseDTO> results = predictionService.predictBatch();
+            PredictionJobResponseDTO job = predictionJobService.submitAndWait(incremental);
+            if (!PredictionJobStatus.SUCCEEDED.name().equals(job.getStatus())) {
+                throw new RuntimeException(job.getErrorMessage());
+            }
+            List<PredictionResponseDTO> results = predictionJobService.getJobResults(job.getJobId());
             responseDTO.setStatus(HttpStatus.OK.value());
-            responseDTO.setMessage("Berhasil memprediksi performa seluruh siswa");
+            responseDTO.setMessage(String.format(
+                    "Berhasil memprediksi performa seluruh siswa (diprediksi %d, dilewati %d, gagal %d)",
+                    job.getSucceededCount(), job.getSkippedCount(), job.getFailedCount()));
             responseDTO.setTimestamp(new Date());
             responseDTO.setData(results);
             return ResponseEntity.ok(responseDTO);
+        } catch (PredictionJobConflictException e) {
+            responseDTO.setStatus(HttpStatus.CONFLICT.value());
+            responseDTO.setMessage(e.getMessage());
+            responseDTO.setTimestamp(new Date());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(responseDTO);
         } catch (RuntimeException e) {
             responseDTO.setStatus(HttpStatus.BAD_REQUEST.value());
             responseDTO.setMessage("Gagal melakukan prediksi batch: " + e.getMessage());
@@ -52,6 +89,150 @@ public class PredictionController {
         }
     }
 
+    // Versi streaming dari /batch: tiap hasil dikirim begitu siswanya selesai diprediksi.
+    // Accept: text/event-stream -> SSE, selain itu NDJSON (application/x-ndjson)
+    @GetMapping(value = "/batch/stream", produces = { MediaType.TEXT_EVENT_STREAM_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<ResponseBodyEmitter> streamBatch(
+            @RequestParam(required = false) Boolean incremental,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        BatchPredictionStream stream = accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE)
+                ? BatchPredictionStream.sse(streamTimeoutMs, streamQueueCapacity)
+                : BatchPredictionStream.ndjson(streamTimeoutMs, streamQueueCapacity);
+        ResponseBodyEmitter emitter = stream.getEmitter();
+        HttpStatus status = HttpStatus.OK;
+
+        try {
+            PredictionJobService.Subscription subscription = predictionJobService.subscribe(incremental, stream);
+            emitter.onCompletion(subscription.cancel());
+            emitter.onTimeout(subscription.cancel());
+            emitter.onError(e -> subscription.cancel().run());
+            stream.job(subscription.job());
+            subscription.completion().whenComplete((job, error) -> {
+                if (error != null) {
+                    stream.error(error.getMessage());
+                } else if (!PredictionJobStatus.SUCCEEDED.name().equals(job.getStatus())) {
+                    stream.error("Gagal melakukan prediksi batch: " + job.getErrorMessage());
+                } else {
+                    stream.done(job);
+                }
+            });
+        } catch (PredictionJobConflictException e) {
+            status = HttpStatus.CONFLICT;
+            stream.error(e.getMessage());
+        } catch (RuntimeException e) {
+            stream.error("Gagal memulai prediksi batch: " + e.getMessage());
+        }
+
+        return ResponseEntity.status(status)
+                .contentType(stream.getMediaType())
+                // jangan di-buffer oleh reverse proxy (nginx)
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    // Mulai job prediksi batch di background, langsung mengembalikan job id
+    @PostMapping("/batch/jobs")
+    public ResponseEntity<BaseResponseDTO<PredictionJobResponseDTO>> submitBatchJob(
+            @RequestParam(required = false) Boolean incremental) {
+        BaseResponseDTO<PredictionJobResponseDTO> responseDTO = new BaseResponseDTO<>();
+        try {
+            PredictionJobResponseDTO job = predictionJobService.submit(incremental);
+            responseDTO.setStatus(HttpStatus.ACCEPTED.value());
+            responseDTO.setMessage(Boolean.TRUE.equals(job.getJoined())
+                    ? "Prediksi batch sedang berjalan, bergabung ke job " + job.getJobId()
+                    : "Job prediksi batch dimulai");
+            responseDTO.setTimestamp(new Date());
+            responseDTO.setData(job);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(responseDTO);
+        } catch (PredictionJobConflictException e) {
+            responseDTO.setStatus(HttpStatus.CONFLICT.value());
+            responseDTO.setMessage(e.getMessage());
+            responseDTO.setTimestamp(new Date());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(responseDTO);
+        } catch (RuntimeException e) {
+            responseDTO.setStatus(HttpStatus.BAD_REQUEST.value());
+            responseDTO.setMessage("Gagal memulai prediksi batch: " + e.getMessage());
+            responseDTO.setTimestamp(new Date());
+            return ResponseEntity.badRequest().body(responseDTO);
+        }
+    }
+
+    @GetMapping("/batch/jobs/{jobId}")
+    public ResponseEntity<BaseResponseDTO<PredictionJobResponseDTO>> getBatchJob(@PathVariable Long jobId) {
+        BaseResponseDTO<PredictionJobResponseDTO> responseDTO = new BaseResponseDTO<>();
+        try {
+            responseDTO.setData(predictionJobService.getJob(jobId));
+            responseDTO.setStatus(HttpStatus.OK.value());
+            responseDTO.setMessage("Status job prediksi berhasil diambil");
+            responseDTO.setTimestamp(new Date());
+            return ResponseEntity.ok(responseDTO);
+        } catch (RuntimeException e) {
+            responseDTO.setStatus(HttpStatus.NOT_FOUND.value());
+            responseDTO.setMessage(e.getMessage());
+            responseDTO.setTimestamp(new Date());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(responseDTO);
+        }
+    }
+
+    @GetMapping("/batch/jobs/{jobId}/results")
+    public ResponseEntity<BaseResponseDTO<List<PredictionResponseDTO>>> getBatchJobResults(
+            @PathVariable Long jobId) {
+        BaseResponseDTO<List<PredictionResponseDTO>> responseDTO = new BaseResponseDTO<>();
+        try {
+            responseDTO.setData(predictionJobService.getJobResults(jobId));
+            responseDTO.setStatus(HttpStatus.OK.value());
+            responseDTO.setMessage("Hasil job prediksi berhasil diambil");
+            responseDTO.setTimestamp(new Date());
+            return ResponseEntity.ok(responseDTO);
+        } catch (RuntimeException e) {
+            responseDTO.setStatus(HttpStatus.BAD_REQUEST.value());
+            responseDTO.setMessage("Gagal mengambil hasil job prediksi: " + e.getMessage());
+            responseDTO.setTimestamp(new Date());
+            return ResponseEntity.badRequest().body(responseDTO);
+        }
+    }
+
+    @GetMapping("/table")
+    public ResponseEntity<BaseResponseDTO<PredictionTableInfoDTO>> tableInfo() {
+        BaseResponseDTO<PredictionTableInfoDTO> responseDTO = new BaseResponseDTO<>();
+        try {
+            responseDTO.setData(predictionTableService.getInfo());
+            responseDTO.setStatus(HttpStatus.OK.value());
+            responseDTO.setMessage("Info tabel prediksi berhasil diambil");
+            responseDTO.setTimestamp(new Date());
+            return ResponseEntity.ok(responseDTO);
+        } catch (RuntimeException e) {
+            responseDTO.setStatus(HttpStatus.NOT_FOUND.value());
+            responseDTO.setMessage(e.getMessage());
+            responseDTO.setTimestamp(new Date());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(responseDTO);
+        }
+    }
+
+    // Bangun ulang tabel prediksi; source=local (student_model.bin) atau flask (/predict_batch)
+    @PostMapping("/table/rebuild")
+    public ResponseEntity<BaseResponseDTO<PredictionTableInfoDTO>> rebuildTable(
+            @RequestParam(defaultValue = "local") String source,
+            @RequestParam(defaultValue = "false") boolean force) {
+        BaseResponseDTO<PredictionTableInfoDTO> responseDTO = new BaseResponseDTO<>();
+        try {
+            PredictionTableInfoDTO info = predictionTableService.rebuild(source, force);
+            responseDTO.setStatus(HttpStatus.OK.value());
+            responseDTO.setMessage(Boolean.TRUE.equals(info.getRebuilt())
+                    ? "Tabel prediksi berhasil dibangun ulang"
+                    : "Tabel prediksi sudah sesuai versi model");
+            responseDTO.setTimestamp(new Date());
+            responseDTO.setData(info);
+            return ResponseEntity.ok(responseDTO);
+        } catch (RuntimeException e) {
+            responseDTO.setStatus(HttpStatus.BAD_REQUEST.value());
+            responseDTO.setMessage("Gagal membangun tabel prediksi: " + e.getMessage());
+            responseDTO.setTimestamp(new Date());
+            return ResponseEntity.badRequest().body(responseDTO);
+        }
+    }
+
     @GetMapping("/status")
     public ResponseEntity<List<Prediction>> getPredictionsByStatus(@RequestParam String status) {
         return ResponseEntity.ok(predictionService.getPredictionsByStatus(status));
@@ -0,0 +1,28 @@
+package com.example.codingCamp.prediction.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPredictionSummaryDTO {
+    private List<PredictionResponseDTO> results;
+    private Boolean incremental;
+    private Integer totalCount;
+    private Integer scoredCount;
+    // Tidak berubah sejak prediksi terakhir (hanya mode incremental)
+    private Integer skippedCount;
+    private Integer failedCount;
+    private Long elapsedMs;
+    // Pengguna berbeda yang diberi notifikasi dan jumlah baris notifikasi yang ditulis
+    private Integer notificationRecipients;
+    private Integer notificationsWritten;
+    // Notifikasi lama yang di-refresh karena isinya sama dengan batch sebelumnya
+    private Integer notificationsRefreshed;
+}
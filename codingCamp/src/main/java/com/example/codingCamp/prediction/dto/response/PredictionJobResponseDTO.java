@@ -0,0 +1,36 @@
+package com.example.codingCamp.prediction.dto.response;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PredictionJobResponseDTO {
+    private Long jobId;
+    private String status;
+    private Boolean incremental;
+    // true jika submit bergabung ke job yang sedang berjalan
+    private Boolean joined;
+    private Integer expectedCount;
+    private Integer processedCount;
+    private Integer succeededCount;
+    private Integer failedCount;
+    private Integer skippedCount;
+    private Integer notificationRecipients;
+    private Integer notificationsWritten;
+    // Notifikasi lama yang di-refresh, bukan ditulis ulang (dedup)
+    private Integer notificationsRefreshed;
+    private Date createdAt;
+    private Date startedAt;
+    private Date finishedAt;
+    private Long elapsedMs;
+    // null selama belum ada siswa yang selesai diproses
+    private Long etaSeconds;
+    private String errorMessage;
+}
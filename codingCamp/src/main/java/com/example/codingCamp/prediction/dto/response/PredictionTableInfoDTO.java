@@ -0,0 +1,26 @@
+package com.example.codingCamp.prediction.dto.response;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PredictionTableInfoDTO {
+    private String path;
+    private String modelVersion;
+    private Date builtAt;
+    private Integer maxTugas;
+    private Integer maxKetidakhadiran;
+    private Integer maxRataRata;
+    private Long points;
+    private Long sizeBytes;
+    // true jika tabel baru dibangun pada request ini
+    private Boolean rebuilt;
+    private Long elapsedMs;
+}
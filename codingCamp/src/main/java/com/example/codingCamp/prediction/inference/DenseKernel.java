@@ -0,0 +1,29 @@
+package com.example.codingCamp.prediction.inference;
+
+/**
+ * Perkalian matriks-vektor untuk layer Dense: output = bias + input . kernel.
+ */
+public interface DenseKernel {
+
+    void apply(float[] input, DenseLayer layer, float[] output);
+
+    class Scalar implements DenseKernel {
+
+        @Override
+        public void apply(float[] input, DenseLayer layer, float[] output) {
+            int inSize = layer.getInSize();
+            int outSize = layer.getOutSize();
+            float[] kernel = layer.getKernel();
+            float[] bias = layer.getBias();
+
+            System.arraycopy(bias, 0, output, 0, outSize);
+            for (int i = 0; i < inSize; i++) {
+                float x = input[i];
+                int row = i * outSize;
+                for (int j = 0; j < outSize; j++) {
+                    output[j] += x * kernel[row + j];
+                }
+            }
+        }
+    }
+}
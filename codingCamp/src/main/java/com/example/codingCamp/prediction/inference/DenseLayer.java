@@ -0,0 +1,32 @@
+package com.example.codingCamp.prediction.inference;
+
+import lombok.Getter;
+
+/**
+ * Satu layer Dense Keras: output = activation(input . kernel + bias), dengan
+ * kernel berbentuk [inSize, outSize] row-major.
+ */
+@Getter
+public class DenseLayer {
+
+    public enum Activation {
+        LINEAR, RELU, SOFTMAX
+    }
+
+    private final int inSize;
+    private final int outSize;
+    private final Activation activation;
+    private final float[] kernel;
+    private final float[] bias;
+
+    public DenseLayer(int inSize, int outSize, Activation activation, float[] kernel, float[] bias) {
+        if (kernel.length != inSize * outSize || bias.length != outSize) {
+            throw new IllegalArgumentException("Ukuran kernel/bias tidak sesuai dengan " + inSize + "x" + outSize);
+        }
+        this.inSize = inSize;
+        this.outSize = outSize;
+        this.activation = activation;
+        this.kernel = kernel;
+        this.bias = bias;
+    }
+}
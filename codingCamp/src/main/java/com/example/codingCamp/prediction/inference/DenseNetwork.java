@@ -0,0 +1,188 @@
+package com.example.codingCamp.prediction.inference;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Forward pass model Dense dari {@link ModelBundle}.
+ *
+ * Buffer kerja diambil dari pool slot berukuran tetap dan dikembalikan
+ * setelah dipakai. Mengambil/mengembalikan hanya CAS pada array slot (tanpa
+ * node antrean), jadi setelah warm-up prediksi tidak mengalokasikan objek
+ * baru selama jumlah pemanggil serentak tidak melebihi jumlah slot; di atas
+ * itu buffer tambahan dibuat dan dibuang. Aman dipanggil dari banyak thread
+ * sekaligus.
+ */
+@Slf4j
+public class DenseNetwork {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private final ModelBundle bundle;
+    private final DenseKernel kernel;
+    // Posisi input layer -> index fitur di ModelBundle.FEATURES
+    private final int[] featureIndex;
+    private final int maxWidth;
+    // Slot kosong = null; worker batch dibatasi, jadi slot sebanyak ini cukup untuk semua pemanggil serentak
+    private final AtomicReferenceArray<float[][]> workspaces = new AtomicReferenceArray<>(
+            Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
+
+    public DenseNetwork(ModelBundle bundle, DenseKernel kernel) {
+        this.bundle = bundle;
+        this.kernel = kernel;
+
+        FeatureScaler[] scalers = bundle.getScalers();
+        this.featureIndex = new int[scalers.length];
+        for (int i = 0; i < scalers.length; i++) {
+            featureIndex[i] = ModelBundle.FEATURES.indexOf(scalers[i].getFeature());
+        }
+
+        int width = scalers.length;
+        for (DenseLayer layer : bundle.getLayers()) {
+            width = Math.max(width, layer.getOutSize());
+        }
+        this.maxWidth = width;
+    }
+
+    public static DenseKernel selectKernel(boolean preferSimd) {
+        if (preferSimd && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return (DenseKernel) Class.forName(DenseNetwork.class.getPackageName() + ".VectorDenseKernel")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                log.warn("Vector API tidak bisa dipakai, kembali ke kernel skalar: {}", e.getMessage());
+            }
+        }
+        return new DenseKernel.Scalar();
+    }
+
+    public ModelBundle getBundle() {
+        return bundle;
+    }
+
+    public DenseKernel getKernel() {
+        return kernel;
+    }
+
+    public int getNumLabels() {
+        return bundle.getLabels().length;
+    }
+
+    public int predictIndex(int persentaseTugas, int jumlahKetidakhadiran, int rataRata) {
+        float[][] workspace = acquire();
+        try {
+            float[] logits = forward(workspace, persentaseTugas, jumlahKetidakhadiran, rataRata);
+            // Softmax tidak mengubah argmax, jadi cukup bandingkan logit
+            int outSize = getNumLabels();
+            int best = 0;
+            for (int j = 1; j < outSize; j++) {
+                if (logits[j] > logits[best]) {
+                    best = j;
+                }
+            }
+            return best;
+        } finally {
+            release(workspace);
+        }
+    }
+
+    public void predictProbabilities(int persentaseTugas, int jumlahKetidakhadiran, int rataRata,
+            float[] probabilities) {
+        float[][] workspace = acquire();
+        try {
+            float[] logits = forward(workspace, persentaseTugas, jumlahKetidakhadiran, rataRata);
+            int outSize = getNumLabels();
+            System.arraycopy(logits, 0, probabilities, 0, outSize);
+            DenseLayer last = bundle.getLayers()[bundle.getLayers().length - 1];
+            if (last.getActivation() == DenseLayer.Activation.SOFTMAX) {
+                softmax(probabilities, outSize);
+            }
+        } finally {
+            release(workspace);
+        }
+    }
+
+    // Mengembalikan buffer berisi output layer terakhir sebelum softmax
+    private float[] forward(float[][] workspace, int persentaseTugas, int jumlahKetidakhadiran, int rataRata) {
+        float[] input = workspace[0];
+        FeatureScaler[] scalers = bundle.getScalers();
+        for (int i = 0; i < scalers.length; i++) {
+            int raw;
+            switch (featureIndex[i]) {
+                case 0:
+                    raw = persentaseTugas;
+                    break;
+                case 1:
+                    raw = jumlahKetidakhadiran;
+                    break;
+                default:
+                    raw = rataRata;
+                    break;
+            }
+            input[i] = (float) scalers[i].apply(raw);
+        }
+
+        DenseLayer[] layers = bundle.getLayers();
+        float[] current = input;
+        for (int l = 0; l < layers.length; l++) {
+            DenseLayer layer = layers[l];
+            float[] output = workspace[1 + (l & 1)];
+            kernel.apply(current, layer, output);
+
+            int outSize = layer.getOutSize();
+            if (layer.getActivation() == DenseLayer.Activation.RELU) {
+                for (int j = 0; j < outSize; j++) {
+                    if (output[j] < 0f) {
+                        output[j] = 0f;
+                    }
+                }
+            } else if (layer.getActivation() == DenseLayer.Activation.SOFTMAX && l < layers.length - 1) {
+                softmax(output, outSize);
+            }
+            current = output;
+        }
+        return current;
+    }
+
+    private float[][] acquire() {
+        // Mulai dari slot berbeda per thread supaya pemanggil serentak tidak berebut slot yang sama
+        int start = (int) (Thread.currentThread().threadId() % workspaces.length());
+        for (int i = 0; i < workspaces.length(); i++) {
+            int slot = (start + i) % workspaces.length();
+            if (workspaces.get(slot) != null) {
+                float[][] workspace = workspaces.getAndSet(slot, null);
+                if (workspace != null) {
+                    return workspace;
+                }
+            }
+        }
+        return new float[3][maxWidth];
+    }
+
+    private void release(float[][] workspace) {
+        int start = (int) (Thread.currentThread().threadId() % workspaces.length());
+        for (int i = 0; i < workspaces.length(); i++) {
+            if (workspaces.compareAndSet((start + i) % workspaces.length(), null, workspace)) {
+                return;
+            }
+        }
+        // Semua slot terisi: buffer ini dibuang
+    }
+
+    private static void softmax(float[] values, int size) {
+        float max = values[0];
+        for (int j = 1; j < size; j++) {
+            max = Math.max(max, values[j]);
+        }
+        float sum = 0f;
+        for (int j = 0; j < size; j++) {
+            values[j] = (float) Math.exp(values[j] - max);
+            sum += values[j];
+        }
+        for (int j = 0; j < size; j++) {
+            values[j] /= sum;
+        }
+    }
+}
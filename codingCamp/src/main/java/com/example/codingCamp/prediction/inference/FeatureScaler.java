@@ -0,0 +1,59 @@
+package com.example.codingCamp.prediction.inference;
+
+import lombok.Getter;
+
+/**
+ * Padanan transformer sklearn di preprocessor.pkl untuk satu kolom fitur.
+ */
+@Getter
+public class FeatureScaler {
+
+    public enum Type {
+        STANDARD, ROBUST, YEO_JOHNSON
+    }
+
+    private final String feature;
+    private final Type type;
+    private final double[] params;
+
+    public FeatureScaler(String feature, Type type, double[] params) {
+        int expected = type == Type.YEO_JOHNSON ? 3 : 2;
+        if (params.length != expected) {
+            throw new IllegalArgumentException(
+                    "Scaler " + type + " untuk " + feature + " butuh " + expected + " parameter");
+        }
+        this.feature = feature;
+        this.type = type;
+        this.params = params;
+    }
+
+    public double apply(double x) {
+        switch (type) {
+            case STANDARD:
+                // (x - mean) / scale
+                return (x - params[0]) / params[1];
+            case ROBUST:
+                // (x - center) / scale
+                return (x - params[0]) / params[1];
+            case YEO_JOHNSON:
+                return (yeoJohnson(x, params[0]) - params[1]) / params[2];
+            default:
+                throw new IllegalStateException("Scaler tidak dikenal: " + type);
+        }
+    }
+
+    // Sama dengan PowerTransformer._yeo_johnson_transform di sklearn
+    private static double yeoJohnson(double x, double lambda) {
+        double eps = 1e-10;
+        if (x >= 0) {
+            if (Math.abs(lambda) < eps) {
+                return Math.log1p(x);
+            }
+            return (Math.pow(x + 1, lambda) - 1) / lambda;
+        }
+        if (Math.abs(lambda - 2) > eps) {
+            return -(Math.pow(-x + 1, 2 - lambda) - 1) / (2 - lambda);
+        }
+        return -Math.log1p(-x);
+    }
+}
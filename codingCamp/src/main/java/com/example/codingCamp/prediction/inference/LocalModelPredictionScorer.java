@@ -0,0 +1,62 @@
+package com.example.codingCamp.prediction.inference;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.example.codingCamp.prediction.model.PredictionStatus;
+import com.example.codingCamp.prediction.service.PredictionScorer;
+import com.example.codingCamp.student.model.StudentPerformance;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prediksi di dalam JVM tanpa call ke Flask (prediction.scorer=local).
+ * Model diekspor dengan machineLearning/export_model.py.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "prediction.scorer", havingValue = "local")
+public class LocalModelPredictionScorer implements PredictionScorer {
+
+    @Value("${prediction.local.model-path:../machineLearning/student_model.bin}")
+    private String modelPath;
+
+    @Value("${prediction.local.simd:true}")
+    private boolean simd;
+
+    private DenseNetwork network;
+    // label index -> status, dihitung sekali saat load
+    private PredictionStatus[] statuses;
+
+    @PostConstruct
+    void load() throws IOException {
+        ModelBundle bundle = ModelBundle.load(Path.of(modelPath));
+        network = new DenseNetwork(bundle, DenseNetwork.selectKernel(simd));
+
+        String[] labels = bundle.getLabels();
+        statuses = new PredictionStatus[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            statuses[i] = PredictionStatus.fromString(labels[i]);
+        }
+
+        log.info("Local prediction model {} loaded from {} ({} kernel)",
+                bundle.getModelVersion(), modelPath, network.getKernel().getClass().getSimpleName());
+    }
+
+    @Override
+    public PredictionStatus score(StudentPerformance performance) {
+        return statuses[network.predictIndex(
+                performance.getPersentaseTugas(),
+                performance.getJumlahKetidakhadiran(),
+                performance.getNilaiAkhirRataRata())];
+    }
+
+    public DenseNetwork getNetwork() {
+        return network;
+    }
+}
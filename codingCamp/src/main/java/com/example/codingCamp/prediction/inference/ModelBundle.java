@@ -0,0 +1,156 @@
+package com.example.codingCamp.prediction.inference;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * Bobot model, parameter scaler dan label yang diekspor oleh
+ * machineLearning/export_model.py (lihat docstring di sana untuk layout file).
+ */
+@Getter
+public class ModelBundle {
+
+    public static final int FORMAT_VERSION = 1;
+
+    // Urutan fitur yang dipakai di seluruh aplikasi
+    public static final List<String> FEATURES = List.of("Persentase Tugas", "Jumlah Ketidakhadiran", "Rata-rata");
+
+    private static final byte[] MAGIC = { 'L', 'T', 'M', '1' };
+
+    private final String modelVersion;
+    // Urutan sesuai output preprocessor (= urutan input layer pertama)
+    private final FeatureScaler[] scalers;
+    private final String[] labels;
+    private final DenseLayer[] layers;
+
+    public ModelBundle(String modelVersion, FeatureScaler[] scalers, String[] labels, DenseLayer[] layers) {
+        if (layers.length == 0) {
+            throw new IllegalArgumentException("Model tidak memiliki layer");
+        }
+        if (layers[0].getInSize() != scalers.length) {
+            throw new IllegalArgumentException("Jumlah fitur (" + scalers.length
+                    + ") tidak sesuai input layer (" + layers[0].getInSize() + ")");
+        }
+        for (int i = 1; i < layers.length; i++) {
+            if (layers[i].getInSize() != layers[i - 1].getOutSize()) {
+                throw new IllegalArgumentException("Ukuran layer " + i + " tidak menyambung");
+            }
+        }
+        if (layers[layers.length - 1].getOutSize() != labels.length) {
+            throw new IllegalArgumentException("Jumlah label tidak sesuai output layer");
+        }
+        for (FeatureScaler scaler : scalers) {
+            if (!FEATURES.contains(scaler.getFeature())) {
+                throw new IllegalArgumentException("Fitur tidak dikenal: " + scaler.getFeature());
+            }
+        }
+        this.modelVersion = modelVersion;
+        this.scalers = scalers;
+        this.labels = labels;
+        this.layers = layers;
+    }
+
+    public static ModelBundle load(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(in);
+        }
+    }
+
+    public static ModelBundle read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Bukan file model LearnTic (magic tidak cocok)");
+        }
+        int formatVersion = in.readInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Versi format model " + formatVersion + " tidak didukung");
+        }
+        String modelVersion = in.readUTF();
+
+        FeatureScaler[] scalers = new FeatureScaler[in.readInt()];
+        for (int i = 0; i < scalers.length; i++) {
+            String feature = in.readUTF();
+            FeatureScaler.Type type = FeatureScaler.Type.values()[in.readByte()];
+            double[] params = new double[in.readInt()];
+            for (int p = 0; p < params.length; p++) {
+                params[p] = in.readDouble();
+            }
+            scalers[i] = new FeatureScaler(feature, type, params);
+        }
+
+        String[] labels = new String[in.readInt()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = in.readUTF();
+        }
+
+        DenseLayer[] layers = new DenseLayer[in.readInt()];
+        for (int l = 0; l < layers.length; l++) {
+            int inSize = in.readInt();
+            int outSize = in.readInt();
+            DenseLayer.Activation activation = DenseLayer.Activation.values()[in.readByte()];
+            float[] kernel = readFloats(in, inSize * outSize);
+            float[] bias = readFloats(in, outSize);
+            layers[l] = new DenseLayer(inSize, outSize, activation, kernel, bias);
+        }
+
+        return new ModelBundle(modelVersion, scalers, labels, layers);
+    }
+
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.write(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(modelVersion);
+
+        out.writeInt(scalers.length);
+        for (FeatureScaler scaler : scalers) {
+            out.writeUTF(scaler.getFeature());
+            out.writeByte(scaler.getType().ordinal());
+            out.writeInt(scaler.getParams().length);
+            for (double param : scaler.getParams()) {
+                out.writeDouble(param);
+            }
+        }
+
+        out.writeInt(labels.length);
+        for (String label : labels) {
+            out.writeUTF(label);
+        }
+
+        out.writeInt(layers.length);
+        for (DenseLayer layer : layers) {
+            out.writeInt(layer.getInSize());
+            out.writeInt(layer.getOutSize());
+            out.writeByte(layer.getActivation().ordinal());
+            for (float w : layer.getKernel()) {
+                out.writeFloat(w);
+            }
+            for (float b : layer.getBias()) {
+                out.writeFloat(b);
+            }
+        }
+        out.flush();
+    }
+
+    private static float[] readFloats(DataInputStream in, int count) throws IOException {
+        float[] values = new float[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readFloat();
+        }
+        return values;
+    }
+}
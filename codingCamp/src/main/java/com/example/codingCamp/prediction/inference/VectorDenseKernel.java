@@ -0,0 +1,39 @@
+package com.example.codingCamp.prediction.inference;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Versi SIMD dari {@link DenseKernel} memakai Vector API. Hanya di-load lewat
+ * refleksi jika modul jdk.incubator.vector tersedia saat runtime.
+ */
+class VectorDenseKernel implements DenseKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public void apply(float[] input, DenseLayer layer, float[] output) {
+        int inSize = layer.getInSize();
+        int outSize = layer.getOutSize();
+        float[] kernel = layer.getKernel();
+        float[] bias = layer.getBias();
+
+        int upper = SPECIES.loopBound(outSize);
+        int j = 0;
+        for (; j < upper; j += SPECIES.length()) {
+            FloatVector acc = FloatVector.fromArray(SPECIES, bias, j);
+            for (int i = 0; i < inSize; i++) {
+                FloatVector w = FloatVector.fromArray(SPECIES, kernel, i * outSize + j);
+                acc = w.fma(FloatVector.broadcast(SPECIES, input[i]), acc);
+            }
+            acc.intoArray(output, j);
+        }
+        for (; j < outSize; j++) {
+            float acc = bias[j];
+            for (int i = 0; i < inSize; i++) {
+                acc += input[i] * kernel[i * outSize + j];
+            }
+            output[j] = acc;
+        }
+    }
+}
@@ -6,7 +6,10 @@ import lombok.*;
 import java.util.Date;
 
 @Entity
-@Table(name = "prediction")
+@Table(name = "prediction", indexes = {
+        // Detail digest notifikasi guru: semua prediksi dari satu batch
+        @Index(name = "idx_prediction_batch_run", columnList = "batch_run_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +18,10 @@ import java.util.Date;
 public class Prediction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence (bukan IDENTITY) supaya Hibernate bisa mengirim INSERT dalam JDBC batch;
+    // allocationSize = hibernate.jdbc.batch_size, satu nextval per 50 baris
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "prediction_seq")
+    @SequenceGenerator(name = "prediction_seq", sequenceName = "prediction_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "siswa_id", nullable = false)
@@ -39,6 +45,10 @@ public class Prediction {
     @Column(name = "status_prediksi")
     private String statusPrediksi;
 
+    // Null untuk prediksi individual
+    @Column(name = "batch_run_id", length = 36)
+    private String batchRunId;
+
     @Temporal(TemporalType.DATE)
     @Column(name = "created_at")
     private Date createdAt;
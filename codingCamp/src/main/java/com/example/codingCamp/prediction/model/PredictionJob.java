@@ -0,0 +1,82 @@
+package com.example.codingCamp.prediction.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Satu run prediksi batch. Hasilnya (id Prediction) disimpan supaya bisa
+ * diambil lagi tanpa menghitung ulang.
+ */
+@Entity
+@Table(name = "prediction_job")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PredictionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PredictionJobStatus status;
+
+    private Boolean incremental;
+
+    // Key advisory lock yang dipegang instance pemilik selama job aktif (lihat PredictionJobLock)
+    @Column(name = "lock_key")
+    private Integer lockKey;
+
+    @Column(name = "requested_by")
+    private Long requestedBy;
+
+    @Column(name = "expected_count")
+    private Integer expectedCount;
+
+    @Column(name = "succeeded_count")
+    private Integer succeededCount;
+
+    @Column(name = "failed_count")
+    private Integer failedCount;
+
+    @Column(name = "skipped_count")
+    private Integer skippedCount;
+
+    @Column(name = "notification_recipients")
+    private Integer notificationRecipients;
+
+    @Column(name = "notifications_written")
+    private Integer notificationsWritten;
+
+    @Column(name = "notifications_refreshed")
+    private Integer notificationsRefreshed;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_at")
+    private Date createdAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "started_at")
+    private Date startedAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "finished_at")
+    private Date finishedAt;
+
+    @ElementCollection
+    @CollectionTable(name = "prediction_job_result", joinColumns = @JoinColumn(name = "job_id"))
+    @OrderColumn(name = "position")
+    @Column(name = "prediction_id")
+    @Builder.Default
+    private List<Long> predictionIds = new ArrayList<>();
+}
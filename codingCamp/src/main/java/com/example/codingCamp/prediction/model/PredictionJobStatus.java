@@ -0,0 +1,12 @@
+package com.example.codingCamp.prediction.model;
+
+public enum PredictionJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED;
+
+    public boolean isActive() {
+        return this == QUEUED || this == RUNNING;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.codingCamp.prediction.model;
+
+public enum PredictionStatus {
+    SIGNIFICANT_INCREASE("Significant Increase Performance"),
+    STABLE("Stable Performance"),
+    SIGNIFICANT_DECREASE("Significant Decrease Performance");
+
+    private final String displayName;
+
+    PredictionStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public static PredictionStatus fromString(String text) {
+        for (PredictionStatus status : PredictionStatus.values()) {
+            if (status.displayName.equalsIgnoreCase(text)) {
+                return status;
+            }
+        }
+        return STABLE; // Default value if not matched
+    }
+}
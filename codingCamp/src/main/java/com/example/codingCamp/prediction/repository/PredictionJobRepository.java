@@ -0,0 +1,17 @@
+package com.example.codingCamp.prediction.repository;
+
+import com.example.codingCamp.prediction.model.PredictionJob;
+import com.example.codingCamp.prediction.model.PredictionJobStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PredictionJobRepository extends JpaRepository<PredictionJob, Long> {
+    List<PredictionJob> findByStatusIn(Collection<PredictionJobStatus> statuses);
+
+    @EntityGraph(attributePaths = "predictionIds")
+    Optional<PredictionJob> findWithPredictionIdsById(Long id);
+}
@@ -2,8 +2,11 @@ package com.example.codingCamp.prediction.repository;
 
 import com.example.codingCamp.prediction.model.Prediction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Sort;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +19,20 @@ public interface PredictionRepository extends JpaRepository<Prediction, Long> {
 
     List<Prediction> findBySiswaIdInAndDeletedAtIsNull(List<Long> siswaIds, Sort sort);
 
+    List<Prediction> findByBatchRunIdAndDeletedAtIsNull(String batchRunId, Sort sort);
+
+    List<Prediction> findByBatchRunIdAndStatusPrediksiAndDeletedAtIsNull(String batchRunId, String status, Sort sort);
+
+    // Cakupan guru: siswa di kelas yang diampu, plus siswa yang belum punya kelas (NULL atau kosong,
+    // sama seperti fan-out notifikasi di TeacherAssignments)
+    @Query("SELECT p FROM Prediction p WHERE p.deletedAt IS NULL AND p.siswaId IN "
+            + "(SELECT s.id FROM Student s WHERE s.kelas IN :kelas OR s.kelas IS NULL OR TRIM(s.kelas) = '')")
+    List<Prediction> findAllInKelas(@Param("kelas") Collection<String> kelas, Sort sort);
+
+    @Query("SELECT p FROM Prediction p WHERE p.deletedAt IS NULL AND p.batchRunId = :batchRunId "
+            + "AND (:status IS NULL OR p.statusPrediksi = :status) AND p.siswaId IN "
+            + "(SELECT s.id FROM Student s WHERE s.kelas IN :kelas OR s.kelas IS NULL OR TRIM(s.kelas) = '')")
+    List<Prediction> findByBatchRunInKelas(@Param("batchRunId") String batchRunId, @Param("status") String status,
+            @Param("kelas") Collection<String> kelas, Sort sort);
+
 }
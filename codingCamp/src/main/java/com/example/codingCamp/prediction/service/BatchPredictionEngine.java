@@ -0,0 +1,196 @@
+package com.example.codingCamp.prediction.service;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Menjalankan pemanggilan layanan prediksi secara paralel di atas virtual
+ * thread dengan jumlah request in-flight yang dibatasi.
+ *
+ * Task (misalnya call ke Flask) berjalan di virtual thread, sedangkan callback
+ * hasil selalu dijalankan di thread pemanggil sehingga penyimpanan ke database
+ * tetap satu thread seperti loop lama.
+ */
+@Slf4j
+@Component
+public class BatchPredictionEngine {
+
+    public enum PacingPolicy {
+        // Tanpa jeda, hanya dibatasi parallelism
+        NONE,
+        // Setiap slot berhenti sejenak (batch.processing.delay) setelah satu call
+        FIXED_DELAY,
+        // Batas global jumlah call yang dimulai per detik
+        RATE_LIMIT
+    }
+
+    public interface BatchCallback<T, R> {
+        void onSuccess(T item, R result) throws Exception;
+
+        void onFailure(T item, Exception error);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BatchStats {
+        private final int successCount;
+        private final int failCount;
+        private final long elapsedMs;
+
+        public double getThroughputPerSecond() {
+            int total = successCount + failCount;
+            return elapsedMs == 0 ? total : total * 1000.0 / elapsedMs;
+        }
+    }
+
+    private final int parallelism;
+    private final PacingPolicy pacing;
+    private final long delayMs;
+    private final double ratePerSecond;
+
+    public BatchPredictionEngine(
+            @Value("${batch.processing.parallelism:8}") int parallelism,
+            @Value("${batch.processing.pacing:FIXED_DELAY}") PacingPolicy pacing,
+            @Value("${batch.processing.delay:100}") long delayMs,
+            @Value("${batch.processing.rate-per-second:20}") double ratePerSecond) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("batch.processing.parallelism harus >= 1");
+        }
+        if (pacing == PacingPolicy.RATE_LIMIT && ratePerSecond <= 0) {
+            throw new IllegalArgumentException("batch.processing.rate-per-second harus > 0 untuk RATE_LIMIT");
+        }
+        this.parallelism = parallelism;
+        this.pacing = pacing;
+        this.delayMs = Math.max(0, delayMs);
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public <T, R> BatchStats run(Iterator<T> items, Function<T, R> task, BatchCallback<T, R> callback) {
+        long start = System.nanoTime();
+        long intervalNanos = pacing == PacingPolicy.RATE_LIMIT
+                ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond)
+                : 0L;
+        long nextStart = start;
+        int successCount = 0;
+        int failCount = 0;
+        int inFlight = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<Outcome<T, R>> completionService = new ExecutorCompletionService<>(executor);
+            try {
+                while (items.hasNext()) {
+                    T item = items.next();
+
+                    if (inFlight == parallelism) {
+                        if (handle(completionService.take(), callback)) {
+                            successCount++;
+                        } else {
+                            failCount++;
+                        }
+                        inFlight--;
+                    }
+
+                    if (intervalNanos > 0) {
+                        long wait = nextStart - System.nanoTime();
+                        if (wait > 0) {
+                            TimeUnit.NANOSECONDS.sleep(wait);
+                        }
+                        nextStart = Math.max(nextStart, System.nanoTime()) + intervalNanos;
+                    }
+
+                    completionService.submit(() -> execute(item, task));
+                    inFlight++;
+                }
+
+                while (inFlight > 0) {
+                    if (handle(completionService.take(), callback)) {
+                        successCount++;
+                    } else {
+                        failCount++;
+                    }
+                    inFlight--;
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Batch prediction dibatalkan", e);
+            }
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new BatchStats(successCount, failCount, elapsedMs);
+    }
+
+    private <T, R> Outcome<T, R> execute(T item, Function<T, R> task) {
+        Outcome<T, R> outcome;
+        try {
+            outcome = new Outcome<>(item, task.apply(item), null);
+        } catch (Exception e) {
+            outcome = new Outcome<>(item, null, e);
+        }
+
+        if (pacing == PacingPolicy.FIXED_DELAY && delayMs > 0) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return outcome;
+    }
+
+    private <T, R> boolean handle(Future<Outcome<T, R>> future, BatchCallback<T, R> callback)
+            throws InterruptedException {
+        Outcome<T, R> outcome;
+        try {
+            outcome = future.get();
+        } catch (ExecutionException e) {
+            // execute() menangkap semua exception dari task
+            log.error("Batch task terhenti: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return false;
+        }
+
+        if (outcome.error != null) {
+            callback.onFailure(outcome.item, outcome.error);
+            return false;
+        }
+
+        try {
+            callback.onSuccess(outcome.item, outcome.result);
+            return true;
+        } catch (Exception e) {
+            callback.onFailure(outcome.item, e);
+            return false;
+        }
+    }
+
+    private static class Outcome<T, R> {
+        private final T item;
+        private final R result;
+        private final Exception error;
+
+        Outcome(T item, R result, Exception error) {
+            this.item = item;
+            this.result = result;
+            this.error = error;
+        }
+    }
+}
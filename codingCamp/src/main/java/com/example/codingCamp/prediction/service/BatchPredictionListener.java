@@ -0,0 +1,20 @@
+package com.example.codingCamp.prediction.service;
+
+import com.example.codingCamp.prediction.dto.response.PredictionResponseDTO;
+
+/**
+ * Menerima progres predictBatch per siswa. Dipanggil dari thread yang
+ * menjalankan batch, segera setelah hasil satu siswa tersimpan.
+ */
+public interface BatchPredictionListener {
+
+    // Perkiraan jumlah siswa yang akan diproses (batas atas untuk mode incremental)
+    default void onStart(int expectedCount) {
+    }
+
+    default void onSuccess(PredictionResponseDTO result) {
+    }
+
+    default void onFailure(Long siswaId, String error) {
+    }
+}
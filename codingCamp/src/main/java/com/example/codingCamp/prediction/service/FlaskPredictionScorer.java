@@ -0,0 +1,150 @@
+package com.example.codingCamp.prediction.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import com.example.codingCamp.prediction.client.CircuitBreaker;
+import com.example.codingCamp.prediction.client.FlaskBatchPredictionClient;
+import com.example.codingCamp.prediction.client.PredictionHttpClient;
+import com.example.codingCamp.prediction.model.PredictionStatus;
+import com.example.codingCamp.student.model.StudentPerformance;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prediksi lewat layanan Flask (default, prediction.scorer=flask).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "prediction.scorer", havingValue = "flask", matchIfMissing = true)
+public class FlaskPredictionScorer implements PredictionScorer {
+
+    private final PredictionHttpClient predictionHttpClient;
+    private final FlaskBatchPredictionClient flaskBatchPredictionClient;
+
+    // Update the URL to include the correct endpoint
+    @Value("${flask.api.url:https://learntic-production.up.railway.app/predict}")
+    private String flaskApiUrl;
+
+    // Batch memakai /predict_batch (micro-batch), bukan satu call per siswa
+    @Value("${flask.api.batch.enabled:true}")
+    private boolean flaskBatchEnabled;
+
+    @Override
+    public PredictionStatus score(StudentPerformance performance) {
+        try {
+            log.info("Calling Flask API at: {}", flaskApiUrl);
+
+            // Prepare payload dengan validasi tambahan
+            Map<String, Object> payload = new HashMap<>();
+
+            // Pastikan persentaseTugas dalam rentang 0-100
+            Integer persentaseTugas = performance.getPersentaseTugas();
+            if (persentaseTugas < 0 || persentaseTugas > 100) {
+                throw new RuntimeException("Persentase tugas harus dalam rentang 0-100, nilai: " + persentaseTugas);
+            }
+
+            payload.put("Persentase Tugas", persentaseTugas);
+            payload.put("Jumlah Ketidakhadiran", performance.getJumlahKetidakhadiran());
+            payload.put("Rata-rata", performance.getNilaiAkhirRataRata());
+
+            log.info("Sending payload: {}", payload);
+
+            // Set headers
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+
+            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
+
+            // Make API call
+            ResponseEntity<Map> response = predictionHttpClient.postForEntity(
+                    flaskApiUrl,
+                    entity,
+                    Map.class);
+
+            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+                Map<String, Object> responseBody = response.getBody();
+
+                // Cek apakah ada error dari Flask API
+                if (responseBody.containsKey("error")) {
+                    String errorMsg = responseBody.get("error").toString();
+                    log.warn("Flask API returned error: {}, using fallback prediction", errorMsg);
+                    return PredictionScorer.fallbackPrediction(performance);
+
+                }
+
+                // Cek apakah ada prediction
+                Object predictionObj = responseBody.getOrDefault("prediction", responseBody.get("predicted_label"));
+                if (predictionObj != null) {
+                    String apiResult = predictionObj.toString();
+                    log.info("API Response successful: {}", apiResult);
+                    return PredictionStatus.fromString(apiResult);
+                } else {
+                    log.warn("API response missing prediction field: {}", responseBody);
+                    log.warn("Available response keys: {}", responseBody.keySet());
+                    return PredictionScorer.fallbackPrediction(performance);
+                }
+
+            } else {
+                log.error("API returned unsuccessful response: {} - {}",
+                        response.getStatusCode(), response.getBody());
+                throw new RuntimeException("API returned " + response.getStatusCode());
+            }
+
+        } catch (CircuitBreaker.OpenException e) {
+            // Layanan sedang mati: jangan tunggu timeout, langsung pakai aturan cadangan
+            log.warn("{}, using fallback prediction", e.getMessage());
+            return PredictionScorer.fallbackPrediction(performance);
+        } catch (RestClientException e) {
+            log.error("REST Client Exception: {}", e.getMessage());
+
+            if (e.getMessage().contains("404")) {
+                throw new RuntimeException(
+                        "Flask prediction service endpoint not found. Please check the URL configuration.");
+            } else if (e.getMessage().contains("Connection refused") || e.getMessage().contains("timeout")) {
+                throw new RuntimeException("Cannot connect to Flask prediction service. Service may be down.");
+            }
+
+            throw new RuntimeException("Prediction service unavailable: " + e.getMessage());
+        } catch (RuntimeException e) {
+            // Re-throw runtime exceptions (including our custom ones)
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error calling Flask API: {}", e.getMessage());
+            throw new RuntimeException("Prediction service error: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public PredictionStatus scoreInBatch(StudentPerformance performance) {
+        if (!flaskBatchEnabled) {
+            return score(performance);
+        }
+        FlaskBatchPredictionClient.Result result;
+        try {
+            result = flaskBatchPredictionClient.predict(performance);
+        } catch (CircuitBreaker.OpenException e) {
+            log.warn("{}, using fallback prediction", e.getMessage());
+            return PredictionScorer.fallbackPrediction(performance);
+        }
+        if (result.getError() != null) {
+            log.warn("Flask batch API returned error: {}, using fallback prediction", result.getError());
+            return PredictionScorer.fallbackPrediction(performance);
+        }
+        return PredictionStatus.fromString(result.getPredictedLabel());
+    }
+}
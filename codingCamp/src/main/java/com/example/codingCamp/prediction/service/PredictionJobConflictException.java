@@ -0,0 +1,30 @@
+package com.example.codingCamp.prediction.service;
+
+// Job dengan mode lain, atau job di instance lain, sedang berjalan; request tidak boleh bergabung ke job tersebut
+public class PredictionJobConflictException extends RuntimeException {
+
+    private final Long runningJobId;
+    private final boolean runningIncremental;
+
+    public PredictionJobConflictException(Long runningJobId, boolean runningIncremental) {
+        super(String.format("Job prediksi batch %d (mode %s) sedang berjalan, coba lagi setelah job selesai",
+                runningJobId, runningIncremental ? "incremental" : "penuh"));
+        this.runningJobId = runningJobId;
+        this.runningIncremental = runningIncremental;
+    }
+
+    // Instance lain baru saja mengambil lock batch dan barisnya belum terlihat
+    public PredictionJobConflictException() {
+        super("Job prediksi batch sedang dimulai di instance lain, coba lagi setelah job selesai");
+        this.runningJobId = null;
+        this.runningIncremental = false;
+    }
+
+    public Long getRunningJobId() {
+        return runningJobId;
+    }
+
+    public boolean isRunningIncremental() {
+        return runningIncremental;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.codingCamp.prediction.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.sql.DataSource;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Advisory lock Postgres untuk job prediksi batch antar instance. Lock
+ * dipegang di connection tersendiri selama job berjalan dan ikut lepas saat
+ * session-nya putus, jadi job RUNNING yang lock-nya bebas pasti sudah mati.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PredictionJobLock {
+
+    // Single-flight: hanya satu instance yang boleh menjalankan batch
+    private static final long BATCH_LOCK_KEY = 7_310_018L;
+    // Lock per job memakai bentuk dua key int; key kedua = PredictionJob.lockKey
+    private static final int JOB_LOCK_CLASS = 7_310_019;
+    private static final int CLAIM_ATTEMPTS = 5;
+
+    private final DataSource dataSource;
+
+    // Lock batch dan lock job yang sedang dipegang; close() melepas keduanya
+    public interface Lease extends AutoCloseable {
+        int getJobKey();
+
+        @Override
+        void close();
+    }
+
+    /**
+     * Mengambil lock batch beserta lock job baru. null jika instance lain
+     * sedang menjalankan batch.
+     */
+    public Lease tryClaim() {
+        Connection connection = connect();
+        try {
+            if (!tryLock(connection, BATCH_LOCK_KEY)) {
+                connection.close();
+                return null;
+            }
+            for (int i = 0; i < CLAIM_ATTEMPTS; i++) {
+                int jobKey = ThreadLocalRandom.current().nextInt(1, Integer.MAX_VALUE);
+                if (tryLock(connection, JOB_LOCK_CLASS, jobKey)) {
+                    return new ConnectionLease(connection, jobKey);
+                }
+            }
+            new ConnectionLease(connection, 0).close();
+            throw new IllegalStateException("Gagal mengambil lock job prediksi");
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw new IllegalStateException("Gagal mengambil lock job prediksi: " + e.getMessage(), e);
+        }
+    }
+
+    // true selama session pemilik job masih memegang lock-nya
+    public boolean isAlive(int jobKey) {
+        try (Connection connection = connect()) {
+            if (!tryLock(connection, JOB_LOCK_CLASS, jobKey)) {
+                return true;
+            }
+            query(connection, "SELECT pg_advisory_unlock(?, ?)", JOB_LOCK_CLASS, jobKey);
+            return false;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Gagal memeriksa lock job prediksi: " + e.getMessage(), e);
+        }
+    }
+
+    private Connection connect() {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Gagal membuka koneksi untuk lock job prediksi: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean tryLock(Connection connection, long key) throws SQLException {
+        return query(connection, "SELECT pg_try_advisory_lock(?)", key);
+    }
+
+    private static boolean tryLock(Connection connection, int keyClass, int key) throws SQLException {
+        return query(connection, "SELECT pg_try_advisory_lock(?, ?)", keyClass, key);
+    }
+
+    private static boolean query(Connection connection, String sql, Object... args) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Closing prediction job lock connection failed: {}", e.getMessage());
+        }
+    }
+
+    private static final class ConnectionLease implements Lease {
+        private final Connection connection;
+        private final int jobKey;
+
+        private ConnectionLease(Connection connection, int jobKey) {
+            this.connection = connection;
+            this.jobKey = jobKey;
+        }
+
+        @Override
+        public int getJobKey() {
+            return jobKey;
+        }
+
+        @Override
+        public void close() {
+            try {
+                // Connection kembali ke pool; lock session tidak boleh ikut terbawa
+                try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock_all()")) {
+                    statement.execute();
+                }
+            } catch (SQLException e) {
+                log.warn("Releasing prediction job lock failed: {}", e.getMessage());
+            } finally {
+                closeQuietly(connection);
+            }
+        }
+    }
+}
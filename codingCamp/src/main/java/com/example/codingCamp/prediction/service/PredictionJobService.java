@@ -0,0 +1,25 @@
+package com.example.codingCamp.prediction.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.example.codingCamp.prediction.dto.response.PredictionJobResponseDTO;
+import com.example.codingCamp.prediction.dto.response.PredictionResponseDTO;
+
+public interface PredictionJobService {
+    // incremental null = batch.processing.incremental; bergabung ke job aktif jika modenya sama,
+    // mode berbeda -> PredictionJobConflictException
+    PredictionJobResponseDTO submit(Boolean incremental);
+    // Versi blocking untuk GET /api/prediction/batch
+    PredictionJobResponseDTO submitAndWait(Boolean incremental);
+    // Versi streaming: subscriber menerima setiap hasil begitu tersimpan. Bila
+    // bergabung ke job yang sudah berjalan, hasil sebelum subscribe tidak dikirim ulang.
+    Subscription subscribe(Boolean incremental, BatchPredictionListener subscriber);
+    PredictionJobResponseDTO getJob(Long jobId);
+    List<PredictionResponseDTO> getJobResults(Long jobId);
+
+    // completion selesai bersama job; cancel melepas subscriber tanpa menghentikan job
+    record Subscription(PredictionJobResponseDTO job, CompletableFuture<PredictionJobResponseDTO> completion,
+            Runnable cancel) {
+    }
+}
@@ -0,0 +1,337 @@
+package com.example.codingCamp.prediction.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.codingCamp.auth.service.AuthService;
+import com.example.codingCamp.prediction.dto.response.BatchPredictionSummaryDTO;
+import com.example.codingCamp.prediction.dto.response.PredictionJobResponseDTO;
+import com.example.codingCamp.prediction.dto.response.PredictionResponseDTO;
+import com.example.codingCamp.prediction.model.PredictionJob;
+import com.example.codingCamp.prediction.model.PredictionJobStatus;
+import com.example.codingCamp.prediction.repository.PredictionJobRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Menjalankan predictBatch sebagai job di background. Hanya ada satu job
+ * aktif; submit kedua dengan mode yang sama selama job berjalan bergabung ke
+ * job tersebut, mode berbeda ditolak dengan {@link PredictionJobConflictException}.
+ * Antar instance job diklaim lewat {@link PredictionJobLock}; selama instance
+ * lain memegangnya submit juga ditolak (progres dipantau lewat GET job).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PredictionJobServiceImpl implements PredictionJobService {
+
+    private final PredictionService predictionService;
+    private final PredictionJobRepository predictionJobRepository;
+    private final AuthService authService;
+    private final PredictionJobLock predictionJobLock;
+
+    @Value("${batch.processing.incremental:false}")
+    private boolean incrementalByDefault;
+
+    // Satu thread: job dijalankan satu per satu
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(
+            r -> Thread.ofPlatform().name("prediction-batch-job").daemon(true).unstarted(r));
+
+    // Progres job aktif; job yang sudah selesai dibaca dari database
+    private volatile RunningJob active;
+
+    private static class RunningJob implements BatchPredictionListener {
+        private final PredictionJob job;
+        private final PredictionJobLock.Lease lease;
+        private final List<BatchPredictionListener> subscribers = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<PredictionJob> done = new CompletableFuture<>();
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final List<Long> predictionIds = new ArrayList<>();
+        private volatile int expected;
+        private volatile long startNanos;
+
+        RunningJob(PredictionJob job, PredictionJobLock.Lease lease) {
+            this.job = job;
+            this.lease = lease;
+        }
+
+        @Override
+        public void onStart(int expectedCount) {
+            expected = expectedCount;
+            startNanos = System.nanoTime();
+            publish(subscriber -> subscriber.onStart(expectedCount));
+        }
+
+        @Override
+        public void onSuccess(PredictionResponseDTO result) {
+            predictionIds.add(result.getPredictionId());
+            succeeded.incrementAndGet();
+            publish(subscriber -> subscriber.onSuccess(result));
+        }
+
+        @Override
+        public void onFailure(Long siswaId, String error) {
+            failed.incrementAndGet();
+            publish(subscriber -> subscriber.onFailure(siswaId, error));
+        }
+
+        // Subscriber yang gagal (mis. koneksi client putus / antreannya penuh) dilepas, batch tetap jalan
+        private void publish(Consumer<BatchPredictionListener> event) {
+            for (BatchPredictionListener subscriber : subscribers) {
+                try {
+                    event.accept(subscriber);
+                } catch (RuntimeException e) {
+                    log.debug("Dropping batch prediction subscriber of job {}: {}", job.getId(), e.getMessage());
+                    subscribers.remove(subscriber);
+                }
+            }
+        }
+    }
+
+    private record Submission(RunningJob running, boolean joined) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void failOrphanedJobs() {
+        // Hanya job yang lock-nya sudah lepas (instance pemiliknya mati); job instance lain dibiarkan
+        List<PredictionJob> orphaned = activeJobs().stream()
+                .filter(job -> job.getLockKey() == null || !predictionJobLock.isAlive(job.getLockKey()))
+                .toList();
+        for (PredictionJob job : orphaned) {
+            job.setStatus(PredictionJobStatus.FAILED);
+            job.setErrorMessage("Job terhenti karena instance yang menjalankannya berhenti");
+            job.setFinishedAt(new Date());
+        }
+        if (!orphaned.isEmpty()) {
+            predictionJobRepository.saveAll(orphaned);
+            log.warn("Marked {} orphaned prediction job(s) as FAILED", orphaned.size());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+    }
+
+    @Override
+    public PredictionJobResponseDTO submit(Boolean incremental) {
+        Submission submission = submitOrJoin(incremental, null);
+        return toResponse(submission.running(), submission.joined());
+    }
+
+    @Override
+    public PredictionJobResponseDTO submitAndWait(Boolean incremental) {
+        Submission submission = submitOrJoin(incremental, null);
+        return toResponse(submission.running().done.join(), submission.joined());
+    }
+
+    @Override
+    public Subscription subscribe(Boolean incremental, BatchPredictionListener subscriber) {
+        Submission submission = submitOrJoin(incremental, subscriber);
+        RunningJob running = submission.running();
+        boolean joined = submission.joined();
+        return new Subscription(
+                toResponse(running, joined),
+                running.done.thenApply(job -> toResponse(job, joined)),
+                () -> running.subscribers.remove(subscriber));
+    }
+
+    @Override
+    public PredictionJobResponseDTO getJob(Long jobId) {
+        RunningJob running = active;
+        if (running != null && running.job.getId().equals(jobId)) {
+            return toResponse(running, false);
+        }
+        return toResponse(findJob(jobId), false);
+    }
+
+    @Override
+    public List<PredictionResponseDTO> getJobResults(Long jobId) {
+        RunningJob running = active;
+        if (running != null && running.job.getId().equals(jobId)) {
+            throw new RuntimeException("Job " + jobId + " masih berjalan");
+        }
+        PredictionJob job = predictionJobRepository.findWithPredictionIdsById(jobId)
+                .orElseThrow(() -> new RuntimeException("Job prediksi dengan ID " + jobId + " tidak ditemukan"));
+        if (job.getPredictionIds().isEmpty()) {
+            return Collections.emptyList();
+        }
+        return predictionService.getPredictionsByIds(job.getPredictionIds());
+    }
+
+    private synchronized Submission submitOrJoin(Boolean incremental, BatchPredictionListener subscriber) {
+        boolean mode = incremental != null ? incremental : incrementalByDefault;
+        RunningJob running = active;
+        if (running != null) {
+            // Mode lain = hasil lain (penuh vs hanya yang berubah); jangan diam-diam bergabung
+            if (running.job.getIncremental() != mode) {
+                throw new PredictionJobConflictException(running.job.getId(), running.job.getIncremental());
+            }
+            if (subscriber != null) {
+                running.subscribers.add(subscriber);
+            }
+            log.info("Batch prediction job {} already running, joining it", running.job.getId());
+            return new Submission(running, true);
+        }
+
+        PredictionJobLock.Lease lease = predictionJobLock.tryClaim();
+        if (lease == null) {
+            throw remoteConflict();
+        }
+        PredictionJob job;
+        try {
+            // Lock batch dipegang: baris aktif yang tersisa milik instance yang sudah mati
+            failOrphanedJobs();
+            job = predictionJobRepository.save(PredictionJob.builder()
+                    .status(PredictionJobStatus.QUEUED)
+                    .incremental(mode)
+                    .lockKey(lease.getJobKey())
+                    .requestedBy(authService.getCurrentUserId())
+                    .createdAt(new Date())
+                    .build());
+        } catch (RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+        RunningJob submitted = new RunningJob(job, lease);
+        // Didaftarkan sebelum job mulai supaya tidak ada hasil yang terlewat
+        if (subscriber != null) {
+            submitted.subscribers.add(subscriber);
+        }
+        active = submitted;
+        runner.execute(() -> run(submitted));
+        log.info("Batch prediction job {} submitted", job.getId());
+        return new Submission(submitted, false);
+    }
+
+    private PredictionJobConflictException remoteConflict() {
+        return activeJobs().stream()
+                .filter(job -> job.getLockKey() != null && predictionJobLock.isAlive(job.getLockKey()))
+                .findFirst()
+                .map(job -> new PredictionJobConflictException(job.getId(), job.getIncremental()))
+                .orElseGet(PredictionJobConflictException::new);
+    }
+
+    private List<PredictionJob> activeJobs() {
+        return predictionJobRepository
+                .findByStatusIn(List.of(PredictionJobStatus.QUEUED, PredictionJobStatus.RUNNING));
+    }
+
+    private void run(RunningJob running) {
+        PredictionJob job = running.job;
+        try {
+            job.setStatus(PredictionJobStatus.RUNNING);
+            job.setStartedAt(new Date());
+            predictionJobRepository.save(job);
+
+            BatchPredictionSummaryDTO summary = predictionService.predictBatch(job.getIncremental(), running);
+            job.setStatus(PredictionJobStatus.SUCCEEDED);
+            job.setSkippedCount(summary.getSkippedCount());
+            job.setNotificationRecipients(summary.getNotificationRecipients());
+            job.setNotificationsWritten(summary.getNotificationsWritten());
+            job.setNotificationsRefreshed(summary.getNotificationsRefreshed());
+        } catch (RuntimeException e) {
+            log.error("Batch prediction job {} failed: {}", job.getId(), e.getMessage());
+            job.setStatus(PredictionJobStatus.FAILED);
+            job.setErrorMessage(e.getMessage());
+        } finally {
+            job.setExpectedCount(running.expected);
+            job.setSucceededCount(running.succeeded.get());
+            job.setFailedCount(running.failed.get());
+            job.setPredictionIds(new ArrayList<>(running.predictionIds));
+            job.setFinishedAt(new Date());
+
+            PredictionJob saved = job;
+            try {
+                saved = predictionJobRepository.save(job);
+            } catch (RuntimeException e) {
+                log.error("Failed to persist result of prediction job {}: {}", job.getId(), e.getMessage());
+            }
+            synchronized (this) {
+                active = null;
+                // Dilepas setelah hasil tersimpan, supaya instance lain tidak menganggap job ini yatim
+                running.lease.close();
+            }
+            running.done.complete(saved);
+        }
+    }
+
+    private PredictionJob findJob(Long jobId) {
+        return predictionJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Job prediksi dengan ID " + jobId + " tidak ditemukan"));
+    }
+
+    private PredictionJobResponseDTO toResponse(RunningJob running, boolean joined) {
+        PredictionJob job = running.job;
+        int succeeded = running.succeeded.get();
+        int failed = running.failed.get();
+        int processed = succeeded + failed;
+        long elapsedMs = running.startNanos == 0 ? 0 : (System.nanoTime() - running.startNanos) / 1_000_000;
+
+        Long etaSeconds = null;
+        if (processed > 0 && elapsedMs > 0) {
+            int remaining = Math.max(0, running.expected - processed);
+            etaSeconds = Math.round(remaining * (elapsedMs / (double) processed) / 1000.0);
+        }
+
+        return PredictionJobResponseDTO.builder()
+                .jobId(job.getId())
+                .status(job.getStatus().name())
+                .incremental(job.getIncremental())
+                .joined(joined)
+                .expectedCount(running.expected)
+                .processedCount(processed)
+                .succeededCount(succeeded)
+                .failedCount(failed)
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .elapsedMs(elapsedMs)
+                .etaSeconds(etaSeconds)
+                .build();
+    }
+
+    private PredictionJobResponseDTO toResponse(PredictionJob job, boolean joined) {
+        int succeeded = job.getSucceededCount() == null ? 0 : job.getSucceededCount();
+        int failed = job.getFailedCount() == null ? 0 : job.getFailedCount();
+        Long elapsedMs = job.getStartedAt() != null && job.getFinishedAt() != null
+                ? job.getFinishedAt().getTime() - job.getStartedAt().getTime()
+                : null;
+
+        return PredictionJobResponseDTO.builder()
+                .jobId(job.getId())
+                .status(job.getStatus().name())
+                .incremental(job.getIncremental())
+                .joined(joined)
+                .expectedCount(job.getExpectedCount())
+                .processedCount(succeeded + failed)
+                .succeededCount(succeeded)
+                .failedCount(failed)
+                .skippedCount(job.getSkippedCount())
+                .notificationRecipients(job.getNotificationRecipients())
+                .notificationsWritten(job.getNotificationsWritten())
+                .notificationsRefreshed(job.getNotificationsRefreshed())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .elapsedMs(elapsedMs)
+                .etaSeconds(job.getStatus().isActive() ? null : 0L)
+                .errorMessage(job.getErrorMessage())
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.codingCamp.prediction.service;
+
+import com.example.codingCamp.prediction.model.PredictionStatus;
+import com.example.codingCamp.student.model.StudentPerformance;
+
+/**
+ * Sumber hasil prediksi. Implementasi dipilih lewat property prediction.scorer.
+ */
+public interface PredictionScorer {
+
+    PredictionStatus score(StudentPerformance performance);
+
+    // Dipanggil dari worker predictBatch; implementasi boleh menggabungkan beberapa siswa
+    default PredictionStatus scoreInBatch(StudentPerformance performance) {
+        return score(performance);
+    }
+
+    // Aturan cadangan saat layanan Flask tidak bisa dipakai (circuit terbuka / error)
+    static PredictionStatus fallbackPrediction(StudentPerformance performance) {
+        int score = (int) Math.round(
+                (performance.getNilaiAkhirRataRata() * 0.5) +
+                        (performance.getPersentaseTugas() * 0.3) +
+                        (performance.getJumlahKetidakhadiran() * 0.2));
+
+        if (score >= 80)
+            return PredictionStatus.SIGNIFICANT_INCREASE;
+        if (score >= 60)
+            return PredictionStatus.STABLE;
+        return PredictionStatus.SIGNIFICANT_DECREASE;
+    }
+}
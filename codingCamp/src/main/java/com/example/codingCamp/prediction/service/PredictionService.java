@@ -2,15 +2,24 @@ package com.example.codingCamp.prediction.service;
 
 import java.util.List;
 
+import com.example.codingCamp.prediction.dto.response.BatchPredictionSummaryDTO;
 import com.example.codingCamp.prediction.dto.response.PredictionResponseDTO;
 import com.example.codingCamp.prediction.model.Prediction;
 
 public interface PredictionService {
     PredictionResponseDTO predict(Long siswaId);
-    List<PredictionResponseDTO> predictBatch();
+    BatchPredictionSummaryDTO predictBatch();
+    BatchPredictionSummaryDTO predictBatch(boolean incremental);
+    // Hasil tidak dikumpulkan di summary, hanya diteruskan ke listener
+    BatchPredictionSummaryDTO predictBatch(boolean incremental, BatchPredictionListener listener);
     List<Prediction> getPredictionsByStatus(String status);
     void deletePrediction(Long id);
     List<PredictionResponseDTO> getAllPredictions(String sortBy);
+    // Urutan hasil mengikuti urutan ids
+    List<PredictionResponseDTO> getPredictionsByIds(List<Long> ids);
+    // Semua prediksi dari satu batch (detail digest guru); status null = semua status
+    // teacherId null = tanpa pembatasan kelas
+    List<PredictionResponseDTO> getPredictionsByBatchRun(String batchRunId, String status, Long teacherId);
 
 
 }
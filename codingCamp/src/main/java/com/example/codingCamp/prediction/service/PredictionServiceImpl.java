@@ -3,31 +3,40 @@ package com.example.codingCamp.prediction.service;
 import org.springframework.data.domain.Sort;
 
 import com.example.codingCamp.auth.service.AuthService;
-import com.example.codingCamp.notification.service.NotificationService;
+import com.example.codingCamp.notification.service.NotificationFanOutService;
+import com.example.codingCamp.notification.service.PredictionNotificationFanOut;
+import com.example.codingCamp.prediction.dto.response.BatchPredictionSummaryDTO;
 import com.example.codingCamp.prediction.dto.response.PredictionResponseDTO;
 import com.example.codingCamp.prediction.model.Prediction;
+import com.example.codingCamp.prediction.model.PredictionStatus;
 import com.example.codingCamp.prediction.repository.PredictionRepository;
+import com.example.codingCamp.prediction.service.BatchPredictionEngine.BatchCallback;
+import com.example.codingCamp.prediction.service.BatchPredictionEngine.BatchStats;
 import com.example.codingCamp.profile.model.Parent;
 import com.example.codingCamp.profile.model.Student;
 import com.example.codingCamp.profile.repository.ParentRepository;
 import com.example.codingCamp.profile.repository.StudentRepository;
+import com.example.codingCamp.profile.repository.TeacherRepository;
 import com.example.codingCamp.student.model.StudentPerformance;
 import com.example.codingCamp.student.repository.StudentPerformanceRepository;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -40,41 +49,41 @@ public class PredictionServiceImpl implements PredictionService {
     @Autowired
     AuthService authService;
     
-    private enum PredictionStatus {
-        SIGNIFICANT_INCREASE("Significant Increase Performance"),
-        STABLE("Stable Performance"),
-        SIGNIFICANT_DECREASE("Significant Decrease Performance");
+    private final StudentPerformanceRepository performanceRepository;
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final PredictionRepository predictionRepository;
+    private final BatchPredictionEngine batchPredictionEngine;
+    private final PredictionScorer predictionScorer;
+    private final NotificationFanOutService notificationFanOutService;
 
-        private final String displayName;
+    private final PlatformTransactionManager transactionManager;
 
-        PredictionStatus(String displayName) {
-            this.displayName = displayName;
-        }
+    private static final int CURSOR_CLEAR_INTERVAL = 500;
+    private static final long WRITE_LINGER_NANOS = 1_000_000_000L;
 
-        public String getDisplayName() {
-            return displayName;
-        }
+    @PersistenceContext
+    private EntityManager entityManager;
 
-        public static PredictionStatus fromString(String text) {
-            for (PredictionStatus status : PredictionStatus.values()) {
-                if (status.displayName.equalsIgnoreCase(text)) {
-                    return status;
-                }
-            }
-            return STABLE; // Default value if not matched
-        }
-    }
+    private TransactionTemplate cursorTransaction;
+    private TransactionTemplate writeTransaction;
 
-    private final StudentPerformanceRepository performanceRepository;
-    private final StudentRepository studentRepository;
-    private final PredictionRepository predictionRepository;
-    private final RestTemplate restTemplate;
-    @Autowired
-    private NotificationService notificationService;
+    // Jumlah hasil yang disimpan per transaksi; samakan dengan hibernate.jdbc.batch_size
+    @Value("${batch.processing.write-chunk-size:50}")
+    private int writeChunkSize;
+
+    // Default mode GET /api/prediction/batch jika parameter incremental tidak diisi
+    @Value("${batch.processing.incremental:false}")
+    private boolean incrementalByDefault;
 
-    // Update the URL to include the correct endpoint
-    @Value("${flask.api.url:https://learntic-production.up.railway.app/predict}")
-    private String flaskApiUrl;
+    @PostConstruct
+    void initTransactions() {
+        cursorTransaction = new TransactionTemplate(transactionManager);
+        cursorTransaction.setReadOnly(true);
+        // Connection terpisah dari cursor; gagal simpan satu siswa tidak membatalkan yang lain
+        writeTransaction = new TransactionTemplate(transactionManager);
+        writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     @Override
     public PredictionResponseDTO predict(Long siswaId) {
@@ -99,101 +108,132 @@ public class PredictionServiceImpl implements PredictionService {
         validatePerformanceData(performance);
 
         // Buat prediksi
-        PredictionStatus predictionStatus = callFlaskPredictionApi(performance);
+        PredictionStatus predictionStatus = predictionScorer.score(performance);
 
         // Update status prediksi di StudentPerformance
-        performance.setStatusPrediksi(predictionStatus.getDisplayName());
-        performance.setSubmittedForPrediction(true);
+        markPredicted(performance, predictionStatus);
         performanceRepository.save(performance);
         // Simpan hasil prediksi
         Prediction prediction = buildPrediction(siswa, performance, predictionStatus);
 
         predictionRepository.save(prediction);
 
-        // // kirim notif
-        // notificationService.sendPredictionNotificationToStudent(prediction,
-        // siswa.getId());
-
-        // // Kirim notifikasi ke parent
-        // if (siswa.getOrangTua() != null) {
-        // notificationService.sendPredictionNotificationToParent(prediction,
-        // siswa.getOrangTua().getId());
-        // }
-
-        // // Kirim notifikasi ke semua guru
-        // notificationService.sendPredictionNotificationToTeachers(prediction);
-
         log.info("Prediction completed for student ID: {} with status: {}", siswaId, predictionStatus.getDisplayName());
         return toPredictionResponseDTO(prediction);
     }
 
     @Override
-    public List<PredictionResponseDTO> predictBatch() {
-        log.info("Starting batch prediction");
-
-        List<StudentPerformance> allPerformances = performanceRepository
-                .findAllByDeletedAtIsNullAndStudentIsNotNull();
-
-        if (allPerformances.isEmpty()) {
-            log.warn("No performance data found for batch prediction");
-            return new ArrayList<>();
-        }
+    public BatchPredictionSummaryDTO predictBatch() {
+        return predictBatch(incrementalByDefault);
+    }
 
+    @Override
+    public BatchPredictionSummaryDTO predictBatch(boolean incremental) {
         List<PredictionResponseDTO> results = new ArrayList<>();
-        int successCount = 0;
-        int failCount = 0;
-
-        for (StudentPerformance performance : allPerformances) {
-            try {
-                Student siswa = performance.getStudent();
-                if (siswa == null) {
-                    log.warn("Performance data found without student reference, skipping");
-                    continue;
-                }
-
-                validatePerformanceData(performance);
-                PredictionStatus predictionStatus = callFlaskPredictionApi(performance);
-
-                Prediction prediction = buildPrediction(siswa, performance, predictionStatus);
-                performance.setStatusPrediksi(predictionStatus.getDisplayName());
-                performance.setSubmittedForPrediction(true);
-                performanceRepository.save(performance);
-                predictionRepository.save(prediction);
-                // kirim notif
-                notificationService.sendPredictionNotificationToStudent(prediction, siswa.getId());
-
-                // Kirim notifikasi ke parent
-                if (siswa.getOrangTua() != null) {
-                    notificationService.sendPredictionNotificationToParent(prediction, siswa.getOrangTua().getId());
-                }
-
-                // Kirim notifikasi ke semua guru
-                notificationService.sendPredictionNotificationToTeachers(prediction);
-
-                results.add(toPredictionResponseDTO(prediction));
-                successCount++;
-
-                // Add a small delay to avoid overwhelming the API
-                Thread.sleep(100);
-
-            } catch (Exception e) {
-                log.error("Failed to predict for student ID: {}, error: {}",
-                        performance.getStudent() != null ? performance.getStudent().getId() : "unknown",
-                        e.getMessage());
-                failCount++;
-
-                // Continue with other students instead of failing completely
-                continue;
+        BatchPredictionSummaryDTO summary = predictBatch(incremental, new BatchPredictionListener() {
+            @Override
+            public void onSuccess(PredictionResponseDTO result) {
+                results.add(result);
             }
-        }
-
-        log.info("Batch prediction completed. Success: {}, Failed: {}", successCount, failCount);
+        });
+        summary.setResults(results);
+        return summary;
+    }
 
-        if (results.isEmpty() && failCount > 0) {
+    @Override
+    public BatchPredictionSummaryDTO predictBatch(boolean incremental, BatchPredictionListener listener) {
+        log.info("Starting {} batch prediction", incremental ? "incremental" : "full");
+
+        // Satu performa terbaru per siswa, jadi satu prediksi & satu set notifikasi per siswa
+        int totalCount = (int) performanceRepository.countStudentsWithPerformance();
+        listener.onStart(incremental
+                ? (int) performanceRepository.countLatestPerStudentChangedSinceLastPrediction()
+                : totalCount);
+
+        // Penerima notifikasi (guru) di-resolve sekali untuk seluruh batch
+        ChunkWriter writer = new ChunkWriter(listener, notificationFanOutService.openPredictionFanOut());
+
+        // Cursor dibaca di transaksi read-only, hasil disimpan per chunk di transaksi sendiri
+        BatchStats stats = cursorTransaction.execute(tx -> {
+            try (Stream<StudentPerformance> latest = incremental
+                    ? performanceRepository.streamLatestPerStudentChangedSinceLastPrediction()
+                    : performanceRepository.streamLatestPerStudent()) {
+                // updatedAt bisa berubah tanpa perubahan input (mis. edit semester), cek fingerprint-nya.
+                // Yang dilewati tetap dicap lastPredictedAt supaya run berikutnya tidak membacanya lagi.
+                Iterator<StudentPerformance> toScore = latest
+                        .filter(performance -> {
+                            if (incremental && unchangedSinceLastPrediction(performance)) {
+                                writer.skip(performance);
+                                return false;
+                            }
+                            return true;
+                        })
+                        .iterator();
+
+                BatchStats scored = batchPredictionEngine.run(
+                        toScore,
+                        performance -> {
+                            validatePerformanceData(performance);
+                            return predictionScorer.scoreInBatch(performance);
+                        },
+                        new BatchCallback<StudentPerformance, PredictionStatus>() {
+                            private int handled;
+
+                            @Override
+                            public void onSuccess(StudentPerformance performance, PredictionStatus predictionStatus) {
+                                writer.add(performance, predictionStatus);
+                                releaseCursorEntities();
+                            }
+
+                            @Override
+                            public void onFailure(StudentPerformance performance, Exception e) {
+                                log.error("Failed to predict for student ID: {}, error: {}",
+                                        performance.getStudent().getId(), e.getMessage());
+                                listener.onFailure(performance.getStudent().getId(), e.getMessage());
+                                releaseCursorEntities();
+                            }
+
+                            // Persistence context cursor dikosongkan berkala supaya memori tetap datar.
+                            // Entity yang masih antre di writer ikut ter-detach, tapi field & siswanya sudah dimuat.
+                            private void releaseCursorEntities() {
+                                if (++handled % CURSOR_CLEAR_INTERVAL == 0) {
+                                    entityManager.clear();
+                                }
+                            }
+                        });
+                writer.flush();
+                return scored;
+            }
+        });
+        // Di luar transaksi cursor: menunggu notifikasi batch ini selesai ditulis dispatcher
+        writer.fanOut.finish();
+
+        // Engine menghitung sukses saat skor didapat; gagal simpan baru ketahuan di writer
+        int successCount = stats.getSuccessCount() - writer.failedCount;
+        int failCount = stats.getFailCount() + writer.failedCount;
+        int skippedCount = Math.max(0, totalCount - successCount - failCount);
+        log.info("Batch prediction completed. Success: {}, Failed: {}, Skipped: {}, elapsed: {} ms ({} /s)",
+                successCount, failCount, skippedCount, stats.getElapsedMs(),
+                String.format("%.1f", stats.getThroughputPerSecond()));
+        log.info("Batch notifications: {} recipients ({} teachers), {} rows written, {} refreshed, {} failed",
+                writer.fanOut.getRecipientCount(), writer.fanOut.getTeacherCount(), writer.fanOut.getWrittenCount(),
+                writer.fanOut.getRefreshedCount(), writer.fanOut.getFailedCount());
+
+        if (successCount == 0 && failCount > 0) {
             throw new RuntimeException("Semua prediksi gagal. Periksa koneksi ke layanan prediksi.");
         }
 
-        return results;
+        return BatchPredictionSummaryDTO.builder()
+                .incremental(incremental)
+                .totalCount(totalCount)
+                .scoredCount(successCount)
+                .skippedCount(skippedCount)
+                .failedCount(failCount)
+                .elapsedMs(stats.getElapsedMs())
+                .notificationRecipients(writer.fanOut.getRecipientCount())
+                .notificationsWritten(writer.fanOut.getWrittenCount())
+                .notificationsRefreshed(writer.fanOut.getRefreshedCount())
+                .build();
     }
 
     @Override
@@ -227,7 +267,13 @@ public class PredictionServiceImpl implements PredictionService {
             } else {
                 predictions = Collections.emptyList();
             }
-        } else if ("TEACHER".equalsIgnoreCase(role) || "ADMIN".equalsIgnoreCase(role)) {
+        } else if ("TEACHER".equalsIgnoreCase(role)) {
+            // Guru tanpa kelas yang diampu tetap melihat semua
+            List<String> kelas = teacherRepository.findKelasByTeacherId(userId);
+            predictions = kelas.isEmpty()
+                    ? predictionRepository.findAllByDeletedAtIsNull(sort)
+                    : predictionRepository.findAllInKelas(kelas, sort);
+        } else if ("ADMIN".equalsIgnoreCase(role)) {
             predictions = predictionRepository.findAllByDeletedAtIsNull(sort);
         } else {
             predictions = Collections.emptyList();
@@ -238,6 +284,32 @@ public class PredictionServiceImpl implements PredictionService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<PredictionResponseDTO> getPredictionsByIds(List<Long> ids) {
+        Map<Long, Prediction> byId = predictionRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Prediction::getId, prediction -> prediction));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::toPredictionResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<PredictionResponseDTO> getPredictionsByBatchRun(String batchRunId, String status, Long teacherId) {
+        Sort sort = Sort.by(Sort.Direction.ASC, "namaSiswa");
+        List<String> kelas = teacherId == null ? List.of() : teacherRepository.findKelasByTeacherId(teacherId);
+        List<Prediction> predictions = !kelas.isEmpty()
+                ? predictionRepository.findByBatchRunInKelas(batchRunId,
+                        status == null || status.isBlank() ? null : status, kelas, sort)
+                : status == null || status.isBlank()
+                ? predictionRepository.findByBatchRunIdAndDeletedAtIsNull(batchRunId, sort)
+                : predictionRepository.findByBatchRunIdAndStatusPrediksiAndDeletedAtIsNull(batchRunId, status, sort);
+        return predictions.stream()
+                .map(this::toPredictionResponseDTO)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Prediction> getPredictionsByStatus(String status) {
         return predictionRepository.findByStatusPrediksiAndDeletedAtIsNull(status);
@@ -252,119 +324,169 @@ public class PredictionServiceImpl implements PredictionService {
         predictionRepository.save(prediction);
     }
 
-    private void validatePerformanceData(StudentPerformance performance) {
-        if (performance.getNilaiAkhirRataRata() == null ||
-                performance.getJumlahKetidakhadiran() == null ||
-                performance.getPersentaseTugas() == null) {
-            throw new RuntimeException("Data performa tidak lengkap");
-        }
+    private record ScoredPerformance(StudentPerformance performance, PredictionStatus status) {
+    }
 
-        if (performance.getNilaiAkhirRataRata() < 0 || performance.getNilaiAkhirRataRata() > 100) {
-            throw new RuntimeException("Nilai akhir rata-rata tidak valid (harus 0-100)");
+    /**
+     * Menampung hasil skor dan menyimpannya per chunk dalam satu transaksi,
+     * supaya INSERT prediction dan UPDATE student_performance terkirim sebagai
+     * JDBC batch, bukan satu round trip per baris. Notifikasi chunk ditulis
+     * dispatcher di thread lain.
+     */
+    private class ChunkWriter {
+        private final BatchPredictionListener listener;
+        private final PredictionNotificationFanOut fanOut;
+        private final List<ScoredPerformance> pending = new ArrayList<>();
+        private final List<Long> unchanged = new ArrayList<>();
+        private long pendingSince;
+        private int failedCount;
+
+        ChunkWriter(BatchPredictionListener listener, PredictionNotificationFanOut fanOut) {
+            this.listener = listener;
+            this.fanOut = fanOut;
         }
 
-        if (performance.getJumlahKetidakhadiran() < 0) {
-            throw new RuntimeException("Jumlah Ketidakhadiran tidak valid");
+        void add(StudentPerformance performance, PredictionStatus status) {
+            if (pending.isEmpty()) {
+                pendingSince = System.nanoTime();
+            }
+            pending.add(new ScoredPerformance(performance, status));
+            // linger: saat scorer lambat hasil tetap mengalir ke listener/stream
+            if (pending.size() >= writeChunkSize || System.nanoTime() - pendingSince >= WRITE_LINGER_NANOS) {
+                flush();
+            }
         }
 
-        if (performance.getPersentaseTugas() < 0 || performance.getPersentaseTugas() > 100) {
-            throw new RuntimeException("Persentase tugas tidak valid (harus 0-100)");
+        void skip(StudentPerformance performance) {
+            unchanged.add(performance.getId());
+            if (unchanged.size() >= writeChunkSize) {
+                touchUnchanged();
+            }
         }
-    }
 
-    private PredictionStatus callFlaskPredictionApi(StudentPerformance performance) {
-        try {
-            log.info("Calling Flask API at: {}", flaskApiUrl);
-
-            // Prepare payload dengan validasi tambahan
-            Map<String, Object> payload = new HashMap<>();
-
-            // Pastikan persentaseTugas dalam rentang 0-100
-            Integer persentaseTugas = performance.getPersentaseTugas();
-            if (persentaseTugas < 0 || persentaseTugas > 100) {
-                throw new RuntimeException("Persentase tugas harus dalam rentang 0-100, nilai: " + persentaseTugas);
+        void flush() {
+            touchUnchanged();
+            if (pending.isEmpty()) {
+                return;
             }
+            List<ScoredPerformance> chunk = new ArrayList<>(pending);
+            pending.clear();
 
-            payload.put("Persentase Tugas", persentaseTugas);
-            payload.put("Jumlah Ketidakhadiran", performance.getJumlahKetidakhadiran());
-            payload.put("Rata-rata", performance.getNilaiAkhirRataRata());
-
-            log.info("Sending payload: {}", payload);
-
-            // Set headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+            List<Prediction> saved;
+            try {
+                saved = save(chunk);
+            } catch (RuntimeException e) {
+                // Satu baris bermasalah tidak boleh menggagalkan seluruh chunk
+                log.warn("Saving prediction chunk of {} failed ({}), retrying row by row", chunk.size(),
+                        e.getMessage());
+                saveOneByOne(chunk);
+                return;
+            }
+            saved.forEach(prediction -> listener.onSuccess(toPredictionResponseDTO(prediction)));
+        }
 
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
+        // Gagal di sini hanya berarti baris itu dicek ulang pada run berikutnya
+        private void touchUnchanged() {
+            if (unchanged.isEmpty()) {
+                return;
+            }
+            List<Long> ids = new ArrayList<>(unchanged);
+            unchanged.clear();
+            try {
+                writeTransaction.executeWithoutResult(
+                        w -> performanceRepository.touchPredictedInBatch(ids, new Date()));
+            } catch (RuntimeException e) {
+                log.warn("Stamping {} unchanged performances failed: {}", ids.size(), e.getMessage());
+            }
+        }
 
-            // Make API call
-            ResponseEntity<Map> response = restTemplate.postForEntity(
-                    flaskApiUrl,
-                    entity,
-                    Map.class);
+        private void saveOneByOne(List<ScoredPerformance> chunk) {
+            for (ScoredPerformance scored : chunk) {
+                Long siswaId = scored.performance().getStudent().getId();
+                try {
+                    List<Prediction> saved = save(List.of(scored));
+                    listener.onSuccess(toPredictionResponseDTO(saved.get(0)));
+                } catch (RuntimeException e) {
+                    failedCount++;
+                    log.error("Failed to save prediction for student ID: {}, error: {}", siswaId, e.getMessage());
+                    listener.onFailure(siswaId, e.getMessage());
+                }
+            }
+        }
 
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> responseBody = response.getBody();
+        // Prediksi dan update performa commit bersama; notifikasinya baru dikirim setelah commit
+        private List<Prediction> save(List<ScoredPerformance> chunk) {
+            List<Prediction> saved;
+            try {
+                saved = writeTransaction.execute(w -> saveChunk(chunk, fanOut));
+            } catch (RuntimeException e) {
+                fanOut.discard();
+                throw e;
+            }
+            fanOut.commit();
+            return saved;
+        }
+    }
 
-                // Cek apakah ada error dari Flask API
-                if (responseBody.containsKey("error")) {
-                    String errorMsg = responseBody.get("error").toString();
-                    log.warn("Flask API returned error: {}, using fallback prediction", errorMsg);
-                    return calculateFallbackPrediction(performance);
+    private List<Prediction> saveChunk(List<ScoredPerformance> chunk, PredictionNotificationFanOut fanOut) {
+        List<Prediction> predictions = new ArrayList<>(chunk.size());
+        List<StudentPerformance> performances = new ArrayList<>(chunk.size());
+        for (ScoredPerformance scored : chunk) {
+            StudentPerformance performance = scored.performance();
+            Prediction prediction = buildPrediction(performance.getStudent(), performance, scored.status());
+            prediction.setBatchRunId(fanOut.getRunId());
+            predictions.add(prediction);
+            markPredicted(performance, scored.status());
+            performances.add(performance);
+        }
+        performanceRepository.markPredictedInBatch(performances);
+        predictionRepository.saveAll(predictions);
+
+        // Notifikasi siswa, orang tua dan semua guru; dikirim fan-out setelah chunk commit
+        for (int i = 0; i < predictions.size(); i++) {
+            Student siswa = performances.get(i).getStudent();
+            Long parentId = siswa.getOrangTua() != null ? siswa.getOrangTua().getId() : null;
+            fanOut.add(predictions.get(i), siswa.getId(), parentId, siswa.getKelas());
+        }
+        return predictions;
+    }
 
-                }
+    private boolean unchangedSinceLastPrediction(StudentPerformance performance) {
+        return Boolean.TRUE.equals(performance.getSubmittedForPrediction())
+                && inputFingerprint(performance).equals(performance.getPredictionFingerprint());
+    }
 
-                // Cek apakah ada prediction
-                Object predictionObj = responseBody.getOrDefault("prediction", responseBody.get("predicted_label"));
-                if (predictionObj != null) {
-                    String apiResult = predictionObj.toString();
-                    log.info("API Response successful: {}", apiResult);
-                    return PredictionStatus.fromString(apiResult);
-                } else {
-                    log.warn("API response missing prediction field: {}", responseBody);
-                    log.warn("Available response keys: {}", responseBody.keySet());
-                    return calculateFallbackPrediction(performance);
-                }
+    private void markPredicted(StudentPerformance performance, PredictionStatus predictionStatus) {
+        performance.setStatusPrediksi(predictionStatus.getDisplayName());
+        performance.setSubmittedForPrediction(true);
+        performance.setPredictionFingerprint(inputFingerprint(performance));
+        performance.setLastPredictedAt(new Date());
+    }
 
-            } else {
-                log.error("API returned unsuccessful response: {} - {}",
-                        response.getStatusCode(), response.getBody());
-                throw new RuntimeException("API returned " + response.getStatusCode());
-            }
+    // Hanya fitur yang dikirim ke model; ganti model -> jalankan batch mode full
+    private String inputFingerprint(StudentPerformance performance) {
+        return performance.getPersentaseTugas() + "|" + performance.getJumlahKetidakhadiran() + "|"
+                + performance.getNilaiAkhirRataRata();
+    }
 
-        } catch (RestClientException e) {
-            log.error("REST Client Exception: {}", e.getMessage());
+    private void validatePerformanceData(StudentPerformance performance) {
+        if (performance.getNilaiAkhirRataRata() == null ||
+                performance.getJumlahKetidakhadiran() == null ||
+                performance.getPersentaseTugas() == null) {
+            throw new RuntimeException("Data performa tidak lengkap");
+        }
 
-            if (e.getMessage().contains("404")) {
-                throw new RuntimeException(
-                        "Flask prediction service endpoint not found. Please check the URL configuration.");
-            } else if (e.getMessage().contains("Connection refused") || e.getMessage().contains("timeout")) {
-                throw new RuntimeException("Cannot connect to Flask prediction service. Service may be down.");
-            }
+        if (performance.getNilaiAkhirRataRata() < 0 || performance.getNilaiAkhirRataRata() > 100) {
+            throw new RuntimeException("Nilai akhir rata-rata tidak valid (harus 0-100)");
+        }
 
-            throw new RuntimeException("Prediction service unavailable: " + e.getMessage());
-        } catch (RuntimeException e) {
-            // Re-throw runtime exceptions (including our custom ones)
-            throw e;
-        } catch (Exception e) {
-            log.error("Unexpected error calling Flask API: {}", e.getMessage());
-            throw new RuntimeException("Prediction service error: " + e.getMessage());
+        if (performance.getJumlahKetidakhadiran() < 0) {
+            throw new RuntimeException("Jumlah Ketidakhadiran tidak valid");
         }
-    }
 
-    private PredictionStatus calculateFallbackPrediction(StudentPerformance performance) {
-        // Simple rule-based prediction
-        int score = (int) Math.round(
-                (performance.getNilaiAkhirRataRata() * 0.5) +
-                        (performance.getPersentaseTugas() * 0.3) +
-                        (performance.getJumlahKetidakhadiran() * 0.2));
-
-        if (score >= 80)
-            return PredictionStatus.SIGNIFICANT_INCREASE;
-        if (score >= 60)
-            return PredictionStatus.STABLE;
-        return PredictionStatus.SIGNIFICANT_DECREASE;
+        if (performance.getPersentaseTugas() < 0 || performance.getPersentaseTugas() > 100) {
+            throw new RuntimeException("Persentase tugas tidak valid (harus 0-100)");
+        }
     }
 
     private Prediction buildPrediction(Student siswa, StudentPerformance performance, PredictionStatus status) {
@@ -0,0 +1,10 @@
+package com.example.codingCamp.prediction.service;
+
+import com.example.codingCamp.prediction.dto.response.PredictionTableInfoDTO;
+import com.example.codingCamp.prediction.table.PredictionTable;
+
+public interface PredictionTableService {
+    PredictionTable getTable();
+    PredictionTableInfoDTO getInfo();
+    PredictionTableInfoDTO rebuild(String source, boolean force);
+}
@@ -0,0 +1,150 @@
+package com.example.codingCamp.prediction.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.codingCamp.prediction.client.FlaskBatchPredictionClient;
+import com.example.codingCamp.prediction.dto.response.PredictionTableInfoDTO;
+import com.example.codingCamp.prediction.inference.DenseNetwork;
+import com.example.codingCamp.prediction.inference.ModelBundle;
+import com.example.codingCamp.prediction.table.PredictionTable;
+import com.example.codingCamp.prediction.table.PredictionTableBuilder;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PredictionTableServiceImpl implements PredictionTableService {
+
+    private final FlaskBatchPredictionClient flaskBatchPredictionClient;
+
+    private final AtomicReference<PredictionTable> current = new AtomicReference<>();
+
+    @Value("${prediction.table.path:../machineLearning/prediction_table.bin}")
+    private String tablePath;
+
+    @Value("${prediction.table.max-ketidakhadiran:40}")
+    private int maxKetidakhadiran;
+
+    // Kosong = terima versi apa pun; diisi untuk menolak tabel dari model lain
+    @Value("${prediction.table.model-version:}")
+    private String expectedModelVersion;
+
+    @Value("${prediction.table.flask.chunk-size:1000}")
+    private int flaskChunkSize;
+
+    @Value("${prediction.table.flask.concurrency:4}")
+    private int flaskConcurrency;
+
+    @Value("${prediction.local.model-path:../machineLearning/student_model.bin}")
+    private String modelPath;
+
+    @Value("${prediction.local.simd:true}")
+    private boolean simd;
+
+    @Override
+    public PredictionTable getTable() {
+        PredictionTable table = current.get();
+        if (table != null) {
+            return table;
+        }
+        synchronized (this) {
+            table = current.get();
+            if (table == null) {
+                table = load(Path.of(tablePath));
+                current.set(table);
+            }
+            return table;
+        }
+    }
+
+    @Override
+    public PredictionTableInfoDTO getInfo() {
+        return toInfo(getTable(), false, 0L);
+    }
+
+    @Override
+    public synchronized PredictionTableInfoDTO rebuild(String source, boolean force) {
+        long start = System.currentTimeMillis();
+        Path target = Path.of(tablePath);
+        boolean fromFlask = "flask".equalsIgnoreCase(source);
+        if (!fromFlask && !"local".equalsIgnoreCase(source)) {
+            throw new RuntimeException("Sumber tabel tidak dikenal: " + source + " (local | flask)");
+        }
+
+        try {
+            ModelBundle bundle = fromFlask ? null : ModelBundle.load(Path.of(modelPath));
+            String modelVersion = fromFlask ? flaskBatchPredictionClient.fetchModelVersion() : bundle.getModelVersion();
+
+            PredictionTable existing = current.get();
+            if (existing == null && Files.exists(target)) {
+                existing = PredictionTable.load(target);
+            }
+            if (!force && existing != null && existing.getModelVersion().equals(modelVersion)
+                    && existing.getMaxKetidakhadiran() == maxKetidakhadiran) {
+                log.info("Prediction table already built for model {}, skipping rebuild", modelVersion);
+                current.set(existing);
+                return toInfo(existing, false, System.currentTimeMillis() - start);
+            }
+
+            log.info("Building prediction table for model {} from {} (max ketidakhadiran {})",
+                    modelVersion, fromFlask ? "Flask" : modelPath, maxKetidakhadiran);
+            byte[] data = fromFlask
+                    ? PredictionTableBuilder.sweepFlask(flaskBatchPredictionClient, maxKetidakhadiran,
+                            flaskChunkSize, flaskConcurrency)
+                    : PredictionTableBuilder.sweepLocal(new DenseNetwork(bundle, DenseNetwork.selectKernel(simd)),
+                            maxKetidakhadiran);
+            PredictionTableBuilder.writeAtomically(target, modelVersion, maxKetidakhadiran, data);
+
+            // Pembaca lama tetap memakai mapping sebelumnya sampai referensi ini diganti
+            PredictionTable table = load(target);
+            current.set(table);
+            long elapsed = System.currentTimeMillis() - start;
+            log.info("Prediction table {} ({} points) swapped in after {} ms", modelVersion, table.getPoints(), elapsed);
+            return toInfo(table, true, elapsed);
+        } catch (IOException e) {
+            throw new RuntimeException("Gagal membangun tabel prediksi: " + e.getMessage(), e);
+        }
+    }
+
+    private PredictionTable load(Path path) {
+        if (!Files.exists(path)) {
+            throw new RuntimeException("Tabel prediksi belum dibangun: " + path.toAbsolutePath());
+        }
+        try {
+            PredictionTable table = PredictionTable.load(path);
+            if (!expectedModelVersion.isBlank() && !expectedModelVersion.equals(table.getModelVersion())) {
+                throw new RuntimeException("Versi model tabel " + table.getModelVersion()
+                        + " tidak sesuai prediction.table.model-version " + expectedModelVersion);
+            }
+            log.info("Prediction table {} loaded from {} ({} points)", table.getModelVersion(), path,
+                    table.getPoints());
+            return table;
+        } catch (IOException e) {
+            throw new RuntimeException("Gagal membaca tabel prediksi: " + e.getMessage(), e);
+        }
+    }
+
+    private PredictionTableInfoDTO toInfo(PredictionTable table, boolean rebuilt, long elapsedMs) {
+        return PredictionTableInfoDTO.builder()
+                .path(Path.of(tablePath).toAbsolutePath().toString())
+                .modelVersion(table.getModelVersion())
+                .builtAt(new Date(table.getBuiltAt()))
+                .maxTugas(table.getMaxTugas())
+                .maxKetidakhadiran(table.getMaxKetidakhadiran())
+                .maxRataRata(table.getMaxRataRata())
+                .points(table.getPoints())
+                .sizeBytes(table.getSizeBytes())
+                .rebuilt(rebuilt)
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+}
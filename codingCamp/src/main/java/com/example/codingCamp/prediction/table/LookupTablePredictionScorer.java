@@ -0,0 +1,67 @@
+package com.example.codingCamp.prediction.table;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.example.codingCamp.prediction.client.CircuitBreaker;
+import com.example.codingCamp.prediction.client.FlaskBatchPredictionClient;
+import com.example.codingCamp.prediction.model.PredictionStatus;
+import com.example.codingCamp.prediction.service.PredictionScorer;
+import com.example.codingCamp.prediction.service.PredictionTableService;
+import com.example.codingCamp.student.model.StudentPerformance;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prediksi dari tabel yang sudah dihitung (prediction.scorer=table).
+ * Input di luar domain tabel (mis. ketidakhadiran sangat tinggi) tetap
+ * dikirim ke Flask lewat /predict_batch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "prediction.scorer", havingValue = "table")
+public class LookupTablePredictionScorer implements PredictionScorer {
+
+    private final PredictionTableService predictionTableService;
+    private final FlaskBatchPredictionClient flaskBatchPredictionClient;
+
+    @PostConstruct
+    void preload() {
+        try {
+            predictionTableService.getTable();
+        } catch (RuntimeException e) {
+            log.warn("Prediction table not available yet ({}), build it via POST /api/prediction/table/rebuild",
+                    e.getMessage());
+        }
+    }
+
+    @Override
+    public PredictionStatus score(StudentPerformance performance) {
+        int tugas = performance.getPersentaseTugas();
+        int absen = performance.getJumlahKetidakhadiran();
+        int rata = performance.getNilaiAkhirRataRata();
+
+        PredictionTable table = predictionTableService.getTable();
+        if (table.contains(tugas, absen, rata)) {
+            return table.lookup(tugas, absen, rata);
+        }
+
+        log.debug("Input ({}, {}, {}) di luar domain tabel, memakai Flask", tugas, absen, rata);
+        FlaskBatchPredictionClient.Result result;
+        try {
+            result = flaskBatchPredictionClient.predict(performance);
+        } catch (CircuitBreaker.OpenException e) {
+            // Sama seperti FlaskPredictionScorer: layanan mati -> aturan cadangan
+            log.warn("{}, using fallback prediction", e.getMessage());
+            return PredictionScorer.fallbackPrediction(performance);
+        }
+        if (result.getError() != null) {
+            log.warn("Flask batch API returned error: {}, using fallback prediction", result.getError());
+            return PredictionScorer.fallbackPrediction(performance);
+        }
+        return PredictionStatus.fromString(result.getPredictedLabel());
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.codingCamp.prediction.table;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.example.codingCamp.prediction.model.PredictionStatus;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Tabel hasil prediksi untuk seluruh kombinasi input integer
+ * (Persentase Tugas 0..maxTugas, Jumlah Ketidakhadiran 0..maxKetidakhadiran,
+ * Rata-rata 0..maxRataRata). Satu byte per titik berisi ordinal
+ * {@link PredictionStatus}; file di-mmap read-only sehingga lookup O(1)
+ * tanpa alokasi dan tanpa call ke model.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   magic              4 byte  "LTT1"
+ *   header_length      int32
+ *   format_version     int32
+ *   model_version      utf
+ *   built_at           int64   epoch millis
+ *   max_tugas          int32
+ *   max_ketidakhadiran int32
+ *   max_rata_rata      int32
+ *   n_status           int32
+ *     status           utf     display name, urutan = ordinal
+ *   data               int8 * (max_tugas+1)*(max_ketidakhadiran+1)*(max_rata_rata+1)
+ * </pre>
+ */
+@Getter
+public class PredictionTable {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final byte[] MAGIC = { 'L', 'T', 'T', '1' };
+    private static final PredictionStatus[] STATUSES = PredictionStatus.values();
+
+    private final String modelVersion;
+    private final long builtAt;
+    private final int maxTugas;
+    private final int maxKetidakhadiran;
+    private final int maxRataRata;
+    private final long sizeBytes;
+
+    @Getter(AccessLevel.NONE)
+    private final ByteBuffer data;
+    // Nama status disimpan di header, jadi tabel lama tetap terbaca benar jika urutan enum berubah
+    @Getter(AccessLevel.NONE)
+    private final PredictionStatus[] statusByCode;
+
+    private PredictionTable(String modelVersion, long builtAt, int maxTugas, int maxKetidakhadiran,
+            int maxRataRata, long sizeBytes, ByteBuffer data, PredictionStatus[] statusByCode) {
+        this.modelVersion = modelVersion;
+        this.builtAt = builtAt;
+        this.maxTugas = maxTugas;
+        this.maxKetidakhadiran = maxKetidakhadiran;
+        this.maxRataRata = maxRataRata;
+        this.sizeBytes = sizeBytes;
+        this.data = data;
+        this.statusByCode = statusByCode;
+    }
+
+    public static long points(int maxTugas, int maxKetidakhadiran, int maxRataRata) {
+        return (long) (maxTugas + 1) * (maxKetidakhadiran + 1) * (maxRataRata + 1);
+    }
+
+    public static int offset(int maxKetidakhadiran, int maxRataRata, int tugas, int ketidakhadiran,
+            int rataRata) {
+        return (tugas * (maxKetidakhadiran + 1) + ketidakhadiran) * (maxRataRata + 1) + rataRata;
+    }
+
+    public boolean contains(int tugas, int ketidakhadiran, int rataRata) {
+        return tugas >= 0 && tugas <= maxTugas
+                && ketidakhadiran >= 0 && ketidakhadiran <= maxKetidakhadiran
+                && rataRata >= 0 && rataRata <= maxRataRata;
+    }
+
+    public PredictionStatus lookup(int tugas, int ketidakhadiran, int rataRata) {
+        if (!contains(tugas, ketidakhadiran, rataRata)) {
+            throw new IllegalArgumentException("Input di luar domain tabel prediksi: tugas=" + tugas
+                    + ", ketidakhadiran=" + ketidakhadiran + ", rata-rata=" + rataRata);
+        }
+        // Absolute get: aman dibaca dari banyak thread
+        return statusByCode[data.get(offset(maxKetidakhadiran, maxRataRata, tugas, ketidakhadiran, rataRata))];
+    }
+
+    public long getPoints() {
+        return points(maxTugas, maxKetidakhadiran, maxRataRata);
+    }
+
+    public static PredictionTable load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer prefix = ByteBuffer.allocate(MAGIC.length + Integer.BYTES);
+            while (prefix.hasRemaining() && channel.read(prefix) >= 0) {
+                // baca sampai penuh
+            }
+            prefix.flip();
+            byte[] magic = new byte[MAGIC.length];
+            if (prefix.remaining() < prefix.capacity()) {
+                throw new IOException("File tabel prediksi terpotong: " + path);
+            }
+            prefix.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Bukan file tabel prediksi LearnTic (magic tidak cocok)");
+            }
+            int headerLength = prefix.getInt();
+
+            ByteBuffer headerBuffer = ByteBuffer.allocate(headerLength);
+            while (headerBuffer.hasRemaining() && channel.read(headerBuffer) >= 0) {
+                // baca sampai penuh
+            }
+            DataInputStream header = new DataInputStream(new ByteArrayInputStream(headerBuffer.array()));
+            int formatVersion = header.readInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Versi format tabel " + formatVersion + " tidak didukung");
+            }
+            String modelVersion = header.readUTF();
+            long builtAt = header.readLong();
+            int maxTugas = header.readInt();
+            int maxKetidakhadiran = header.readInt();
+            int maxRataRata = header.readInt();
+
+            PredictionStatus[] statusByCode = new PredictionStatus[header.readInt()];
+            for (int i = 0; i < statusByCode.length; i++) {
+                String name = header.readUTF();
+                statusByCode[i] = Arrays.stream(STATUSES)
+                        .filter(s -> s.getDisplayName().equals(name))
+                        .findFirst()
+                        .orElseThrow(() -> new IOException("Status tidak dikenal di tabel: " + name));
+            }
+
+            long dataOffset = MAGIC.length + Integer.BYTES + headerLength;
+            long points = points(maxTugas, maxKetidakhadiran, maxRataRata);
+            if (points > Integer.MAX_VALUE || channel.size() < dataOffset + points) {
+                throw new IOException("Ukuran data tabel tidak sesuai header: " + path);
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, dataOffset, points);
+            return new PredictionTable(modelVersion, builtAt, maxTugas, maxKetidakhadiran, maxRataRata,
+                    channel.size(), data, statusByCode);
+        }
+    }
+
+    /**
+     * Tulis tabel; data[i] adalah ordinal PredictionStatus untuk titik
+     * {@link #offset(int, int, int, int, int)}.
+     */
+    public static void write(OutputStream out, String modelVersion, long builtAt, int maxTugas,
+            int maxKetidakhadiran, int maxRataRata, byte[] data) throws IOException {
+        if (data.length != points(maxTugas, maxKetidakhadiran, maxRataRata)) {
+            throw new IllegalArgumentException("Ukuran data tidak sesuai domain tabel");
+        }
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeInt(FORMAT_VERSION);
+        header.writeUTF(modelVersion);
+        header.writeLong(builtAt);
+        header.writeInt(maxTugas);
+        header.writeInt(maxKetidakhadiran);
+        header.writeInt(maxRataRata);
+        header.writeInt(STATUSES.length);
+        for (PredictionStatus status : STATUSES) {
+            header.writeUTF(status.getDisplayName());
+        }
+        header.flush();
+
+        DataOutputStream file = new DataOutputStream(out);
+        file.write(MAGIC);
+        file.writeInt(headerBytes.size());
+        headerBytes.writeTo(file);
+        file.write(data);
+        file.flush();
+    }
+
+    public static void write(Path path, String modelVersion, long builtAt, int maxTugas,
+            int maxKetidakhadiran, int maxRataRata, byte[] data) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            write(out, modelVersion, builtAt, maxTugas, maxKetidakhadiran, maxRataRata, data);
+        }
+    }
+}
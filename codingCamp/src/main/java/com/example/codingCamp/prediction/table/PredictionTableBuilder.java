@@ -0,0 +1,163 @@
+package com.example.codingCamp.prediction.table;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.example.codingCamp.prediction.client.FlaskBatchPredictionClient;
+import com.example.codingCamp.prediction.inference.DenseNetwork;
+import com.example.codingCamp.prediction.inference.ModelBundle;
+import com.example.codingCamp.prediction.model.PredictionStatus;
+import com.example.codingCamp.prediction.service.BatchPredictionEngine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sweep seluruh domain input untuk membangun {@link PredictionTable}, baik
+ * dari model yang diekspor (tanpa jaringan) maupun lewat /predict_batch.
+ *
+ * Bisa dijalankan offline:
+ * <pre>
+ *   java -cp app.jar -Dloader.main=com.example.codingCamp.prediction.table.PredictionTableBuilder \
+ *       org.springframework.boot.loader.launch.PropertiesLauncher \
+ *       ../machineLearning/student_model.bin ../machineLearning/prediction_table.bin [maxKetidakhadiran]
+ * </pre>
+ */
+@Slf4j
+public final class PredictionTableBuilder {
+
+    // Persentase tugas dan nilai rata-rata sama-sama berskala 0..100
+    public static final int MAX_TUGAS = 100;
+    public static final int MAX_RATA_RATA = 100;
+
+    private PredictionTableBuilder() {
+    }
+
+    public static byte[] sweepLocal(DenseNetwork network, int maxKetidakhadiran) {
+        String[] labels = network.getBundle().getLabels();
+        byte[] codes = new byte[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            codes[i] = (byte) toStatus(labels[i]).ordinal();
+        }
+
+        byte[] data = new byte[(int) PredictionTable.points(MAX_TUGAS, maxKetidakhadiran, MAX_RATA_RATA)];
+        // DenseNetwork aman dipakai paralel, satu baris tugas per task
+        IntStream.rangeClosed(0, MAX_TUGAS).parallel().forEach(tugas -> {
+            for (int absen = 0; absen <= maxKetidakhadiran; absen++) {
+                int base = PredictionTable.offset(maxKetidakhadiran, MAX_RATA_RATA, tugas, absen, 0);
+                for (int rata = 0; rata <= MAX_RATA_RATA; rata++) {
+                    data[base + rata] = codes[network.predictIndex(tugas, absen, rata)];
+                }
+            }
+        });
+        return data;
+    }
+
+    public static byte[] sweepFlask(FlaskBatchPredictionClient client, int maxKetidakhadiran, int chunkSize,
+            int concurrency) {
+        int points = (int) PredictionTable.points(MAX_TUGAS, maxKetidakhadiran, MAX_RATA_RATA);
+        byte[] data = new byte[points];
+
+        List<Integer> chunkStarts = new ArrayList<>();
+        for (int start = 0; start < points; start += chunkSize) {
+            chunkStarts.add(start);
+        }
+
+        BatchPredictionEngine engine = new BatchPredictionEngine(concurrency,
+                BatchPredictionEngine.PacingPolicy.NONE, 0, 0);
+        BatchPredictionEngine.BatchStats stats = engine.run(chunkStarts.iterator(),
+                start -> client.predictRows(rowsOf(start, Math.min(points, start + chunkSize), maxKetidakhadiran)),
+                new BatchPredictionEngine.BatchCallback<Integer, List<FlaskBatchPredictionClient.Result>>() {
+                    @Override
+                    public void onSuccess(Integer start, List<FlaskBatchPredictionClient.Result> results) {
+                        for (int i = 0; i < results.size(); i++) {
+                            FlaskBatchPredictionClient.Result result = results.get(i);
+                            if (result.getError() != null) {
+                                throw new RuntimeException("Flask error pada titik " + (start + i) + ": "
+                                        + result.getError());
+                            }
+                            data[start + i] = (byte) toStatus(result.getPredictedLabel()).ordinal();
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Integer start, Exception error) {
+                        log.error("Chunk tabel mulai {} gagal: {}", start, error.getMessage());
+                    }
+                });
+
+        if (stats.getFailCount() > 0) {
+            // Tabel harus lengkap; tidak ada fallback yang boleh tersimpan permanen
+            throw new RuntimeException(stats.getFailCount() + " dari " + chunkStarts.size()
+                    + " chunk gagal diprediksi, tabel tidak dibangun");
+        }
+        log.info("Sweep Flask selesai: {} titik dalam {} ms", points, stats.getElapsedMs());
+        return data;
+    }
+
+    // Tulis ke file sementara di direktori yang sama lalu rename, pembaca tidak pernah melihat file setengah jadi
+    public static void writeAtomically(Path target, String modelVersion, int maxKetidakhadiran, byte[] data)
+            throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+        try {
+            PredictionTable.write(tmp, modelVersion, System.currentTimeMillis(), MAX_TUGAS, maxKetidakhadiran,
+                    MAX_RATA_RATA, data);
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    static PredictionStatus toStatus(String label) {
+        for (PredictionStatus status : PredictionStatus.values()) {
+            if (status.getDisplayName().equalsIgnoreCase(label)) {
+                return status;
+            }
+        }
+        // PredictionStatus.fromString diam-diam mengembalikan STABLE, di sini harus gagal
+        throw new RuntimeException("Label model tidak dikenal: " + label);
+    }
+
+    private static List<int[]> rowsOf(int from, int to, int maxKetidakhadiran) {
+        int absenSpan = maxKetidakhadiran + 1;
+        int rataSpan = MAX_RATA_RATA + 1;
+        List<int[]> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            int rata = i % rataSpan;
+            int absen = (i / rataSpan) % absenSpan;
+            int tugas = i / (rataSpan * absenSpan);
+            rows.add(new int[] { tugas, absen, rata });
+        }
+        return rows;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Pemakaian: PredictionTableBuilder <student_model.bin> <output.bin> [maxKetidakhadiran]");
+            System.exit(1);
+        }
+        Path modelPath = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        int maxKetidakhadiran = args.length > 2 ? Integer.parseInt(args[2]) : 40;
+
+        long start = System.currentTimeMillis();
+        ModelBundle bundle = ModelBundle.load(modelPath);
+        DenseNetwork network = new DenseNetwork(bundle, DenseNetwork.selectKernel(true));
+        byte[] data = sweepLocal(network, maxKetidakhadiran);
+        writeAtomically(output, bundle.getModelVersion(), maxKetidakhadiran, data);
+
+        System.out.printf("Tabel %s (%d titik, model %s) ditulis dalam %d ms%n", output, data.length,
+                bundle.getModelVersion(), System.currentTimeMillis() - start);
+    }
+}
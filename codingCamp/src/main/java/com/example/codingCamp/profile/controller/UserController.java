@@ -2,6 +2,7 @@ package com.example.codingCamp.profile.controller;
 
 import java.util.Date;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -10,6 +11,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -18,10 +20,13 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.codingCamp.auth.service.AuthService;
 import com.example.codingCamp.dto.BaseResponseDTO;
 
 import com.example.codingCamp.profile.dto.request.AddUserRequestDTO;
+import com.example.codingCamp.profile.dto.request.UpdateTeacherKelasRequestDTO;
 import com.example.codingCamp.profile.dto.request.UpdateUserRequestDTO;
+import com.example.codingCamp.profile.dto.response.TeacherResponseDTO;
 import com.example.codingCamp.profile.dto.response.UserResponseDTO;
 import com.example.codingCamp.profile.service.UserService;
 
@@ -34,6 +39,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthService authService;
+
     //add one by one
     @PostMapping("/add")
     public ResponseEntity<?> addUser(@Valid @RequestBody AddUserRequestDTO userDTO, BindingResult bindingResult) {
@@ -71,10 +79,11 @@ public class UserController {
 
     //add by batch use csv
     @PostMapping("/upload-csv")
-    public ResponseEntity<?> uploadUsersCsv(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<?> uploadUsersCsv(@RequestParam("file") MultipartFile file,
+            @RequestParam(value = "preHashed", defaultValue = "false") boolean preHashed) {
         BaseResponseDTO<List<UserResponseDTO>> baseResponseDTO = new BaseResponseDTO<>();
         try {
-            List<UserResponseDTO> createdUsers = userService.createUsersFromCsv(file);
+            List<UserResponseDTO> createdUsers = userService.createUsersFromCsv(file, preHashed);
 
             baseResponseDTO.setStatus(HttpStatus.CREATED.value());
             baseResponseDTO.setData(createdUsers);
@@ -130,6 +139,64 @@ public class UserController {
         }
     }
 
+    @GetMapping("/teacher/{id}/kelas")
+    public ResponseEntity<?> getTeacherKelas(@PathVariable("id") Long id) {
+        BaseResponseDTO<TeacherResponseDTO> baseResponseDTO = new BaseResponseDTO<>();
+        // Guru hanya boleh melihat kelasnya sendiri
+        if (!"ADMIN".equals(authService.getCurrentUserRole()) && !id.equals(authService.getCurrentUserId())) {
+            baseResponseDTO.setStatus(HttpStatus.FORBIDDEN.value());
+            baseResponseDTO.setMessage("Anda hanya dapat melihat kelas yang Anda ampu");
+            baseResponseDTO.setTimestamp(new Date());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(baseResponseDTO);
+        }
+        try {
+            TeacherResponseDTO teacher = userService.getTeacherKelas(id);
+            baseResponseDTO.setStatus(HttpStatus.OK.value());
+            baseResponseDTO.setData(teacher);
+            baseResponseDTO.setMessage(String.format("Kelas guru dengan ID %s berhasil ditemukan", id));
+            baseResponseDTO.setTimestamp(new Date());
+            return ResponseEntity.ok(baseResponseDTO);
+        } catch (NoSuchElementException e) {
+            baseResponseDTO.setStatus(HttpStatus.NOT_FOUND.value());
+            baseResponseDTO.setMessage(e.getMessage());
+            baseResponseDTO.setTimestamp(new Date());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(baseResponseDTO);
+        }
+    }
+
+    // Ganti seluruh daftar kelas yang diampu guru; daftar kosong = melihat semua kelas (khusus ADMIN)
+    @PutMapping("/teacher/{id}/kelas")
+    public ResponseEntity<?> updateTeacherKelas(@PathVariable("id") Long id,
+            @Valid @RequestBody UpdateTeacherKelasRequestDTO request, BindingResult bindingResult) {
+        BaseResponseDTO<TeacherResponseDTO> baseResponseDTO = new BaseResponseDTO<>();
+
+        if (bindingResult.hasFieldErrors()) {
+            StringBuilder errorMessages = new StringBuilder();
+            for (FieldError error : bindingResult.getFieldErrors()) {
+                errorMessages.append(error.getDefaultMessage()).append("; ");
+            }
+
+            baseResponseDTO.setStatus(HttpStatus.BAD_REQUEST.value());
+            baseResponseDTO.setMessage(errorMessages.toString());
+            baseResponseDTO.setTimestamp(new Date());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            TeacherResponseDTO teacher = userService.updateTeacherKelas(id, request.getKelas());
+            baseResponseDTO.setStatus(HttpStatus.OK.value());
+            baseResponseDTO.setData(teacher);
+            baseResponseDTO.setMessage(String.format("Kelas guru dengan ID %s berhasil diperbarui", id));
+            baseResponseDTO.setTimestamp(new Date());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.OK);
+        } catch (NoSuchElementException e) {
+            baseResponseDTO.setStatus(HttpStatus.NOT_FOUND.value());
+            baseResponseDTO.setMessage(e.getMessage());
+            baseResponseDTO.setTimestamp(new Date());
+            return new ResponseEntity<>(baseResponseDTO, HttpStatus.NOT_FOUND);
+        }
+    }
+
     @GetMapping("")
     public ResponseEntity<?> detailUser(@RequestParam("id") Long id) {
         BaseResponseDTO<UserResponseDTO> baseResponseDTO = new BaseResponseDTO<>();
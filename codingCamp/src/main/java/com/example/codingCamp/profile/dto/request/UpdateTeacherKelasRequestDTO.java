@@ -0,0 +1,18 @@
+package com.example.codingCamp.profile.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class UpdateTeacherKelasRequestDTO {
+
+    // Daftar kosong = guru tidak dibatasi kelas
+    @NotNull(message = "Daftar kelas tidak boleh null")
+    private List<String> kelas;
+}
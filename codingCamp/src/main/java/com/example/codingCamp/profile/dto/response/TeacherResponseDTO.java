@@ -1,5 +1,7 @@
 package com.example.codingCamp.profile.dto.response;
 
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,4 +15,5 @@ public class TeacherResponseDTO {
     private Long id;
     private String name;
     private String email;
+    private List<String> kelasDiampu;
 }
\ No newline at end of file
@@ -1,16 +1,10 @@
 package com.example.codingCamp.profile.model;
 
-
-
-import java.util.List;
-
-
-import com.example.codingCamp.profile.model.Student;
+import java.util.HashSet;
+import java.util.Set;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
@@ -19,6 +13,11 @@ import lombok.Setter;
 @DiscriminatorValue("TEACHER")  
 public class Teacher extends UserModel {
 
- 
+    // Kelas yang diampu (sama dengan Student.kelas). Kosong = belum ditugaskan, melihat semua kelas
+    @ElementCollection
+    @CollectionTable(name = "teacher_kelas", joinColumns = @JoinColumn(name = "teacher_id"),
+            indexes = @Index(name = "idx_teacher_kelas_kelas", columnList = "kelas"))
+    @Column(name = "kelas", nullable = false)
+    private Set<String> kelasDiampu = new HashSet<>();
 
-}
\ No newline at end of file
+}
@@ -15,6 +15,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.InheritanceType;
@@ -33,7 +34,12 @@ import java.util.Date;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "user_model")
+@Table(name = "user_model", indexes = {
+        // Fan-out notifikasi mencari pengguna berdasarkan peran
+        @Index(name = "idx_user_model_role", columnList = "id_role"),
+        // Student.kelas: daftar siswa/prediksi guru dibatasi ke kelas yang diampu
+        @Index(name = "idx_user_model_kelas", columnList = "kelas")
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "user_type", discriminatorType = DiscriminatorType.STRING)
 public class UserModel {
@@ -79,4 +85,8 @@ public class UserModel {
 
     @Column(name = "deleted_at")
     private Date deletedAt;
+
+    // Token yang terbit sebelum waktu ini ditolak (lihat TokenDenyList)
+    @Column(name = "password_changed_at")
+    private Date passwordChangedAt;
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.example.codingCamp.profile.repository;
+
+import java.util.Date;
+
+// Proyeksi hasil UserRepository.findRevokedSince
+public interface RevokedUser {
+    Long getId();
+
+    Date getDeletedAt();
+
+    Date getPasswordChangedAt();
+}
@@ -0,0 +1,8 @@
+package com.example.codingCamp.profile.repository;
+
+// Proyeksi hasil TeacherRepository.findActiveAssignments; kelas null = guru belum ditugaskan
+public interface TeacherKelas {
+    Long getTeacherId();
+
+    String getKelas();
+}
@@ -0,0 +1,33 @@
+package com.example.codingCamp.profile.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.codingCamp.profile.model.Teacher;
+
+@Repository
+public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+    // Satu baris per (guru aktif, kelas); penerima notifikasi prediksi di-resolve sekali per batch
+    @Query("SELECT t.id AS teacherId, k AS kelas FROM Teacher t LEFT JOIN t.kelasDiampu k "
+            + "WHERE t.deletedAt IS NULL")
+    List<TeacherKelas> findActiveAssignments();
+
+    // Guru yang mengampu kelas ini ditambah guru yang belum ditugaskan ke kelas mana pun
+    @Query("SELECT t.id FROM Teacher t WHERE t.deletedAt IS NULL "
+            + "AND (:kelas MEMBER OF t.kelasDiampu OR t.kelasDiampu IS EMPTY)")
+    List<Long> findActiveIdsForKelas(@Param("kelas") String kelas);
+
+    @Query("SELECT t.id FROM Teacher t WHERE t.deletedAt IS NULL")
+    List<Long> findActiveIds();
+
+    @Query("SELECT k FROM Teacher t JOIN t.kelasDiampu k WHERE t.id = :teacherId")
+    List<String> findKelasByTeacherId(@Param("teacherId") Long teacherId);
+
+    @Query("SELECT t FROM Teacher t LEFT JOIN FETCH t.kelasDiampu WHERE t.id = :id AND t.deletedAt IS NULL")
+    Optional<Teacher> findActiveWithKelasById(@Param("id") Long id);
+}
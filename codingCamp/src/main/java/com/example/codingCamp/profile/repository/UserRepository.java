@@ -1,5 +1,6 @@
 package com.example.codingCamp.profile.repository;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +20,7 @@ public interface UserRepository extends JpaRepository<UserModel, Long> {
     UserModel findByEmail(String email);
     Optional<UserModel> findById(Long id);    
     List<UserModel> findAllByRole(Role role);
+
     Optional<UserModel> findByPhone(String phone);
     
     // PERBAIKAN: Pastikan method ini ada dan benar
@@ -31,6 +33,15 @@ public interface UserRepository extends JpaRepository<UserModel, Long> {
     @Query("SELECT p FROM Parent p WHERE p.deletedAt IS NULL")
     List<Parent> findAllParents();
 
+    // Login dengan email atau username dalam satu query, role ikut di-fetch
+    @Query("SELECT u FROM UserModel u JOIN FETCH u.role WHERE u.email = :login OR u.username = :login")
+    List<UserModel> findForLogin(@Param("login") String login);
+
+    // Seed deny-list token saat start: user yang dihapus/ganti password selama umur token
+    @Query("SELECT u.id AS id, u.deletedAt AS deletedAt, u.passwordChangedAt AS passwordChangedAt "
+            + "FROM UserModel u WHERE u.deletedAt > :since OR u.passwordChangedAt > :since")
+    List<RevokedUser> findRevokedSince(@Param("since") Date since);
+
     // Cari Student yang orangTuanya punya username tertentu
     @Query("SELECT s FROM Student s WHERE s.orangTua.username = :parentUsername AND s.deletedAt IS NULL")
     Student findStudentByParentUsername(@Param("parentUsername") String parentUsername);
@@ -1,11 +1,14 @@
 package com.example.codingCamp.profile.service;
 
+import java.util.Date;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.example.codingCamp.profile.dto.request.UpdatePasswordRequestDTO;
 import com.example.codingCamp.profile.model.UserModel;
 import com.example.codingCamp.profile.repository.UserRepository;
+import com.example.codingCamp.security.jwt.TokenDenyList;
 
 @Service
 public class ProfileServiceImpl implements ProfileService {
@@ -16,6 +19,9 @@ public class ProfileServiceImpl implements ProfileService {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    TokenDenyList tokenDenyList;
+
     @Override
     public void updatePassword(Long id, UpdatePasswordRequestDTO request) {
         UserModel user = userRepository.findById(id)
@@ -27,6 +33,9 @@ public class ProfileServiceImpl implements ProfileService {
 
         String hashedNewPassword = userService.hashPassword(request.getNewPassword());
         user.setPassword(hashedNewPassword);
+        user.setPasswordChangedAt(new Date());
         userRepository.save(user);
+        // Token lama (termasuk sesi ini) tidak berlaku lagi; user login ulang dengan password baru
+        tokenDenyList.revoke(id);
     }
 }
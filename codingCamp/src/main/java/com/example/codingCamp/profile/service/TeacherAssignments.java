@@ -0,0 +1,74 @@
+package com.example.codingCamp.profile.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.example.codingCamp.profile.repository.TeacherKelas;
+
+/**
+ * Snapshot penugasan guru ke kelas. Aturannya dipakai sama untuk notifikasi
+ * dan daftar guru: guru melihat siswa di kelas yang diampunya; guru tanpa
+ * kelas dan siswa tanpa kelas tidak dibatasi.
+ */
+public final class TeacherAssignments {
+
+    private final List<Long> teacherIds;
+    private final List<Long> unassigned;
+    private final Map<String, List<Long>> byKelas;
+    private final Map<Long, Set<String>> kelasByTeacher;
+
+    private TeacherAssignments(List<Long> teacherIds, List<Long> unassigned, Map<String, List<Long>> byKelas,
+            Map<Long, Set<String>> kelasByTeacher) {
+        this.teacherIds = teacherIds;
+        this.unassigned = unassigned;
+        this.byKelas = byKelas;
+        this.kelasByTeacher = kelasByTeacher;
+    }
+
+    public static TeacherAssignments of(List<TeacherKelas> rows) {
+        Map<Long, Set<String>> kelasByTeacher = new LinkedHashMap<>();
+        for (TeacherKelas row : rows) {
+            Set<String> kelas = kelasByTeacher.computeIfAbsent(row.getTeacherId(), id -> new LinkedHashSet<>());
+            if (row.getKelas() != null) {
+                kelas.add(row.getKelas());
+            }
+        }
+        List<Long> unassigned = new ArrayList<>();
+        Map<String, List<Long>> byKelas = new HashMap<>();
+        kelasByTeacher.forEach((teacherId, kelas) -> {
+            if (kelas.isEmpty()) {
+                unassigned.add(teacherId);
+            }
+            for (String k : kelas) {
+                byKelas.computeIfAbsent(k, key -> new ArrayList<>()).add(teacherId);
+            }
+        });
+        // Guru tanpa kelas menerima notifikasi semua kelas
+        byKelas.values().forEach(ids -> ids.addAll(unassigned));
+        return new TeacherAssignments(List.copyOf(kelasByTeacher.keySet()), List.copyOf(unassigned), byKelas,
+                kelasByTeacher);
+    }
+
+    public List<Long> allTeacherIds() {
+        return teacherIds;
+    }
+
+    // Guru yang relevan untuk siswa di kelas ini
+    public List<Long> teachersFor(String kelas) {
+        if (kelas == null || kelas.isBlank()) {
+            return teacherIds;
+        }
+        return byKelas.getOrDefault(kelas, unassigned);
+    }
+
+    // Kelas yang diampu guru; kosong = semua kelas
+    public Set<String> kelasOf(Long teacherId) {
+        return Collections.unmodifiableSet(kelasByTeacher.getOrDefault(teacherId, Set.of()));
+    }
+}
@@ -26,5 +26,8 @@ public interface UserService {
     // // List<TeacherResponseDTO> getAllTeachers();
     List<StudentDetailDTO> getAllStudent(String search);
     UserResponseDTO getStudentById(Long id);
-    List<UserResponseDTO> createUsersFromCsv(MultipartFile file) throws IOException;
+    // preHashed: kolom password berisi hash BCrypt, bukan password asli
+    List<UserResponseDTO> createUsersFromCsv(MultipartFile file, boolean preHashed) throws IOException;
+    TeacherResponseDTO getTeacherKelas(Long teacherId);
+    TeacherResponseDTO updateTeacherKelas(Long teacherId, List<String> kelas);
 }
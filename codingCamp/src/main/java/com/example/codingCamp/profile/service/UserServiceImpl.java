@@ -4,13 +4,16 @@ import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.io.IOException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -25,10 +28,14 @@ import com.example.codingCamp.profile.dto.response.UserResponseDTO;
 import com.example.codingCamp.profile.model.Student;
 import com.example.codingCamp.profile.model.Parent;
 import com.example.codingCamp.profile.model.Role;
+import com.example.codingCamp.profile.model.Teacher;
 import com.example.codingCamp.profile.model.UserModel;
 import com.example.codingCamp.profile.repository.StudentRepository;
 import com.example.codingCamp.profile.repository.RoleRepository;
+import com.example.codingCamp.profile.repository.TeacherRepository;
 import com.example.codingCamp.profile.repository.UserRepository;
+import com.example.codingCamp.security.jwt.TokenDenyList;
+import com.example.codingCamp.security.service.BulkPasswordHasher;
 import com.example.codingCamp.student.dto.response.StudentPerformanceDTO;
 import com.example.codingCamp.student.model.StudentPerformance;
 
@@ -43,6 +50,19 @@ public class UserServiceImpl implements UserService {
     @Autowired
     StudentRepository studentRepository;
 
+    @Autowired
+    TeacherRepository teacherRepository;
+
+    @Autowired
+    TokenDenyList tokenDenyList;
+
+    @Autowired
+    BulkPasswordHasher bulkPasswordHasher;
+
+    // Impor CSV berisi hash BCrypt (mis. migrasi dari sistem lain); hanya untuk sumber tepercaya
+    @Value("${user.import.allow-pre-hashed:false}")
+    boolean allowPreHashed;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -109,6 +129,10 @@ public class UserServiceImpl implements UserService {
             user = new Student();
         } else if ("Parent".equalsIgnoreCase(role.getRole())) {
             user = new Parent(); // **Gunakan Student**
+        } else if ("Teacher".equalsIgnoreCase(role.getRole())) {
+            Teacher teacher = new Teacher();
+            teacher.setKelasDiampu(parseKelasDiampu(userDTO.getKelas()));
+            user = teacher;
         } else {
             user = new UserModel();
         }
@@ -137,7 +161,10 @@ public class UserServiceImpl implements UserService {
     }
 
     // add user from csv
-    public List<UserResponseDTO> createUsersFromCsv(MultipartFile file) throws IOException {
+    public List<UserResponseDTO> createUsersFromCsv(MultipartFile file, boolean preHashed) throws IOException {
+        if (preHashed && !allowPreHashed) {
+            throw new RuntimeException("Impor dengan password yang sudah di-hash tidak diaktifkan");
+        }
         List<AddUserRequestDTO> parentDTOs = new ArrayList<>();
         List<AddUserRequestDTO> studentDTOs = new ArrayList<>();
         List<UserResponseDTO> createdUsers = new ArrayList<>();
@@ -175,15 +202,34 @@ public class UserServiceImpl implements UserService {
             }
         }
 
+        // BCrypt semua baris sekaligus secara paralel; penyimpanan di bawah tetap berurutan
+        List<AddUserRequestDTO> rows = new ArrayList<>(parentDTOs);
+        rows.addAll(studentDTOs);
+        List<String> passwords = rows.stream().map(AddUserRequestDTO::getPassword).collect(Collectors.toList());
+        List<String> encodedPasswords;
+        if (preHashed) {
+            for (int i = 0; i < rows.size(); i++) {
+                if (!BulkPasswordHasher.isBcryptHash(passwords.get(i))) {
+                    throw new RuntimeException("Password untuk username " + rows.get(i).getUsername()
+                            + " bukan hash BCrypt yang valid (cost " + BulkPasswordHasher.MIN_IMPORT_COST + "-"
+                            + BulkPasswordHasher.MAX_IMPORT_COST + ")");
+                }
+            }
+            encodedPasswords = passwords;
+        } else {
+            encodedPasswords = bulkPasswordHasher.encodeAll(passwords);
+        }
+
         // Proses parent terlebih dahulu
-        for (AddUserRequestDTO parentDTO : parentDTOs) {
-            createdUsers.add(addUserFromCsv(parentDTO));
+        for (int i = 0; i < parentDTOs.size(); i++) {
+            createdUsers.add(addUserFromCsv(parentDTOs.get(i), encodedPasswords.get(i)));
         }
 
         // Proses student setelah parent semua dibuat
-        for (AddUserRequestDTO studentDTO : studentDTOs) {
+        for (int i = 0; i < studentDTOs.size(); i++) {
+            AddUserRequestDTO studentDTO = studentDTOs.get(i);
             try {
-                createdUsers.add(addUserFromCsv(studentDTO));
+                createdUsers.add(addUserFromCsv(studentDTO, encodedPasswords.get(parentDTOs.size() + i)));
             } catch (Exception e) {
                 // Log error tetapi lanjutkan proses
                 System.err.println("Gagal membuat student: " + e.getMessage());
@@ -211,6 +257,11 @@ public class UserServiceImpl implements UserService {
     }
 
     public UserResponseDTO addUserFromCsv(AddUserRequestDTO userDTO) {
+        return addUserFromCsv(userDTO, passwordEncoder.encode(userDTO.getPassword()));
+    }
+
+    // encodedPassword sudah di-hash (lihat createUsersFromCsv)
+    public UserResponseDTO addUserFromCsv(AddUserRequestDTO userDTO, String encodedPassword) {
         // Validasi dasar
         if (userDTO.getUsername().contains(" ")) {
             throw new RuntimeException("Username tidak boleh mengandung spasi");
@@ -257,6 +308,11 @@ public class UserServiceImpl implements UserService {
             user = student;
         } else if ("PARENT".equalsIgnoreCase(role.getRole())) { // Ubah dari "Parent" ke "PARENT"
             user = new Parent();
+        } else if ("TEACHER".equalsIgnoreCase(role.getRole())) {
+            // Kolom kelas di CSV guru: daftar kelas yang diampu, dipisah ';' atau ','
+            Teacher teacher = new Teacher();
+            teacher.setKelasDiampu(parseKelasDiampu(userDTO.getKelas()));
+            user = teacher;
         } else {
             user = new UserModel();
         }
@@ -266,7 +322,7 @@ public class UserServiceImpl implements UserService {
         user.setUsername(userDTO.getUsername());
         user.setEmail(userDTO.getEmail());
         user.setPhone(userDTO.getPhone());
-        user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+        user.setPassword(encodedPassword);
         user.setRole(role);
 
         UserModel savedUser = userRepository.save(user);
@@ -422,6 +478,7 @@ public class UserServiceImpl implements UserService {
         // Soft delete dengan mengupdate kolom deletedAt
         user.setDeletedAt(new Date());
         UserModel deletedUser = userRepository.save(user);
+        tokenDenyList.revoke(userId);
 
         // Konversi ke DTO Response
         return new UserResponseDTO(
@@ -540,4 +597,49 @@ public class UserServiceImpl implements UserService {
                 student.getKelas());
     }
 
+
+    @Override
+    public TeacherResponseDTO getTeacherKelas(Long teacherId) {
+        Teacher teacher = teacherRepository.findActiveWithKelasById(teacherId)
+                .orElseThrow(() -> new NoSuchElementException("Guru dengan ID " + teacherId + " tidak ditemukan"));
+        return toTeacherResponse(teacher);
+    }
+
+    @Override
+    public TeacherResponseDTO updateTeacherKelas(Long teacherId, List<String> kelas) {
+        Teacher teacher = teacherRepository.findActiveWithKelasById(teacherId)
+                .orElseThrow(() -> new NoSuchElementException("Guru dengan ID " + teacherId + " tidak ditemukan"));
+        Set<String> kelasDiampu = new LinkedHashSet<>();
+        for (String k : kelas) {
+            if (k != null && !k.isBlank()) {
+                kelasDiampu.add(k.trim());
+            }
+        }
+        teacher.getKelasDiampu().clear();
+        teacher.getKelasDiampu().addAll(kelasDiampu);
+        teacher.setUpdatedAt(new Date());
+        return toTeacherResponse(teacherRepository.save(teacher));
+    }
+
+    private static Set<String> parseKelasDiampu(String kelas) {
+        Set<String> result = new LinkedHashSet<>();
+        if (kelas == null) {
+            return result;
+        }
+        for (String k : kelas.split("[;,]")) {
+            if (!k.isBlank()) {
+                result.add(k.trim());
+            }
+        }
+        return result;
+    }
+
+    private static TeacherResponseDTO toTeacherResponse(Teacher teacher) {
+        return TeacherResponseDTO.builder()
+                .id(teacher.getId())
+                .name(teacher.getName())
+                .email(teacher.getEmail())
+                .kelasDiampu(teacher.getKelasDiampu().stream().sorted().collect(Collectors.toList()))
+                .build();
+    }
 }
@@ -7,6 +7,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -28,6 +29,7 @@ import com.example.codingCamp.security.entrypoint.AuthEntryPoint;
 import com.example.codingCamp.security.jwt.JwtTokenFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -51,15 +53,30 @@ public class WebSecurityConfig {
                 .securityMatcher("/api/**")
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(requests -> requests
+                        // Dispatch lanjutan dari response streaming (SSE/NDJSON); request awalnya sudah diotorisasi
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
 
                         .requestMatchers("/api/auth/login").permitAll()
+                        .requestMatchers("/api/auth/token-cache").hasAnyAuthority("ADMIN", "TEACHER")
                         .requestMatchers("/api/notification").hasAnyAuthority("STUDENT", "TEACHER", "PARENT")
-                        .requestMatchers("/api/prediction/batch").hasAuthority( "TEACHER")
+                        // Retensi menghapus notifikasi semua user
+                        .requestMatchers("/api/notification/retention/run").hasAuthority("ADMIN")
+                        .requestMatchers("/api/notification/retention", "/api/notification/dispatcher")
+                                .hasAnyAuthority("ADMIN", "TEACHER")
+                        .requestMatchers("/api/notification/feed", "/api/notification/stream",
+                                "/api/notification/unread-count", "/api/notification/read", "/api/notification/read-all")
+                                .hasAnyAuthority("STUDENT", "TEACHER", "PARENT")
+                        .requestMatchers("/api/prediction/batch", "/api/prediction/batch/**").hasAuthority( "TEACHER")
+                        .requestMatchers("/api/prediction/table", "/api/prediction/table/rebuild").hasAuthority( "TEACHER")
                         .requestMatchers("/api/user/add").hasAuthority( "TEACHER")
                         .requestMatchers("/api/user/upload-csv").hasAuthority( "TEACHER")
                         .requestMatchers("/api/user/update").hasAuthority( "TEACHER")
                         .requestMatchers("/api/user/delete").hasAuthority( "TEACHER")
                         .requestMatchers("/api/user/viewall").hasAuthority( "TEACHER")
+                        // Daftar kosong = melihat semua kelas; hanya admin yang boleh mengubah cakupan guru.
+                        // GET oleh guru dibatasi ke id-nya sendiri di UserController
+                        .requestMatchers(HttpMethod.PUT, "/api/user/teacher/{id}/kelas").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/user/teacher/{id}/kelas").hasAnyAuthority("TEACHER", "ADMIN")
                         .requestMatchers("/api/student-performance/create").hasAuthority( "TEACHER")
                         .requestMatchers("/api/student-performance/{id}/update").hasAuthority( "TEACHER")
                         .requestMatchers("/api/student-performance/viewall").hasAnyAuthority( "TEACHER", "STUDENT", "PARENT")
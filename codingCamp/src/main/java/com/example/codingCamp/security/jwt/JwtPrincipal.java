@@ -0,0 +1,24 @@
+package com.example.codingCamp.security.jwt;
+
+import java.security.Principal;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Identitas user yang sudah diverifikasi dari token, dipasang JwtTokenFilter
+ * sebagai principal di SecurityContext. Service membaca id dan role dari sini
+ * (lewat AuthService) tanpa mem-parse token lagi.
+ */
+public record JwtPrincipal(Long id, String username, String role) implements Principal {
+
+    static JwtPrincipal fromClaims(Claims claims) {
+        String id = claims.get("id", String.class);
+        return new JwtPrincipal(id == null ? null : Long.valueOf(id), claims.getSubject(),
+                claims.get("role", String.class));
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
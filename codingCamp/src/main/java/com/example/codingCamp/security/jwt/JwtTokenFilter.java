@@ -1,12 +1,17 @@
 package com.example.codingCamp.security.jwt;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,6 +21,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
  
  
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,6 +36,18 @@ public class JwtTokenFilter extends OncePerRequestFilter{
     @Lazy
     @Autowired
     private UserDetailsService userDetailService;
+
+    @Lazy
+    @Autowired
+    private TokenDenyList tokenDenyList;
+
+    @Lazy
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    // true: authority dari claim role, tanpa query user per request; pencabutan lewat TokenDenyList
+    @Value("${codingCamp.app.jwtStateless:true}")
+    private boolean stateless;
  
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenFilter.class);
  
@@ -37,14 +55,16 @@ public class JwtTokenFilter extends OncePerRequestFilter{
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException{
         try{
             String jwt = parseJwt(request);
-            if(jwt != null && jwtUtils.validateJwtToken(jwt)){
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            Claims claims = jwt == null ? null : verify(jwt);
+            if(claims != null){
+                JwtPrincipal principal = JwtPrincipal.fromClaims(claims);
+                Collection<? extends GrantedAuthority> authorities = authorities(principal, claims);
+                if (authorities != null) {
+                    UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(principal, null, authorities);
+                    authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                }
             }
         }catch(Exception e){
             logger.error("Cannot set user authentication: {}", e);
@@ -54,6 +74,32 @@ public class JwtTokenFilter extends OncePerRequestFilter{
         filterChain.doFilter(request, response);
     }
  
+    // Token yang sama sudah pernah lolos verifikasi: pakai claims dari cache tanpa cek signature
+    private Claims verify(String jwt){
+        Claims claims = verifiedTokenCache.get(jwt);
+        if(claims == null){
+            claims = jwtUtils.parseClaims(jwt);
+            if(claims != null){
+                verifiedTokenCache.put(jwt, claims);
+            }
+        }
+        return claims;
+    }
+
+    // null = token dicabut; request diteruskan tanpa autentikasi
+    private Collection<? extends GrantedAuthority> authorities(JwtPrincipal principal, Claims claims){
+        if(!stateless){
+            // User yang sudah dihapus/diubah ditolak lewat lookup; authority dari data terbaru
+            UserDetails userDetails = userDetailService.loadUserByUsername(principal.username());
+            return userDetails.getAuthorities();
+        }
+        if(tokenDenyList.isRevoked(principal.id(), claims.getIssuedAt())){
+            logger.debug("Rejected revoked token of user {}", principal.id());
+            return null;
+        }
+        return principal.role() == null ? List.of() : List.of(new SimpleGrantedAuthority(principal.role()));
+    }
+ 
     private String parseJwt(HttpServletRequest request){
         String headerAuth = request.getHeader("Authorization");
  
@@ -1,8 +1,11 @@
 package com.example.codingCamp.security.jwt;
 
 
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
+import javax.crypto.SecretKey;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,6 +14,7 @@ import org.springframework.stereotype.Component;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
  
 @Component
 public class JwtUtils {
@@ -21,11 +25,19 @@ public class JwtUtils {
 
     @Value("${codingCamp.app.jwtExpirationMs}")
     private int jwtExpirationMs;
+
+    // Key dan parser dibuat sekali; JwtParser immutable sehingga aman dipakai bersama antar thread
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser().verifyWith(signingKey).build();
+    }
  
     public String getUserNameFromJwtToken(String token){
-        JwtParser jwtParser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes())).build();
-        Claims claims = jwtParser.parse(token).accept(Jws.CLAIMS).getPayload();
-        return claims.getSubject();
+        return jwtParser.parseSignedClaims(token).getPayload().getSubject();
     }    
 
     public String generateJwtToken(String username, String id, String role) {
@@ -35,14 +47,18 @@ public class JwtUtils {
                 .claim("role", role)
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
+                .signWith(signingKey)
                 .compact();
     }
  
     public boolean validateJwtToken(String authToken){
+        return parseClaims(authToken) != null;
+    }
+
+    // Verifikasi + parse sekali; null bila token tidak valid
+    public Claims parseClaims(String authToken){
         try{
-            Jwts.parser().verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes())).build().parse(authToken);
-            return true;
+            return jwtParser.parseSignedClaims(authToken).getPayload();
         }catch(SignatureException e){
             logger.error("Invalid JWT signature: {}", e.getMessage());
         }catch(IllegalArgumentException e){
@@ -54,14 +70,12 @@ public class JwtUtils {
         }catch(UnsupportedJwtException e){
             logger.error("JWT token is unsupported: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 
     //ekstrak id role dri token
     public String getClaimFromJwtToken(String token, String claimKey) {
-        JwtParser jwtParser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes())).build();
-        Claims claims = jwtParser.parse(token).accept(Jws.CLAIMS).getPayload();
-        return claims.get(claimKey, String.class);
+        return jwtParser.parseSignedClaims(token).getPayload().get(claimKey, String.class);
     }
     
 }
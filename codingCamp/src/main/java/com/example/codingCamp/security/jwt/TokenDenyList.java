@@ -0,0 +1,87 @@
+package com.example.codingCamp.security.jwt;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.codingCamp.profile.repository.RevokedUser;
+import com.example.codingCamp.profile.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deny-list token untuk autentikasi stateless: per user disimpan batas waktu,
+ * token yang terbit pada atau sebelum batas itu ditolak. Entri dibuang
+ * setelah umur token lewat karena token lamanya sudah kedaluwarsa sendiri.
+ *
+ * Hanya di memori per instance; saat start diisi ulang dari user_model
+ * (deleted_at / password_changed_at), tapi pencabutan di instance lain tidak
+ * terlihat sampai restart.
+ */
+@Slf4j
+@Component
+public class TokenDenyList {
+
+    private final UserRepository userRepository;
+    private final long jwtExpirationMs;
+
+    // userId -> waktu pencabutan (ms)
+    private final Map<Long, Long> revokedAt = new ConcurrentHashMap<>();
+
+    public TokenDenyList(UserRepository userRepository,
+            @Value("${codingCamp.app.jwtExpirationMs}") long jwtExpirationMs) {
+        this.userRepository = userRepository;
+        this.jwtExpirationMs = jwtExpirationMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void load() {
+        Date since = new Date(System.currentTimeMillis() - jwtExpirationMs);
+        for (RevokedUser user : userRepository.findRevokedSince(since)) {
+            revokeAt(user.getId(), latest(user.getDeletedAt(), user.getPasswordChangedAt()));
+        }
+        log.info("Token deny-list loaded with {} user(s)", revokedAt.size());
+    }
+
+    // Cabut semua token user yang terbit sampai saat ini
+    public void revoke(Long userId) {
+        revokeAt(userId, System.currentTimeMillis());
+        purgeExpired();
+    }
+
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        if (userId == null) {
+            return false;
+        }
+        Long revoked = revokedAt.get(userId);
+        if (revoked == null) {
+            return false;
+        }
+        // iat di token hanya sampai detik. Token di detik yang sama dengan pencabutan diterima: login ulang
+        // tepat setelah ganti password biasanya jatuh di detik itu dan tidak boleh langsung ditolak.
+        // Akibatnya token lama yang terbit di awal detik yang sama juga lolos (celah < 1 detik).
+        return issuedAt == null || issuedAt.getTime() / 1000 < revoked / 1000;
+    }
+
+    public int size() {
+        return revokedAt.size();
+    }
+
+    void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - jwtExpirationMs;
+        revokedAt.values().removeIf(revoked -> revoked < cutoff);
+    }
+
+    private void revokeAt(Long userId, long time) {
+        revokedAt.merge(userId, time, Math::max);
+    }
+
+    private static long latest(Date a, Date b) {
+        return Math.max(a == null ? 0 : a.getTime(), b == null ? 0 : b.getTime());
+    }
+}
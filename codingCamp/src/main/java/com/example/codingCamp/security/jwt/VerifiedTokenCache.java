@@ -0,0 +1,199 @@
+package com.example.codingCamp.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.codingCamp.auth.dto.response.TokenCacheStatsDTO;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Claims token yang sudah lolos verifikasi signature, agar request berikutnya
+ * dengan token yang sama tidak memverifikasi HMAC dan decode JSON lagi.
+ *
+ * Kunci = SHA-256 token (bukan token mentah). Entri dibuang saat token
+ * kedaluwarsa (dicek saat dibaca dan disapu berkala) atau dengan urutan LRU
+ * bila kapasitas penuh. Dibagi beberapa segmen LRU dengan lock masing-masing
+ * supaya request paralel jarang saling menunggu. Pencabutan tetap dicek di
+ * TokenDenyList pada setiap request, termasuk saat hit.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private static final int SEGMENTS = 16;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private record Key(long a, long b, long c, long d) {
+    }
+
+    private record Entry(Claims claims, long expiresAt) {
+    }
+
+    private final int capacity;
+    private final long sweepMs;
+    private final int segmentCapacity;
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder lruEvictions = new LongAdder();
+    private final LongAdder expiredEvictions = new LongAdder();
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(
+            r -> Thread.ofPlatform().name("jwt-cache-sweep").daemon(true).unstarted(r));
+
+    public VerifiedTokenCache(@Value("${codingCamp.app.jwtCacheSize:10000}") int capacity,
+            @Value("${codingCamp.app.jwtCacheSweepMs:60000}") long sweepMs) {
+        this.capacity = Math.max(0, capacity);
+        this.sweepMs = sweepMs;
+        this.segmentCapacity = Math.max(1, (this.capacity + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    @PostConstruct
+    void startSweeper() {
+        if (capacity > 0 && sweepMs > 0) {
+            sweeper.scheduleWithFixedDelay(this::sweepExpired, sweepMs, sweepMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    // null = belum pernah diverifikasi atau sudah kedaluwarsa
+    public Claims get(String token) {
+        if (capacity == 0) {
+            return null;
+        }
+        Key key = key(token);
+        Claims claims = segmentOf(key).get(key, System.currentTimeMillis());
+        if (claims == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return claims;
+    }
+
+    // Hanya untuk claims hasil verifikasi signature yang berhasil
+    public void put(String token, Claims claims) {
+        if (capacity == 0 || claims.getExpiration() == null) {
+            return;
+        }
+        Key key = key(token);
+        segmentOf(key).put(key, new Entry(claims, claims.getExpiration().getTime()));
+    }
+
+    void sweepExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (Segment segment : segments) {
+            removed += segment.removeExpired(now);
+        }
+        if (removed > 0) {
+            log.debug("Removed {} expired token(s) from cache", removed);
+        }
+    }
+
+    public TokenCacheStatsDTO getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return TokenCacheStatsDTO.builder()
+                .enabled(capacity > 0)
+                .size(size)
+                .capacity(capacity)
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRate(hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount))
+                .lruEvictions(lruEvictions.sum())
+                .expiredEvictions(expiredEvictions.sum())
+                .build();
+    }
+
+    private Segment segmentOf(Key key) {
+        return segments[(int) (key.a() >>> 60)];
+    }
+
+    private static Key key(String token) {
+        ByteBuffer digest = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new Key(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+    }
+
+    private final class Segment {
+        // accessOrder = true: get memindahkan entri ke ujung, yang tertua dibuang lebih dulu
+        private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > segmentCapacity) {
+                    lruEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        synchronized Claims get(Key key, long now) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() <= now) {
+                entries.remove(key);
+                expiredEvictions.increment();
+                return null;
+            }
+            return entry.claims();
+        }
+
+        synchronized void put(Key key, Entry entry) {
+            entries.put(key, entry);
+        }
+
+        synchronized int removeExpired(long now) {
+            int removed = 0;
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext();) {
+                if (it.next().expiresAt() <= now) {
+                    it.remove();
+                    removed++;
+                }
+            }
+            expiredEvictions.add(removed);
+            return removed;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
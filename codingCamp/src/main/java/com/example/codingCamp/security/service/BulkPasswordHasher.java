@@ -0,0 +1,80 @@
+package com.example.codingCamp.security.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hash password untuk impor user massal (CSV). Satu baris = satu BCrypt yang
+ * mahal, jadi semua baris di-hash paralel di ForkJoinPool sendiri (bukan
+ * common pool) yang dibatasi jumlah thread-nya, agar login yang memakai
+ * {@link PasswordHashingExecutor} masih kebagian CPU. Urutan hasil sama
+ * dengan urutan input.
+ */
+@Slf4j
+@Component
+public class BulkPasswordHasher {
+
+    // Sama dengan pola yang diterima BCryptPasswordEncoder.matches
+    private static final Pattern BCRYPT = Pattern.compile("\\A\\$2(a|y|b)?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    // Cost di luar 4-31 membuat BCrypt.checkpw melempar exception saat login; cost tinggi menahan
+    // thread PasswordHashingExecutor terlalu lama (setiap +1 = dua kali lipat waktu)
+    public static final int MIN_IMPORT_COST = 4;
+    public static final int MAX_IMPORT_COST = 14;
+
+    private final BCryptPasswordEncoder encoder;
+    private final ForkJoinPool pool;
+
+    public BulkPasswordHasher(BCryptPasswordEncoder encoder,
+            @Value("${user.import.hash-parallelism:0}") int parallelism) {
+        this.encoder = encoder;
+        int threads = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        this.pool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("password-import-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public List<String> encodeAll(List<String> rawPasswords) {
+        String[] encoded = new String[rawPasswords.size()];
+        pool.submit(() -> IntStream.range(0, encoded.length).parallel()
+                .forEach(i -> encoded[i] = encoder.encode(rawPasswords.get(i))))
+                .join();
+        return Arrays.asList(encoded);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    // Hash BCrypt yang aman dipakai saat login: format benar dan cost dalam rentang import
+    public static boolean isBcryptHash(String value) {
+        if (value == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT.matcher(value);
+        if (!matcher.matches()) {
+            return false;
+        }
+        int cost = Integer.parseInt(matcher.group(2));
+        return cost >= MIN_IMPORT_COST && cost <= MAX_IMPORT_COST;
+    }
+}
@@ -14,11 +14,16 @@ import java.util.Map;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "student_performance")
+@Table(name = "student_performance", indexes = {
+        // Query performa terbaru per siswa (batch prediksi)
+        @Index(name = "idx_student_performance_student_created", columnList = "student_id, created_at")
+})
 public class StudentPerformance {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Import CSV menyimpan ribuan baris; lihat Prediction.id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_performance_seq")
+    @SequenceGenerator(name = "student_performance_seq", sequenceName = "student_performance_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -53,6 +58,14 @@ public class StudentPerformance {
 
     private String statusPrediksi;
 
+    // Input yang terakhir kali diprediksi; batch incremental melewati baris yang tidak berubah
+    @Column(name = "prediction_fingerprint", length = 64)
+    private String predictionFingerprint;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "last_predicted_at")
+    private Date lastPredictedAt;
+
     @CreationTimestamp
     @Temporal(TemporalType.TIMESTAMP)
     @Column(name = "created_at", updatable = false)
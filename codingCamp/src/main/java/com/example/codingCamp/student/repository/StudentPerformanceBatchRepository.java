@@ -0,0 +1,14 @@
+package com.example.codingCamp.student.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import com.example.codingCamp.student.model.StudentPerformance;
+
+public interface StudentPerformanceBatchRepository {
+    // Simpan kolom hasil prediksi beberapa baris sekaligus dalam satu JDBC batch
+    void markPredictedInBatch(List<StudentPerformance> performances);
+
+    // Tandai baris yang input-nya tidak berubah sebagai sudah dicek, tanpa mengubah hasil prediksinya
+    void touchPredictedInBatch(List<Long> ids, Date predictedAt);
+}
@@ -0,0 +1,51 @@
+package com.example.codingCamp.student.repository;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.codingCamp.student.model.StudentPerformance;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fragment StudentPerformanceRepository. UPDATE lewat @Modifying JPQL
+ * dieksekusi satu per satu; di sini semua baris dikirim sebagai satu batch
+ * di connection transaksi yang sedang berjalan.
+ */
+@RequiredArgsConstructor
+public class StudentPerformanceBatchRepositoryImpl implements StudentPerformanceBatchRepository {
+
+    private static final String MARK_PREDICTED = "UPDATE student_performance SET status_prediksi = ?, "
+            + "submitted_for_prediction = true, prediction_fingerprint = ?, last_predicted_at = ? WHERE id = ?";
+    private static final String TOUCH_PREDICTED = "UPDATE student_performance SET last_predicted_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void markPredictedInBatch(List<StudentPerformance> performances) {
+        if (performances.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(MARK_PREDICTED, performances, performances.size(), (ps, performance) -> {
+            ps.setString(1, performance.getStatusPrediksi());
+            ps.setString(2, performance.getPredictionFingerprint());
+            ps.setTimestamp(3, new Timestamp(performance.getLastPredictedAt().getTime()));
+            ps.setLong(4, performance.getId());
+        });
+    }
+
+    @Override
+    public void touchPredictedInBatch(List<Long> ids, Date predictedAt) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Timestamp at = new Timestamp(predictedAt.getTime());
+        jdbcTemplate.batchUpdate(TOUCH_PREDICTED, ids, ids.size(), (ps, id) -> {
+            ps.setTimestamp(1, at);
+            ps.setLong(2, id);
+        });
+    }
+}
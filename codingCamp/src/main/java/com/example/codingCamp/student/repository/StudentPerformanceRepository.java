@@ -1,26 +1,69 @@
 package com.example.codingCamp.student.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import com.example.codingCamp.profile.model.Student;
 import com.example.codingCamp.student.model.StudentPerformance;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Sort;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface StudentPerformanceRepository extends JpaRepository<StudentPerformance, Long> {
+public interface StudentPerformanceRepository
+        extends JpaRepository<StudentPerformance, Long>, StudentPerformanceBatchRepository {
     Optional<StudentPerformance> findTopByStudent_IdAndDeletedAtIsNullOrderByCreatedAtDesc(Long studentId);
 
     List<StudentPerformance> findAllByDeletedAtIsNullAndStudentIsNotNull();
+
+    // Input batch prediksi: hanya performa terbaru (createdAt, lalu id) per siswa
+    String LATEST_PER_STUDENT = "SELECT p FROM StudentPerformance p JOIN FETCH p.student s "
+            + "LEFT JOIN FETCH s.orangTua "
+            + "WHERE p.deletedAt IS NULL AND NOT EXISTS (SELECT 1 FROM StudentPerformance n "
+            + "WHERE n.student = p.student AND n.deletedAt IS NULL "
+            + "AND (n.createdAt > p.createdAt OR (n.createdAt = p.createdAt AND n.id > p.id)))";
+
+    // Dibaca lewat cursor; harus dipanggil di dalam transaksi dan stream wajib ditutup
+    @Query(LATEST_PER_STUDENT)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    Stream<StudentPerformance> streamLatestPerStudent();
+
+    // Mode incremental: belum pernah diprediksi atau diubah setelah prediksi terakhir
+    @Query(LATEST_PER_STUDENT
+            + " AND (p.lastPredictedAt IS NULL OR p.predictionFingerprint IS NULL OR p.updatedAt > p.lastPredictedAt)")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    Stream<StudentPerformance> streamLatestPerStudentChangedSinceLastPrediction();
+
+    @Query("SELECT COUNT(DISTINCT p.student.id) FROM StudentPerformance p WHERE p.deletedAt IS NULL")
+    long countStudentsWithPerformance();
+
+    // Batas atas jumlah yang diprediksi mode incremental (fingerprint dicek belakangan), untuk ETA job
+    @Query("SELECT COUNT(p) FROM StudentPerformance p WHERE p.deletedAt IS NULL AND p.student IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM StudentPerformance n "
+            + "WHERE n.student = p.student AND n.deletedAt IS NULL "
+            + "AND (n.createdAt > p.createdAt OR (n.createdAt = p.createdAt AND n.id > p.id))) "
+            + "AND (p.lastPredictedAt IS NULL OR p.predictionFingerprint IS NULL OR p.updatedAt > p.lastPredictedAt)")
+    long countLatestPerStudentChangedSinceLastPrediction();
+
     Optional<StudentPerformance> findByStudent_Id(Long studentId);
     List<StudentPerformance> findByStudent_Id(Long studentId, Sort sort);
 
     List<StudentPerformance> findByStudentIn(List<Student> students, Sort sort);
     List<StudentPerformance> findByDeletedAtIsNull(Sort sort);
+
+    // Daftar untuk guru: kelas yang diampu plus siswa tanpa kelas (NULL atau kosong)
+    @Query("SELECT p FROM StudentPerformance p WHERE p.deletedAt IS NULL "
+            + "AND (p.student.kelas IN :kelas OR p.student.kelas IS NULL OR TRIM(p.student.kelas) = '')")
+    List<StudentPerformance> findAllInKelas(@Param("kelas") Collection<String> kelas, Sort sort);
     List<StudentPerformance> findByStudent_IdAndDeletedAtIsNull(Long studentId, Sort sort);
     List<StudentPerformance> findByStudentInAndDeletedAtIsNull(List<Student> students, Sort sort);
 }
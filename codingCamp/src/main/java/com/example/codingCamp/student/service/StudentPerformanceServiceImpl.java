@@ -5,6 +5,7 @@ import com.example.codingCamp.profile.model.Parent;
 import com.example.codingCamp.profile.model.Student;
 import com.example.codingCamp.profile.repository.ParentRepository;
 import com.example.codingCamp.profile.repository.StudentRepository;
+import com.example.codingCamp.profile.repository.TeacherRepository;
 import com.example.codingCamp.student.dto.request.CreateStudentPerformanceRequestDTO;
 import com.example.codingCamp.student.dto.request.UpdateStudentPerformanceRequestDTO;
 import com.example.codingCamp.student.dto.response.StudentPerformanceResponseDTO;
@@ -16,6 +17,7 @@ import java.io.IOException;
 import org.hibernate.sql.ast.tree.update.Assignment;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.reactive.resource.NoResourceFoundException;
 import java.util.Optional;
@@ -32,6 +34,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -46,6 +49,9 @@ public class StudentPerformanceServiceImpl implements StudentPerformanceService
     @Autowired
     private ParentRepository parentRepository;
 
+    @Autowired
+    private TeacherRepository teacherRepository;
+
     @Autowired
     AuthService authService;
 
@@ -81,14 +87,24 @@ public class StudentPerformanceServiceImpl implements StudentPerformanceService
     }
 
     // kalo mau input by csv
+    // Satu transaksi: INSERT performa dan nilai per mapel dikirim sebagai JDBC batch saat commit
     @Override
+    @Transactional
     public List<StudentPerformanceResponseDTO> createBulkPerformance(
             List<CreateStudentPerformanceRequestDTO> requestList) {
+        // Satu query untuk semua siswa, bukan findById per baris CSV
+        Set<Long> siswaIds = requestList.stream()
+                .map(CreateStudentPerformanceRequestDTO::getSiswaId)
+                .collect(Collectors.toSet());
+        Map<Long, Student> siswaById = studentRepository.findAllById(siswaIds).stream()
+                .collect(Collectors.toMap(Student::getId, siswa -> siswa));
+
         List<StudentPerformance> toSave = requestList.stream()
                 .map(req -> {
-                    Student siswa = studentRepository.findById(req.getSiswaId())
-                            .orElseThrow(() -> new RuntimeException(
-                                    "Siswa dengan ID " + req.getSiswaId() + " tidak ditemukan"));
+                    Student siswa = siswaById.get(req.getSiswaId());
+                    if (siswa == null) {
+                        throw new RuntimeException("Siswa dengan ID " + req.getSiswaId() + " tidak ditemukan");
+                    }
 
                     Integer avgUjian = avg(req.getNilaiUjianPerMapel());
                     Integer avgTugas = avg(req.getNilaiTugasPerMapel());
@@ -116,7 +132,9 @@ public class StudentPerformanceServiceImpl implements StudentPerformanceService
         return savedList.stream().map(this::toStudentPerformanceResponse).collect(Collectors.toList());
     }
 
+    // createBulkPerformance dipanggil langsung (bukan lewat proxy), transaksinya dibuka di sini
     @Override
+    @Transactional
     public List<StudentPerformanceResponseDTO> importFromCSV(MultipartFile file) {
         List<CreateStudentPerformanceRequestDTO> requestList = new ArrayList<>();
 
@@ -341,7 +359,12 @@ public class StudentPerformanceServiceImpl implements StudentPerformanceService
             } else {
                 performanceList = Collections.emptyList();
             }
-        } else if ("TEACHER".equalsIgnoreCase(role) || "ADMIN".equalsIgnoreCase(role)) {
+        } else if ("TEACHER".equalsIgnoreCase(role)) {
+            List<String> kelas = teacherRepository.findKelasByTeacherId(userId);
+            performanceList = kelas.isEmpty()
+                    ? studentPerformanceRepository.findByDeletedAtIsNull(sort)
+                    : studentPerformanceRepository.findAllInKelas(kelas, sort);
+        } else if ("ADMIN".equalsIgnoreCase(role)) {
             performanceList = studentPerformanceRepository.findByDeletedAtIsNull(sort);
         } else {
             performanceList = Collections.emptyList();
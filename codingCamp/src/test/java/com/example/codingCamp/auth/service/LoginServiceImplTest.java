@@ -0,0 +1,173 @@
+package com.example.codingCamp.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.codingCamp.auth.dto.request.LoginRequest;
+import com.example.codingCamp.auth.dto.response.LoginResponse;
+import com.example.codingCamp.profile.model.Role;
+import com.example.codingCamp.profile.model.UserModel;
+import com.example.codingCamp.profile.repository.UserRepository;
+import com.example.codingCamp.security.jwt.JwtUtils;
+import com.example.codingCamp.security.service.PasswordHashingExecutor;
+
+import io.jsonwebtoken.Claims;
+
+class LoginServiceImplTest {
+
+    private static final BCryptPasswordEncoder ENCODER = new BCryptPasswordEncoder(4);
+
+    // Menghitung BCrypt yang benar-benar dijalankan saat login
+    private final AtomicInteger hashed = new AtomicInteger();
+    private final BCryptPasswordEncoder countingEncoder = new BCryptPasswordEncoder(4) {
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            hashed.incrementAndGet();
+            return super.matches(rawPassword, encodedPassword);
+        }
+    };
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JwtUtils jwtUtils = jwtUtils();
+    private final PasswordHashingExecutor hashing = new PasswordHashingExecutor(countingEncoder, 1, 4, 5000);
+    private final LoginServiceImpl loginService = new LoginServiceImpl(userRepository, jwtUtils,
+            new LoginThrottle(100, 100, 2, 1, 1000), hashing);
+
+    @Test
+    void resolvesUserOnceAndIssuesToken() {
+        when(userRepository.findForLogin("budi@sekolah.id")).thenReturn(List.of(user(null)));
+
+        LoginResponse response = loginService.login(new LoginRequest("budi@sekolah.id", "rahasia"), "10.0.0.1");
+
+        assertEquals(7L, response.getUserId());
+        assertEquals("STUDENT", response.getRole());
+        Claims claims = jwtUtils.parseClaims(response.getToken());
+        assertEquals("budi", claims.getSubject());
+        assertEquals("7", claims.get("id", String.class));
+        verify(userRepository, times(1)).findForLogin(anyString());
+    }
+
+    @Test
+    void repeatedWrongPasswordsLockTheAccountBeforeHashing() {
+        when(userRepository.findForLogin("budi")).thenReturn(List.of(user(null)));
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(BadCredentialsException.class,
+                    () -> loginService.login(new LoginRequest("budi", "salah"), "10.0.0.1"));
+        }
+        // Password benar pun ditolak sampai bucket akun terisi lagi, tanpa BCrypt
+        assertThrows(LoginThrottledException.class,
+                () -> loginService.login(new LoginRequest("budi", "rahasia"), "10.0.0.1"));
+        assertEquals(2, hashed.get());
+    }
+
+    @Test
+    void emailAndUsernameShareTheAccountBucket() {
+        when(userRepository.findForLogin("budi")).thenReturn(List.of(user(null)));
+        when(userRepository.findForLogin("budi@sekolah.id")).thenReturn(List.of(user(null)));
+
+        assertThrows(BadCredentialsException.class,
+                () -> loginService.login(new LoginRequest("budi", "salah"), "10.0.0.1"));
+        assertThrows(BadCredentialsException.class,
+                () -> loginService.login(new LoginRequest("budi@sekolah.id", "salah"), "10.0.0.1"));
+        // Bucket dikunci id user: ganti ke email/username lain tidak menambah jatah tebakan
+        assertThrows(LoginThrottledException.class,
+                () -> loginService.login(new LoginRequest("budi", "rahasia"), "10.0.0.1"));
+        assertEquals(2, hashed.get());
+    }
+
+    @Test
+    void unknownLoginIsThrottledBeforeDummyHashing() {
+        when(userRepository.findForLogin(anyString())).thenReturn(List.of());
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(BadCredentialsException.class,
+                    () -> loginService.login(new LoginRequest("tamu", "salah"), "10.0.0.1"));
+        }
+        int hashedBefore = hashed.get();
+        assertThrows(LoginThrottledException.class,
+                () -> loginService.login(new LoginRequest("tamu", "salah"), "10.0.0.1"));
+        assertEquals(hashedBefore, hashed.get());
+    }
+
+    @Test
+    void parallelWrongPasswordsAreCountedBeforeHashingFinishes() throws Exception {
+        when(userRepository.findForLogin("budi")).thenReturn(List.of(user(null)));
+        // Login pertama membuat hash dummy Spring (timing attack); tanpa ini tiap request paralel ikut
+        // meng-encode-nya dan antrean BCrypt penuh sebelum bucket akun sempat diperiksa
+        loginService.login(new LoginRequest("budi", "rahasia"), "10.0.0.1");
+        hashed.set(0);
+
+        int attempts = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger throttled = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    start.await();
+                    loginService.login(new LoginRequest("budi", "salah"), "10.0.0.1");
+                } catch (LoginThrottledException e) {
+                    throttled.incrementAndGet();
+                } catch (Exception e) {
+                    // password salah
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Burst akun 2: sisanya ditolak tanpa BCrypt
+        assertEquals(attempts - 2, throttled.get());
+        assertEquals(2, hashed.get());
+    }
+
+    @Test
+    void deletedUserCannotLogIn() {
+        when(userRepository.findForLogin("budi")).thenReturn(List.of(user(new Date())));
+
+        assertThrows(DisabledException.class,
+                () -> loginService.login(new LoginRequest("budi", "rahasia"), "10.0.0.1"));
+    }
+
+    private static JwtUtils jwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret",
+                "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60_000);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        return jwtUtils;
+    }
+
+    private static UserModel user(Date deletedAt) {
+        Role role = new Role();
+        role.setRole("STUDENT");
+        UserModel user = new UserModel();
+        user.setId(7L);
+        user.setUsername("budi");
+        user.setEmail("budi@sekolah.id");
+        user.setPassword(ENCODER.encode("rahasia"));
+        user.setRole(role);
+        user.setDeletedAt(deletedAt);
+        return user;
+    }
+}
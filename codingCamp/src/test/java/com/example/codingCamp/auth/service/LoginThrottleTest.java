@@ -0,0 +1,66 @@
+package com.example.codingCamp.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong();
+    // IP: burst 3, 60/menit; akun: burst 2, 1/menit
+    private final LoginThrottle throttle = new LoginThrottle(3, 60, 2, 1, 1000, now::get);
+
+    @Test
+    void ipBucketRefillsOverTime() {
+        for (int i = 0; i < 3; i++) {
+            throttle.acquireIp("10.0.0.1");
+        }
+        LoginThrottledException e = assertThrows(LoginThrottledException.class,
+                () -> throttle.acquireIp("10.0.0.1"));
+        assertEquals(1, e.getRetryAfterSeconds());
+        // IP lain tidak terpengaruh
+        throttle.acquireIp("10.0.0.2");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        throttle.acquireIp("10.0.0.1");
+    }
+
+    @Test
+    void everyAccountAttemptTakesATokenUntilSuccessResetsIt() {
+        // Dua percobaan paralel sudah menghabiskan bucket sebelum BCrypt keduanya selesai
+        throttle.acquireAccount(7L);
+        throttle.acquireAccount(7L);
+
+        LoginThrottledException e = assertThrows(LoginThrottledException.class,
+                () -> throttle.acquireAccount(7L));
+        assertEquals(60, e.getRetryAfterSeconds());
+        // Akun lain tidak terpengaruh
+        throttle.acquireAccount(8L);
+
+        throttle.recordSuccess(7L);
+        throttle.acquireAccount(7L);
+    }
+
+    @Test
+    void unknownLoginsAreLimitedPerNormalizedLogin() {
+        throttle.acquireUnknownLogin("Tamu");
+        throttle.acquireUnknownLogin("tamu ");
+        assertThrows(LoginThrottledException.class, () -> throttle.acquireUnknownLogin("TAMU"));
+        // Bucket login tak dikenal terpisah dari bucket id user
+        throttle.acquireAccount(7L);
+    }
+
+    @Test
+    void attemptThatNeverCheckedPasswordIsGivenBack() {
+        throttle.acquireAccount(7L);
+        throttle.acquireAccount(7L);
+        throttle.releaseAccount(7L);
+
+        throttle.acquireAccount(7L);
+        assertThrows(LoginThrottledException.class, () -> throttle.acquireAccount(7L));
+    }
+}
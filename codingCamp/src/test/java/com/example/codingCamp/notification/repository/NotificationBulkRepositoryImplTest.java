@@ -0,0 +1,99 @@
+package com.example.codingCamp.notification.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.example.codingCamp.notification.model.Notification;
+import com.example.codingCamp.notification.repository.NotificationBulkRepository.UpsertResult;
+
+class NotificationBulkRepositoryImplTest {
+
+    @Test
+    void idsFollowPooledSequenceBlocksAndRowsAreSplitPerStatement() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        // Dua blok dari sequence increment 50: (50, 100] dan (150, 200]
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(100L, 200L));
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenAnswer(invocation -> (invocation.getArguments().length - 1) / 9);
+
+        List<Notification> rows = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Notification notification = new Notification();
+            notification.setUserId((long) i);
+            rows.add(notification);
+        }
+
+        NotificationBulkRepositoryImpl repository = new NotificationBulkRepositoryImpl(jdbcTemplate);
+        assertEquals(60, repository.insertAll(rows));
+
+        List<Long> expected = new ArrayList<>(LongStream.rangeClosed(51, 100).boxed().toList());
+        expected.addAll(LongStream.rangeClosed(151, 160).boxed().toList());
+        assertEquals(expected, rows.stream().map(Notification::getId).toList());
+        verify(jdbcTemplate, times(1)).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void upsertRefreshesExistingKeysAndRewritesKeysWhoseRowIsGone() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class))).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            // Baris lama kunci "a" masih ada (id 7), baris kunci "b" (id 8) sudah dibuang retention
+            return sql.contains("nextval") ? List.of(100L) : List.of(7L);
+        });
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            Object[] args = Arrays.copyOfRange(invocation.getArguments(), 2,
+                    invocation.getArguments().length);
+            for (int i = 0; i < args.length; i += 4) {
+                String key = (String) args[i];
+                long id = "a".equals(key) ? 7L : "b".equals(key) ? 8L : (Long) args[i + 1];
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString("dedup_key")).thenReturn(key);
+                when(rs.getLong("notification_id")).thenReturn(id);
+                when(rs.getTimestamp("notification_created_at")).thenReturn(new Timestamp(0));
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenAnswer(invocation -> (invocation.getArguments().length - 1) / 9);
+
+        List<Notification> rows = List.of(keyed(1L, "a"), keyed(2L, "b"), keyed(3L, "c"), keyed(1L, "a"),
+                keyed(4L, null));
+        NotificationBulkRepositoryImpl repository = new NotificationBulkRepositoryImpl(jdbcTemplate);
+        UpsertResult result = repository.upsertAll(rows);
+
+        assertEquals(1, result.refreshed());
+        // Tanpa kunci, kunci baru, lalu kunci yang barisnya hilang; duplikat "a" dalam input diabaikan
+        assertEquals(List.of(4L, 3L, 2L), result.inserted().stream().map(Notification::getUserId).toList());
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        verify(jdbcTemplate, times(1)).update(anyString(), any(Object[].class));
+    }
+
+    private static Notification keyed(Long userId, String dedupKey) {
+        Notification notification = new Notification();
+        notification.setUserId(userId);
+        notification.setDedupKey(dedupKey);
+        return notification;
+    }
+}
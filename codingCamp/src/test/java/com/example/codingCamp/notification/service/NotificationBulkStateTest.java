@@ -0,0 +1,56 @@
+package com.example.codingCamp.notification.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.codingCamp.notification.repository.NotificationRepository;
+
+class NotificationBulkStateTest {
+
+    private final NotificationRepository repository = mock(NotificationRepository.class);
+    private final NotificationUnreadCounter counter = mock(NotificationUnreadCounter.class);
+    private final NotificationServiceImpl service = new NotificationServiceImpl();
+
+    NotificationBulkStateTest() {
+        ReflectionTestUtils.setField(service, "notificationRepository", repository);
+        ReflectionTestUtils.setField(service, "notificationUnreadCounter", counter);
+    }
+
+    @Test
+    void markReadRunsOneStatementAndAdjustsCounterByAffectedRows() {
+        when(repository.markAllReadByUserId(eq(7L), any(Date.class))).thenReturn(1200);
+        when(repository.markReadByUserIdAndIds(eq(7L), anyCollection(), any(Date.class))).thenReturn(2);
+
+        assertEquals(1200, service.markAllAsRead(7L));
+        // id duplikat tidak dihitung dua kali
+        assertEquals(2, service.markAsRead(7L, List.of(11L, 12L, 12L)));
+
+        verify(repository).markReadByUserIdAndIds(eq(7L), eq(Set.of(11L, 12L)), any(Date.class));
+        verify(counter).onAllRead(7L);
+        verify(counter).onRead(7L, 2);
+        verify(repository).markAllReadByUserId(eq(7L), any(Date.class));
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void emptyIdListDoesNotTouchDatabase() {
+        assertEquals(0, service.markAsRead(7L, List.of()));
+
+        verify(repository, never()).markReadByUserIdAndIds(anyLong(), anyCollection(), any(Date.class));
+    }
+}
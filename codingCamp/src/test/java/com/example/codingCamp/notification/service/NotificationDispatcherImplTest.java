@@ -0,0 +1,111 @@
+package com.example.codingCamp.notification.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.codingCamp.notification.dto.response.NotificationDispatchStatsDTO;
+import com.example.codingCamp.notification.model.Notification;
+import com.example.codingCamp.notification.repository.NotificationBulkRepository.UpsertResult;
+import com.example.codingCamp.notification.repository.NotificationRepository;
+
+class NotificationDispatcherImplTest {
+
+    @Test
+    void fullQueueBlocksCallerUntilDispatcherFreesSlotAndShutdownDrainsQueue() throws Exception {
+        NotificationRepository repository = mock(NotificationRepository.class);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> writers = new ArrayList<>();
+        when(repository.insertAll(anyList())).thenAnswer(invocation -> {
+            synchronized (writers) {
+                writers.add(Thread.currentThread().getName());
+            }
+            // Thread dispatcher tertahan sampai latch dibuka supaya antrean terisi
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ((List<?>) invocation.getArgument(0)).size();
+        });
+        NotificationDispatcherImpl dispatcher = new NotificationDispatcherImpl(repository,
+                mock(NotificationPushService.class), mock(PlatformTransactionManager.class), 1, 1, 5000, 5000);
+
+        List<CompletableFuture<UpsertResult>> futures = new CopyOnWriteArrayList<>();
+        futures.add(dispatcher.dispatch(List.of(notification()), false));
+        // Tunggu batch pertama dipegang thread dispatcher
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        futures.add(dispatcher.dispatch(List.of(notification()), false));
+
+        // Thread 1 sibuk dan antrean (1) penuh: pengirim batch ketiga menunggu, tidak menulis sendiri
+        Thread producer = Thread.ofVirtual().start(
+                () -> futures.add(dispatcher.dispatch(List.of(notification(), notification()), false)));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (dispatcher.getStats().getProducerWaits() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1L, dispatcher.getStats().getProducerWaits());
+        assertTrue(producer.isAlive());
+        assertEquals(1, dispatcher.getStats().getQueueDepth());
+
+        release.countDown();
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        dispatcher.shutdown();
+
+        assertEquals(3, futures.size());
+        assertTrue(futures.stream().allMatch(f -> f.isDone() && !f.isCompletedExceptionally()));
+        assertTrue(writers.stream().allMatch(name -> name.startsWith("notification-dispatch")));
+        NotificationDispatchStatsDTO stats = dispatcher.getStats();
+        assertEquals(3L, stats.getCompleted());
+        assertEquals(4L, stats.getRowsWritten());
+        assertEquals(0, stats.getQueueDepth());
+        // Setelah shutdown batch baru ditolak, tidak ditulis diam-diam
+        assertTrue(dispatcher.dispatch(List.of(notification()), false).isCompletedExceptionally());
+    }
+
+    @Test
+    void queueStillFullAfterEnqueueTimeoutRejectsBatch() throws Exception {
+        NotificationRepository repository = mock(NotificationRepository.class);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.insertAll(anyList())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ((List<?>) invocation.getArgument(0)).size();
+        });
+        NotificationDispatcherImpl dispatcher = new NotificationDispatcherImpl(repository,
+                mock(NotificationPushService.class), mock(PlatformTransactionManager.class), 1, 1, 5000, 50);
+
+        dispatcher.dispatch(List.of(notification()), false);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(List.of(notification()), false);
+        CompletableFuture<UpsertResult> rejected = dispatcher.dispatch(List.of(notification()), false);
+
+        assertTrue(rejected.isCompletedExceptionally());
+        NotificationDispatchStatsDTO stats = dispatcher.getStats();
+        assertEquals(1L, stats.getEnqueueTimeouts());
+        assertEquals(1L, stats.getFailed());
+
+        release.countDown();
+        dispatcher.shutdown();
+        assertEquals(2L, dispatcher.getStats().getCompleted());
+    }
+
+    private static Notification notification() {
+        Notification notification = new Notification();
+        notification.setUserId(1L);
+        return notification;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.codingCamp.notification.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGNotification;
+import org.postgresql.core.Notification;
+
+class NotificationEventListenerTest {
+
+    @Test
+    void groupsPayloadsPerUserAndSkipsUnknownOnes() {
+        PGNotification[] notifications = {
+                event("7:101"),
+                event("8:102"),
+                event("7:103"),
+                event("rusak"),
+                event("9:bukan-angka"),
+                event(null),
+        };
+
+        Map<Long, List<Long>> byUser = NotificationEventListener.groupByUser(notifications, null);
+
+        assertEquals(Map.of(7L, List.of(101L, 103L), 8L, List.of(102L)), byUser);
+    }
+
+    @Test
+    void skipsPayloadsFromOwnInstance() {
+        PGNotification[] notifications = {
+                event("7:101:self"),
+                event("7:102:other"),
+                event("8:103"),
+        };
+
+        assertEquals(Map.of(7L, List.of(102L), 8L, List.of(103L)),
+                NotificationEventListener.groupByUser(notifications, "self"));
+        assertEquals(Map.of(7L, List.of(101L, 102L), 8L, List.of(103L)),
+                NotificationEventListener.groupByUser(notifications, null));
+    }
+
+    private static PGNotification event(String payload) {
+        return new Notification(NotificationPushServiceImpl.CHANNEL, 1, payload);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.codingCamp.notification.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.codingCamp.notification.service.NotificationServiceImpl.FeedCursor;
+
+class NotificationFeedCursorTest {
+
+    @Test
+    void cursorRoundTripsLastRowPosition() {
+        FeedCursor cursor = new FeedCursor(new Date(1_760_000_000_123L), 4_051L);
+
+        FeedCursor decoded = FeedCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void malformedCursorIsRejectedAsBadRequest() {
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode("bukan-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode("%%%"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.codingCamp.notification.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.codingCamp.notification.dto.response.NotificationRetentionReportDTO;
+import com.example.codingCamp.notification.service.NotificationPartitionManager.Partition;
+
+class NotificationRetentionServiceImplTest {
+
+    @Test
+    void ttlFallsBackToDefaultAndLongestTtlBoundsPartitionDrops() {
+        NotificationRetentionProperties properties = properties();
+
+        assertEquals(90, properties.ttlDays("ERROR", true));
+        assertEquals(30, properties.ttlDays("INFO", true));
+        assertEquals(30, properties.ttlDays(null, true));
+        assertEquals(180, properties.ttlDays("ERROR", false));
+        assertEquals(180, properties.maxTtlDays());
+
+        assertEquals(Partition.of(YearMonth.of(2025, 1)), Partition.parse("notification_2025_01"));
+        assertEquals("2025-02-01", Partition.parse("notification_2025_01").upperBound().toString());
+        assertNull(Partition.parse(NotificationPartitionManager.DEFAULT_PARTITION));
+    }
+
+    @Test
+    void legacyIndexesAreRewrittenForPartitionedTable() {
+        String legacy = "notification_unpartitioned";
+
+        assertEquals("CREATE INDEX idx_notification_user_unread ON notification USING btree (user_id, is_read)",
+                NotificationPartitionManager.rewriteIndex("CREATE INDEX idx_notification_user_unread "
+                        + "ON public.notification_unpartitioned USING btree (user_id, is_read)", legacy));
+        // Index unik wajib memuat kunci partisi
+        assertEquals("CREATE UNIQUE INDEX uk_x ON notification USING btree (user_id, lower((type)::text), created_at) "
+                + "WHERE (is_read = false)",
+                NotificationPartitionManager.rewriteIndex("CREATE UNIQUE INDEX uk_x ON public.notification_unpartitioned "
+                        + "USING btree (user_id, lower((type)::text)) WHERE (is_read = false)", legacy));
+        assertEquals("CREATE UNIQUE INDEX uk_y ON notification USING btree (created_at, id)",
+                NotificationPartitionManager.rewriteIndex(
+                        "CREATE UNIQUE INDEX uk_y ON notification_unpartitioned USING btree (created_at, id)", legacy));
+    }
+
+    @Test
+    void dropsWholeExpiredPartitionsBeforeDeletingRemainingRowsInBatches() throws Exception {
+        NotificationPartitionManager partitionManager = mock(NotificationPartitionManager.class);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        YearMonth now = YearMonth.now();
+        Partition expired = Partition.of(now.minusMonths(8));
+        Partition recent = Partition.of(now.minusMonths(2));
+        when(partitionManager.isPartitioned()).thenReturn(true);
+        when(partitionManager.listPartitions()).thenReturn(List.of(expired, recent));
+        when(partitionManager.estimateRows(expired)).thenReturn(1_000L);
+        when(partitionManager.estimateTotalRows()).thenReturn(250L);
+
+        List<String> statements = new ArrayList<>();
+        // Batch pertama penuh (2 = delete-batch-size) sehingga DELETE diulang sekali
+        int[] firstBatch = { 2 };
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            statements.add(invocation.getArgument(0));
+            int rows = firstBatch[0];
+            firstBatch[0] = 0;
+            return rows;
+        });
+
+        NotificationRetentionServiceImpl service = new NotificationRetentionServiceImpl(properties(),
+                partitionManager, jdbcTemplate, lockingDataSource());
+        NotificationRetentionReportDTO report = service.runRetention();
+
+        assertFalse(report.getSkipped());
+        assertEquals(List.of(expired.name()), report.getPartitionsDropped());
+        assertEquals(1_000L, report.getPartitionRowsReclaimed());
+        verify(partitionManager).drop(expired);
+        verify(partitionManager, never()).drop(recent);
+        verify(partitionManager, never()).archive(any(), any());
+
+        // ERROR + default, untuk sudah dibaca dan belum dibaca, plus satu ulangan batch penuh,
+        // lalu kunci dedup yang sudah basi
+        assertEquals(6, statements.size());
+        assertTrue(statements.get(5).startsWith("DELETE FROM notification_dedup"));
+        assertEquals(2L, report.getRowsDeleted());
+        assertEquals(1_002L, report.getTotalRowsReclaimed());
+        assertEquals(250L, report.getRowsRetained());
+        verify(partitionManager).ensurePartitions(anyInt());
+    }
+
+    private static NotificationRetentionProperties properties() {
+        NotificationRetentionProperties properties = new NotificationRetentionProperties();
+        properties.setReadTtlDays(Map.of("default", 30, "ERROR", 90));
+        properties.setUnreadTtlDays(Map.of("default", 180));
+        properties.setDeleteBatchSize(2);
+        return properties;
+    }
+
+    private static DataSource lockingDataSource() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet result = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(result);
+        when(result.next()).thenReturn(true);
+        when(result.getBoolean(1)).thenReturn(true);
+        return dataSource;
+    }
+}
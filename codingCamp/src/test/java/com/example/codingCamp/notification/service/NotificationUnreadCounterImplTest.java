@@ -0,0 +1,106 @@
+package com.example.codingCamp.notification.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.codingCamp.notification.model.Notification;
+import com.example.codingCamp.notification.repository.NotificationRepository;
+import com.example.codingCamp.notification.repository.UnreadCount;
+
+class NotificationUnreadCounterImplTest {
+
+    @Test
+    void countsFromDatabaseOnceThenTracksChangesInMemory() {
+        NotificationRepository repository = mock(NotificationRepository.class);
+        when(repository.countByUserIdAndIsReadFalse(7L)).thenReturn(3L);
+        NotificationUnreadCounterImpl counter = new NotificationUnreadCounterImpl(repository);
+
+        assertEquals(3, counter.getUnreadCount(7L));
+        counter.onCreated(Map.of(7L, List.of(101L, 102L), 8L, List.of(103L)));
+        assertEquals(5, counter.getUnreadCount(7L));
+        counter.onRead(7L, 1);
+        assertEquals(4, counter.getUnreadCount(7L));
+        counter.onAllRead(7L);
+        assertEquals(0, counter.getUnreadCount(7L));
+
+        verify(repository, times(1)).countByUserIdAndIsReadFalse(7L);
+    }
+
+    @Test
+    void localWritesCountAndEventsDuringFirstLoadAreKept() {
+        NotificationRepository repository = mock(NotificationRepository.class);
+        NotificationUnreadCounterImpl counter = new NotificationUnreadCounterImpl(repository);
+        // Notifikasi commit di tengah query jumlah awal
+        when(repository.countByUserIdAndIsReadFalse(7L)).thenAnswer(invocation -> {
+            counter.onCreated(Map.of(7L, List.of(104L)));
+            return 3L;
+        });
+
+        assertEquals(4, counter.getUnreadCount(7L));
+        // Tanpa transaksi aktif langsung dihitung; notifikasi yang sudah dibaca tidak
+        counter.onWritten(List.of(notification(7L, 105L, false), notification(7L, 106L, true)));
+        assertEquals(5, counter.getUnreadCount(7L));
+    }
+
+    @Test
+    void idleCountersAreEvicted() {
+        NotificationRepository repository = mock(NotificationRepository.class);
+        when(repository.countByUserIdAndIsReadFalse(7L)).thenReturn(3L, 1L);
+        NotificationUnreadCounterImpl counter = new NotificationUnreadCounterImpl(repository);
+        ReflectionTestUtils.setField(counter, "idleEvictMs", -1L);
+
+        assertEquals(3, counter.getUnreadCount(7L));
+        counter.evictIdle();
+        assertEquals(1, counter.getUnreadCount(7L));
+        verify(repository, times(2)).countByUserIdAndIsReadFalse(7L);
+    }
+
+    @Test
+    void reconcileCorrectsDriftFromOtherInstances() {
+        NotificationRepository repository = mock(NotificationRepository.class);
+        when(repository.countByUserIdAndIsReadFalse(7L)).thenReturn(4L);
+        when(repository.countByUserIdAndIsReadFalse(8L)).thenReturn(2L);
+        NotificationUnreadCounterImpl counter = new NotificationUnreadCounterImpl(repository);
+        counter.getUnreadCount(7L);
+        counter.getUnreadCount(8L);
+
+        // Instance lain menandai semua notifikasi user 7 sudah dibaca; user 8 tidak lagi punya unread
+        when(repository.countUnreadByUserIds(anyCollection())).thenReturn(List.of(unread(7L, 1L)));
+        counter.reconcile();
+
+        assertEquals(1, counter.getUnreadCount(7L));
+        assertEquals(0, counter.getUnreadCount(8L));
+    }
+
+    private static Notification notification(Long userId, Long id, boolean read) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setUserId(userId);
+        notification.setIsRead(read);
+        return notification;
+    }
+
+    private static UnreadCount unread(Long userId, Long count) {
+        return new UnreadCount() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Long getUnread() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.codingCamp.notification.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.codingCamp.notification.dto.response.NotificationDispatchStatsDTO;
+import com.example.codingCamp.notification.model.Notification;
+import com.example.codingCamp.notification.repository.NotificationBulkRepository.UpsertResult;
+import com.example.codingCamp.prediction.model.Prediction;
+import com.example.codingCamp.profile.repository.TeacherKelas;
+import com.example.codingCamp.profile.service.TeacherAssignments;
+
+class PredictionNotificationFanOutTest {
+
+    // Menulis langsung di thread pemanggil; kunci dedup yang sudah pernah ditulis dianggap refresh
+    private static class RecordingDispatcher implements NotificationDispatcher {
+        private final List<List<Notification>> batches = new ArrayList<>();
+        private final Set<String> storedKeys = new HashSet<>();
+
+        @Override
+        public CompletableFuture<UpsertResult> dispatch(List<Notification> notifications, boolean dedup) {
+            List<Notification> rows = List.copyOf(notifications);
+            batches.add(rows);
+            List<Notification> inserted = dedup
+                    ? rows.stream().filter(n -> storedKeys.add(n.getDedupKey())).toList()
+                    : rows;
+            return CompletableFuture.completedFuture(new UpsertResult(inserted, rows.size() - inserted.size()));
+        }
+
+        @Override
+        public NotificationDispatchStatsDTO getStats() {
+            return new NotificationDispatchStatsDTO();
+        }
+
+        List<Notification> all() {
+            return batches.stream().flatMap(List::stream).toList();
+        }
+    }
+
+    @Test
+    void dispatchesCommittedChunksInBoundedBatchesAndRendersOncePerRole() {
+        RecordingDispatcher dispatcher = new RecordingDispatcher();
+        List<Long> teachers = List.of(100L, 101L, 102L);
+        PredictionNotificationFanOut fanOut = new PredictionNotificationFanOut(dispatcher,
+                unassigned(100L, 101L, 102L), 4, false, false, 1000);
+
+        fanOut.add(prediction("Budi"), 1L, 50L, "X-A");
+        fanOut.add(prediction("Sari"), 2L, null, "X-A");
+        // Belum ada yang dikirim sebelum chunk prediksi commit
+        assertTrue(dispatcher.batches.isEmpty());
+        fanOut.commit();
+
+        // 5 + 4 baris -> batch 4, 4, 1
+        assertEquals(List.of(4, 4, 1), dispatcher.batches.stream().map(List::size).toList());
+
+        List<Notification> budiTeachers = dispatcher.all().subList(2, 5);
+        assertEquals(teachers, budiTeachers.stream().map(Notification::getUserId).toList());
+        assertSame(budiTeachers.get(0).getMessage(), budiTeachers.get(2).getMessage());
+
+        fanOut.finish();
+        assertEquals(9, fanOut.getWrittenCount());
+        // 2 siswa + 1 orang tua + 3 guru
+        assertEquals(6, fanOut.getRecipientCount());
+    }
+
+    @Test
+    void discardNeverDispatchesRowsOfRolledBackChunk() {
+        RecordingDispatcher dispatcher = new RecordingDispatcher();
+        PredictionNotificationFanOut fanOut = new PredictionNotificationFanOut(dispatcher, unassigned(100L), 2,
+                false, false, 1000);
+
+        fanOut.add(prediction("Budi"), 1L, 50L, "X-A");
+        fanOut.discard();
+        fanOut.add(prediction("Budi"), 1L, 50L, "X-A");
+        fanOut.commit();
+        fanOut.finish();
+
+        assertEquals(3, dispatcher.all().size());
+        assertEquals(3, fanOut.getWrittenCount());
+    }
+
+    @Test
+    void digestModeWritesOneSummaryPerTeacherFromCommittedChunks() {
+        RecordingDispatcher dispatcher = new RecordingDispatcher();
+        PredictionNotificationFanOut fanOut = new PredictionNotificationFanOut(dispatcher, unassigned(100L, 101L),
+                500, true, false, 1000);
+
+        fanOut.add(prediction("Budi", "Significant Decrease Performance"), 1L, null, "X-A");
+        fanOut.add(prediction("Sari", "Stable Performance"), 2L, null, "X-A");
+        fanOut.commit();
+        assertEquals(2, dispatcher.all().size());
+
+        // chunk yang di-rollback tidak ikut dihitung di ringkasan
+        fanOut.add(prediction("Andi", "Significant Decrease Performance"), 3L, null, "X-A");
+        fanOut.discard();
+
+        dispatcher.batches.clear();
+        fanOut.finish();
+        assertEquals(4, fanOut.getWrittenCount());
+
+        List<Notification> written = dispatcher.all();
+        assertEquals(List.of(100L, 101L), written.stream().map(Notification::getUserId).toList());
+        Notification digest = written.get(0);
+        assertEquals(fanOut.getRunId(), digest.getBatchRunId());
+        assertEquals("ERROR", digest.getType());
+        assertTrue(digest.getTitle().contains("2 Siswa"));
+        assertTrue(digest.getMessage().contains("Budi"));
+        assertFalse(digest.getMessage().contains("Andi"));
+    }
+
+    @Test
+    void dedupModeCountsUnchangedNotificationsAsRefreshed() {
+        RecordingDispatcher dispatcher = new RecordingDispatcher();
+
+        PredictionNotificationFanOut first = new PredictionNotificationFanOut(dispatcher, unassigned(100L), 500,
+                false, true, 1000);
+        first.add(prediction("Budi"), 1L, 50L, "X-A");
+        first.commit();
+        first.finish();
+        assertEquals(3, first.getWrittenCount());
+
+        // Batch kedua: Budi sama persis, status Sari berubah -> hanya Sari yang jadi baris baru
+        PredictionNotificationFanOut second = new PredictionNotificationFanOut(dispatcher, unassigned(100L), 500,
+                false, true, 1000);
+        second.add(prediction("Budi"), 1L, 50L, "X-A");
+        Prediction sari = prediction("Sari", "Significant Decrease Performance");
+        sari.setSiswaId(2L);
+        second.add(sari, 2L, null, "X-A");
+        second.commit();
+        second.finish();
+
+        assertEquals(2, second.getWrittenCount());
+        assertEquals(3, second.getRefreshedCount());
+        assertEquals("50|1|Stable Performance|2", PredictionNotificationFanOut.dedupKey(50L, prediction("Budi")));
+    }
+
+    @Test
+    void teachersOnlyReceiveStudentsOfTheirKelas() {
+        RecordingDispatcher dispatcher = new RecordingDispatcher();
+        // 100 mengampu X-A, 101 mengampu X-B, 102 belum ditugaskan
+        TeacherAssignments teachers = TeacherAssignments.of(List.of(row(100L, "X-A"), row(101L, "X-B"),
+                row(102L, null)));
+        PredictionNotificationFanOut fanOut = new PredictionNotificationFanOut(dispatcher, teachers, 500, false,
+                false, 1000);
+
+        fanOut.add(prediction("Budi"), 1L, null, "X-A");
+        fanOut.add(prediction("Sari"), 2L, null, null);
+        fanOut.commit();
+        fanOut.finish();
+
+        List<Long> recipients = dispatcher.all().stream().map(Notification::getUserId).toList();
+        // Budi: siswa + guru X-A + guru tanpa kelas; Sari tanpa kelas: siswa + semua guru
+        assertEquals(List.of(1L, 100L, 102L, 2L, 100L, 101L, 102L), recipients);
+    }
+
+    @Test
+    void digestOnlyCountsStudentsOfTheTeachersKelas() {
+        RecordingDispatcher dispatcher = new RecordingDispatcher();
+        TeacherAssignments teachers = TeacherAssignments.of(List.of(row(100L, "X-A"), row(101L, "X-B"),
+                row(102L, null)));
+        PredictionNotificationFanOut fanOut = new PredictionNotificationFanOut(dispatcher, teachers, 500, true,
+                false, 1000);
+
+        fanOut.add(prediction("Budi", "Significant Decrease Performance"), 1L, null, "X-A");
+        fanOut.add(prediction("Sari", "Significant Decrease Performance"), 2L, null, "X-B");
+        fanOut.commit();
+        dispatcher.batches.clear();
+        fanOut.finish();
+
+        Map<Long, Notification> digests = dispatcher.all().stream()
+                .collect(Collectors.toMap(Notification::getUserId, n -> n));
+        assertEquals(Set.of(100L, 101L, 102L), digests.keySet());
+        assertTrue(digests.get(100L).getMessage().contains("Budi"));
+        assertFalse(digests.get(100L).getMessage().contains("Sari"));
+        assertTrue(digests.get(101L).getMessage().contains("Sari"));
+        assertTrue(digests.get(102L).getTitle().contains("2 Siswa"));
+    }
+
+    private static TeacherAssignments unassigned(Long... teacherIds) {
+        return TeacherAssignments.of(Arrays.stream(teacherIds).map(id -> row(id, null)).toList());
+    }
+
+    private static TeacherKelas row(Long teacherId, String kelas) {
+        return new TeacherKelas() {
+            @Override
+            public Long getTeacherId() {
+                return teacherId;
+            }
+
+            @Override
+            public String getKelas() {
+                return kelas;
+            }
+        };
+    }
+
+    private static Prediction prediction(String nama) {
+        return prediction(nama, "Stable Performance");
+    }
+
+    private static Prediction prediction(String nama, String status) {
+        return Prediction.builder()
+                .siswaId(1L)
+                .namaSiswa(nama)
+                .semesterSiswa("2")
+                .nilaiAkhir(80)
+                .jumlahKetidakhadiran(1)
+                .persentaseTugas(90)
+                .statusPrediksi(status)
+                .build();
+    }
+}
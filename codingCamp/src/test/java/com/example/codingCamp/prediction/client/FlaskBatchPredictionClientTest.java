@@ -0,0 +1,104 @@
+package com.example.codingCamp.prediction.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.codingCamp.student.model.StudentPerformance;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+class FlaskBatchPredictionClientTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private HttpServer stub;
+    private FlaskBatchPredictionClient client;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        // Stub /predict_batch: label ditentukan dari "Rata-rata" supaya urutan bisa dicek
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.createContext("/predict_batch", exchange -> {
+            Map<String, Object> request = mapper.readValue(exchange.getRequestBody(), Map.class);
+            List<Map<String, Object>> instances = (List<Map<String, Object>>) request.get("instances");
+            batchSizes.add(instances.size());
+
+            List<String> labels = new ArrayList<>();
+            List<List<Double>> probabilities = new ArrayList<>();
+            for (Map<String, Object> row : instances) {
+                int rata = ((Number) row.get("Rata-rata")).intValue();
+                labels.add(rata >= 50 ? "Significant Increase Performance" : "Significant Decrease Performance");
+                probabilities.add(List.of(rata / 100.0, 0.0, 1 - rata / 100.0));
+            }
+            byte[] body = mapper.writeValueAsBytes(Map.of("predicted_label", labels, "probabilities", probabilities));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+
+        client = new FlaskBatchPredictionClient(new PredictionHttpClient(1000, 5000, 0, 0, 0, 5, 1000, false, 0));
+        ReflectionTestUtils.setField(client, "flaskApiUrl",
+                "http://127.0.0.1:" + stub.getAddress().getPort() + "/predict");
+        ReflectionTestUtils.setField(client, "batchUrl", "");
+        ReflectionTestUtils.setField(client, "maxBatchSize", 8);
+        ReflectionTestUtils.setField(client, "lingerMs", 50L);
+        client.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.stop();
+        stub.stop(0);
+    }
+
+    @Test
+    void splitsBatchResultsBackToEachCaller() {
+        // Belum ada request: thread dispatcher belum dibuat
+        assertNull(ReflectionTestUtils.getField(client, "dispatcher"));
+        List<CompletableFuture<FlaskBatchPredictionClient.Result>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(client.submit(performance(i * 5)));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            FlaskBatchPredictionClient.Result result = futures.get(i).join();
+            String expected = i * 5 >= 50 ? "Significant Increase Performance" : "Significant Decrease Performance";
+            assertEquals(expected, result.getPredictedLabel());
+            assertEquals(i * 5 / 100.0, result.getProbabilities().get(0), 1e-9);
+        }
+
+        assertEquals(20, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 8), "batch sizes " + batchSizes);
+        assertTrue(batchSizes.size() < 20, "expected coalescing, got " + batchSizes);
+    }
+
+    private StudentPerformance performance(int rata) {
+        StudentPerformance performance = new StudentPerformance();
+        performance.setPersentaseTugas(80);
+        performance.setJumlahKetidakhadiran(2);
+        performance.setNilaiAkhirRataRata(rata);
+        return performance;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.codingCamp.prediction.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.example.codingCamp.prediction.model.PredictionStatus;
+import com.example.codingCamp.prediction.service.FlaskPredictionScorer;
+import com.example.codingCamp.student.model.StudentPerformance;
+import com.sun.net.httpserver.HttpServer;
+
+class PredictionHttpClientTest {
+
+    // Perilaku stub per request, diambil berurutan; kosong = 200 tanpa delay
+    private record Step(int status, long delayMs) {
+    }
+
+    private final Queue<Step> script = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private HttpServer stub;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.createContext("/predict", exchange -> {
+            hits.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            Step step = script.poll();
+            int status = step == null ? 200 : step.status();
+            long delay = step == null ? 0 : step.delayMs();
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = (status == 200
+                    ? "{\"prediction\":\"Significant Increase Performance\"}"
+                    : "{\"error\":\"stub\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+        url = "http://127.0.0.1:" + stub.getAddress().getPort() + "/predict";
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+    }
+
+    @Test
+    void retriesServerErrorsThenSucceeds() {
+        PredictionHttpClient client = client(3, 5, 1000, 1000, false, 0);
+        script.add(new Step(503, 0));
+        script.add(new Step(500, 0));
+
+        assertEquals(200, client.postForEntity(url, body(), Map.class).getStatusCode().value());
+        assertEquals(3, hits.get());
+        assertEquals(2, client.getRetries());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        PredictionHttpClient client = client(3, 5, 1000, 1000, false, 0);
+        script.add(new Step(400, 0));
+
+        assertThrows(HttpClientErrorException.class, () -> client.postForEntity(url, body(), Map.class));
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void readTimeoutIsRetried() {
+        PredictionHttpClient client = client(1, 5, 1000, 200, false, 0);
+        script.add(new Step(200, 500));
+
+        client.postForEntity(url, body(), Map.class);
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    void circuitOpensAndFailsFastUntilProbeSucceeds() throws InterruptedException {
+        PredictionHttpClient client = client(0, 2, 200, 1000, false, 0);
+        script.add(new Step(503, 0));
+        script.add(new Step(503, 0));
+
+        assertThrows(HttpServerErrorException.class, () -> client.postForEntity(url, body(), Map.class));
+        assertThrows(HttpServerErrorException.class, () -> client.postForEntity(url, body(), Map.class));
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        assertThrows(CircuitBreaker.OpenException.class, () -> client.postForEntity(url, body(), Map.class));
+        assertEquals(2, hits.get(), "circuit terbuka tidak boleh mengirim request");
+
+        Thread.sleep(250);
+        client.postForEntity(url, body(), Map.class);
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+        assertEquals(3, hits.get());
+    }
+
+    @Test
+    void localErrorDuringProbeReleasesProbeSlot() throws InterruptedException {
+        PredictionHttpClient client = client(0, 1, 200, 1000, false, 0);
+        script.add(new Step(503, 0));
+        assertThrows(HttpServerErrorException.class, () -> client.postForEntity(url, body(), Map.class));
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        Thread.sleep(250);
+        // Variabel URI tidak terisi: IllegalArgumentException sebelum request terkirim
+        assertThrows(IllegalArgumentException.class,
+                () -> client.postForEntity(url + "?q={missing}", body(), Map.class));
+
+        client.postForEntity(url, body(), Map.class);
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void hedgedRequestCutsTailLatency() {
+        PredictionHttpClient client = client(0, 5, 1000, 5000, true, 50);
+        script.add(new Step(200, 2000));
+
+        long start = System.nanoTime();
+        client.postForEntity(url, body(), Map.class);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 1000, "hedge seharusnya menjawab sebelum request lambat selesai: " + elapsedMs);
+        assertEquals(1, client.getHedges());
+        assertEquals(2, client.getAttempts());
+    }
+
+    @Test
+    void scorerFallsBackWhileCircuitIsOpen() {
+        PredictionHttpClient client = client(0, 1, 60_000, 1000, false, 0);
+        FlaskPredictionScorer scorer = new FlaskPredictionScorer(client, null);
+        ReflectionTestUtils.setField(scorer, "flaskApiUrl", url);
+
+        script.add(new Step(503, 0));
+        assertThrows(RuntimeException.class, () -> scorer.score(performance()));
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        // 90*0.5 + 90*0.3 + 1*0.2 = 72 -> STABLE menurut aturan cadangan
+        assertEquals(PredictionStatus.STABLE, scorer.score(performance()));
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void connectFailureIsReportedAsResourceAccess() {
+        stub.stop(0);
+        PredictionHttpClient client = client(1, 5, 1000, 1000, false, 0);
+        assertThrows(ResourceAccessException.class, () -> client.postForEntity(url, body(), Map.class));
+        assertEquals(1, client.getRetries());
+    }
+
+    private static PredictionHttpClient client(int maxRetries, int failureThreshold, long openMs, long readTimeoutMs,
+            boolean hedge, long hedgeDelayMs) {
+        return new PredictionHttpClient(1000, readTimeoutMs, maxRetries, 1, 5, failureThreshold, openMs, hedge,
+                hedgeDelayMs);
+    }
+
+    private static HttpEntity<Map<String, Object>> body() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(Map.of("Persentase Tugas", 80), headers);
+    }
+
+    private static StudentPerformance performance() {
+        StudentPerformance performance = new StudentPerformance();
+        performance.setPersentaseTugas(90);
+        performance.setJumlahKetidakhadiran(1);
+        performance.setNilaiAkhirRataRata(90);
+        return performance;
+    }
+}
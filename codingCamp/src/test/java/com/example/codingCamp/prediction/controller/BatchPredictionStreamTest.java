@@ -0,0 +1,25 @@
+package com.example.codingCamp.prediction.controller;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.codingCamp.prediction.dto.response.PredictionResponseDTO;
+
+class BatchPredictionStreamTest {
+
+    @Test
+    void fullQueueDropsClientInsteadOfBlockingJobThread() {
+        // Writer belum jalan (event "job" belum dikirim), jadi antrean hanya terisi
+        BatchPredictionStream stream = BatchPredictionStream.ndjson(60_000, 4);
+        stream.onStart(10);
+        for (long id = 1; id <= 3; id++) {
+            stream.onSuccess(PredictionResponseDTO.builder().predictionId(id).build());
+        }
+
+        assertThrows(IllegalStateException.class,
+                () -> stream.onSuccess(PredictionResponseDTO.builder().predictionId(4L).build()));
+        // Setelah diputus, event berikutnya langsung ditolak supaya job melepas subscriber ini
+        assertThrows(IllegalStateException.class, () -> stream.onFailure(5L, "stub"));
+    }
+}
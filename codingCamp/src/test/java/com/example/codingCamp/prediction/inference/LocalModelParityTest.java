@@ -0,0 +1,112 @@
+package com.example.codingCamp.prediction.inference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LocalModelParityTest {
+
+    // Dihasilkan oleh: python machineLearning/export_model.py
+    private static final Path MODEL = Path.of("../machineLearning/student_model.bin");
+    private static final Path PARITY = Path.of("../machineLearning/parity_expected.csv");
+
+    @Test
+    void matchesPythonOutputsOnDataset() throws IOException {
+        assumeTrue(Files.exists(MODEL) && Files.exists(PARITY),
+                "Jalankan export_model.py untuk menghasilkan model & parity_expected.csv");
+
+        DenseNetwork network = new DenseNetwork(ModelBundle.load(MODEL), DenseNetwork.selectKernel(true));
+        String[] labels = network.getBundle().getLabels();
+        float[] probabilities = new float[labels.length];
+        int rows = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(PARITY)) {
+            reader.readLine(); // header
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] cols = line.split(",");
+                int tugas = Integer.parseInt(cols[0]);
+                int absen = Integer.parseInt(cols[1]);
+                int rata = Integer.parseInt(cols[2]);
+
+                network.predictProbabilities(tugas, absen, rata, probabilities);
+                for (int k = 0; k < labels.length; k++) {
+                    assertEquals(Float.parseFloat(cols[4 + k]), probabilities[k], 1e-4,
+                            "probabilitas baris " + (rows + 2));
+                }
+                assertEquals(cols[3], labels[network.predictIndex(tugas, absen, rata)], "label baris " + (rows + 2));
+                rows++;
+            }
+        }
+        assertTrue(rows > 0);
+    }
+
+    @Test
+    void simdKernelMatchesScalarKernel() throws IOException {
+        ModelBundle bundle = roundTrip(syntheticBundle(new Random(42)));
+        DenseNetwork scalar = new DenseNetwork(bundle, new DenseKernel.Scalar());
+        DenseNetwork selected = new DenseNetwork(bundle, DenseNetwork.selectKernel(true));
+
+        float[] expected = new float[3];
+        float[] actual = new float[3];
+        for (int tugas = 0; tugas <= 100; tugas += 7) {
+            for (int absen = 0; absen <= 20; absen += 3) {
+                for (int rata = 0; rata <= 100; rata += 9) {
+                    scalar.predictProbabilities(tugas, absen, rata, expected);
+                    selected.predictProbabilities(tugas, absen, rata, actual);
+                    assertArrayEquals(expected, actual, 1e-5f);
+                    assertEquals(scalar.predictIndex(tugas, absen, rata), selected.predictIndex(tugas, absen, rata));
+                }
+            }
+        }
+    }
+
+    private static ModelBundle roundTrip(ModelBundle bundle) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bundle.write(out);
+        ModelBundle read = ModelBundle.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(bundle.getModelVersion(), read.getModelVersion());
+        assertArrayEquals(bundle.getLayers()[1].getKernel(), read.getLayers()[1].getKernel());
+        return read;
+    }
+
+    // Arsitektur sama dengan notebook: 3 -> 128 relu -> 64 relu -> 3 softmax
+    private static ModelBundle syntheticBundle(Random random) {
+        FeatureScaler[] scalers = {
+                new FeatureScaler("Persentase Tugas", FeatureScaler.Type.YEO_JOHNSON, new double[] { 1.3, 40.0, 18.0 }),
+                new FeatureScaler("Jumlah Ketidakhadiran", FeatureScaler.Type.ROBUST, new double[] { 5.0, 4.0 }),
+                new FeatureScaler("Rata-rata", FeatureScaler.Type.STANDARD, new double[] { 65.0, 8.0 }),
+        };
+        DenseLayer[] layers = {
+                layer(random, 3, 128, DenseLayer.Activation.RELU),
+                layer(random, 128, 64, DenseLayer.Activation.RELU),
+                layer(random, 64, 3, DenseLayer.Activation.SOFTMAX),
+        };
+        String[] labels = { "Significant Decrease Performance", "Significant Increase Performance",
+                "Stable Performance" };
+        return new ModelBundle("test", scalers, labels, layers);
+    }
+
+    private static DenseLayer layer(Random random, int in, int out, DenseLayer.Activation activation) {
+        float[] kernel = new float[in * out];
+        float[] bias = new float[out];
+        for (int i = 0; i < kernel.length; i++) {
+            kernel[i] = (float) (random.nextGaussian() * Math.sqrt(2.0 / in));
+        }
+        for (int j = 0; j < out; j++) {
+            bias[j] = (float) (random.nextGaussian() * 0.1);
+        }
+        return new DenseLayer(in, out, activation, kernel, bias);
+    }
+}
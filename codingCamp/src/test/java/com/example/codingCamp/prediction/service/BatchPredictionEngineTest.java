@@ -0,0 +1,172 @@
+package com.example.codingCamp.prediction.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import com.example.codingCamp.prediction.service.BatchPredictionEngine.BatchCallback;
+import com.example.codingCamp.prediction.service.BatchPredictionEngine.BatchStats;
+import com.example.codingCamp.prediction.service.BatchPredictionEngine.PacingPolicy;
+import com.sun.net.httpserver.HttpServer;
+
+class BatchPredictionEngineTest {
+
+    private static final long STUB_LATENCY_MS = 20;
+
+    private HttpServer stub;
+    private String stubUrl;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        // Stub Flask /predict dengan latency tetap
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.createContext("/predict", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(STUB_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"predicted_label\":\"Stable Performance\",\"probabilities\":[0.1,0.8,0.1]}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+        stubUrl = "http://127.0.0.1:" + stub.getAddress().getPort() + "/predict";
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    void failuresAreIsolatedPerItem() {
+        BatchPredictionEngine engine = new BatchPredictionEngine(4, PacingPolicy.NONE, 0, 0);
+        List<Integer> succeeded = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> failed = Collections.synchronizedList(new ArrayList<>());
+
+        BatchStats stats = engine.run(
+                IntStream.rangeClosed(1, 20).boxed().iterator(),
+                i -> {
+                    if (i % 5 == 0) {
+                        throw new RuntimeException("gagal " + i);
+                    }
+                    return i * 10;
+                },
+                new BatchCallback<Integer, Integer>() {
+                    @Override
+                    public void onSuccess(Integer item, Integer result) {
+                        if (item == 7) {
+                            throw new IllegalStateException("simpan gagal");
+                        }
+                        succeeded.add(item);
+                    }
+
+                    @Override
+                    public void onFailure(Integer item, Exception error) {
+                        failed.add(item);
+                    }
+                });
+
+        assertEquals(15, stats.getSuccessCount());
+        assertEquals(5, stats.getFailCount());
+        assertEquals(15, succeeded.size());
+        assertTrue(failed.containsAll(List.of(5, 7, 10, 15, 20)));
+    }
+
+    @Test
+    void inFlightNeverExceedsParallelism() {
+        int parallelism = 3;
+        BatchPredictionEngine engine = new BatchPredictionEngine(parallelism, PacingPolicy.NONE, 0, 0);
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        BatchStats stats = engine.run(
+                IntStream.range(0, 30).boxed().iterator(),
+                i -> {
+                    peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    current.decrementAndGet();
+                    return i;
+                },
+                new BatchCallback<Integer, Integer>() {
+                    @Override
+                    public void onSuccess(Integer item, Integer result) {
+                    }
+
+                    @Override
+                    public void onFailure(Integer item, Exception error) {
+                    }
+                });
+
+        assertEquals(30, stats.getSuccessCount());
+        assertTrue(peak.get() <= parallelism, "peak in-flight " + peak.get());
+    }
+
+    @Tag("benchmark")
+    @Test
+    void throughputAgainstLocalStub() {
+        RestTemplate restTemplate = new RestTemplate();
+        int requests = 256;
+        Map<Integer, Double> throughput = new LinkedHashMap<>();
+
+        for (int inFlight : new int[] { 1, 8, 32, 128 }) {
+            BatchPredictionEngine engine = new BatchPredictionEngine(inFlight, PacingPolicy.NONE, 0, 0);
+            BatchStats stats = engine.run(
+                    IntStream.range(0, requests).boxed().iterator(),
+                    i -> {
+                        Map<String, Object> payload = Map.of(
+                                "Persentase Tugas", 80,
+                                "Jumlah Ketidakhadiran", i % 10,
+                                "Rata-rata", 75);
+                        ResponseEntity<Map> response = restTemplate.postForEntity(stubUrl, payload, Map.class);
+                        return response.getBody().get("predicted_label");
+                    },
+                    new BatchCallback<Integer, Object>() {
+                        @Override
+                        public void onSuccess(Integer item, Object result) {
+                        }
+
+                        @Override
+                        public void onFailure(Integer item, Exception error) {
+                        }
+                    });
+
+            assertEquals(requests, stats.getSuccessCount());
+            throughput.put(inFlight, stats.getThroughputPerSecond());
+            System.out.printf("in-flight=%3d  requests=%d  elapsed=%5d ms  throughput=%8.1f req/s%n",
+                    inFlight, requests, stats.getElapsedMs(), stats.getThroughputPerSecond());
+        }
+
+        assertTrue(throughput.get(32) > throughput.get(1) * 4);
+    }
+}
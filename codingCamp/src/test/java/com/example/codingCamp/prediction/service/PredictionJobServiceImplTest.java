@@ -0,0 +1,206 @@
+package com.example.codingCamp.prediction.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.codingCamp.auth.service.AuthService;
+import com.example.codingCamp.prediction.dto.response.BatchPredictionSummaryDTO;
+import com.example.codingCamp.prediction.dto.response.PredictionJobResponseDTO;
+import com.example.codingCamp.prediction.dto.response.PredictionResponseDTO;
+import com.example.codingCamp.prediction.model.PredictionJob;
+import com.example.codingCamp.prediction.model.PredictionJobStatus;
+import com.example.codingCamp.prediction.repository.PredictionJobRepository;
+
+class PredictionJobServiceImplTest {
+
+    @Test
+    void secondSubmitJoinsRunningJobAndResultsArePersisted() throws InterruptedException {
+        PredictionService predictionService = mock(PredictionService.class);
+        PredictionJobRepository repository = mock(PredictionJobRepository.class);
+        AuthService authService = mock(AuthService.class);
+
+        AtomicLong ids = new AtomicLong();
+        AtomicReference<PredictionJob> stored = new AtomicReference<>();
+        when(repository.save(any(PredictionJob.class))).thenAnswer(invocation -> {
+            PredictionJob job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(ids.incrementAndGet());
+            }
+            stored.set(job);
+            return job;
+        });
+        when(repository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+        when(repository.findWithPredictionIdsById(any())).thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(predictionService.predictBatch(anyBoolean(), any())).thenAnswer(invocation -> {
+            BatchPredictionListener listener = invocation.getArgument(1);
+            listener.onStart(2);
+            listener.onSuccess(PredictionResponseDTO.builder().predictionId(11L).build());
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            listener.onFailure(2L, "stub");
+            return BatchPredictionSummaryDTO.builder().skippedCount(3).build();
+        });
+        when(predictionService.getPredictionsByIds(List.of(11L)))
+                .thenReturn(List.of(PredictionResponseDTO.builder().predictionId(11L).build()));
+
+        PredictionJobServiceImpl service = new PredictionJobServiceImpl(predictionService, repository, authService,
+                claimableLock());
+        ReflectionTestUtils.setField(service, "incrementalByDefault", true);
+
+        PredictionJobResponseDTO first = service.submit(null);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        PredictionJobResponseDTO second = service.submit(true);
+        PredictionJobConflictException conflict = assertThrows(PredictionJobConflictException.class,
+                () -> service.submit(false));
+
+        assertEquals(first.getJobId(), conflict.getRunningJobId());
+        assertTrue(conflict.isRunningIncremental());
+        assertFalse(first.getJoined());
+        assertTrue(second.getJoined());
+        assertEquals(first.getJobId(), second.getJobId());
+
+        PredictionJobResponseDTO running = service.getJob(first.getJobId());
+        assertEquals("RUNNING", running.getStatus());
+        assertEquals(1, running.getProcessedCount());
+        assertEquals(2, running.getExpectedCount());
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        // finishedAt hanya terisi setelah job tersimpan dan tidak aktif lagi
+        while (service.getJob(first.getJobId()).getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        verify(predictionService, times(1)).predictBatch(anyBoolean(), any());
+        PredictionJobResponseDTO done = service.getJob(first.getJobId());
+        assertEquals("SUCCEEDED", done.getStatus());
+        assertEquals(1, done.getSucceededCount());
+        assertEquals(1, done.getFailedCount());
+        assertEquals(3, done.getSkippedCount());
+        assertEquals(List.of(11L), service.getJobResults(first.getJobId()).stream()
+                .map(PredictionResponseDTO::getPredictionId).toList());
+    }
+
+    @Test
+    void subscribersReceiveEachResultAndBrokenSubscriberIsDropped() throws Exception {
+        PredictionService predictionService = mock(PredictionService.class);
+        PredictionJobRepository repository = mock(PredictionJobRepository.class);
+        when(repository.save(any(PredictionJob.class))).thenAnswer(invocation -> {
+            PredictionJob job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(1L);
+            }
+            return job;
+        });
+        when(predictionService.predictBatch(anyBoolean(), any())).thenAnswer(invocation -> {
+            BatchPredictionListener listener = invocation.getArgument(1);
+            listener.onStart(3);
+            for (long id = 1; id <= 3; id++) {
+                listener.onSuccess(PredictionResponseDTO.builder().predictionId(id).build());
+            }
+            return BatchPredictionSummaryDTO.builder().skippedCount(0).build();
+        });
+
+        PredictionJobServiceImpl service = new PredictionJobServiceImpl(predictionService, repository,
+                mock(AuthService.class), claimableLock());
+        List<Long> received = new CopyOnWriteArrayList<>();
+        List<Long> brokenReceived = new ArrayList<>();
+
+        // Subscriber pertama mendaftar sebelum job mulai, jadi tidak ada hasil yang terlewat
+        PredictionJobService.Subscription subscription = service.subscribe(false, new BatchPredictionListener() {
+            @Override
+            public void onSuccess(PredictionResponseDTO result) {
+                received.add(result.getPredictionId());
+            }
+        });
+        assertFalse(subscription.job().getJoined());
+
+        PredictionJobResponseDTO done = subscription.completion().get(5, TimeUnit.SECONDS);
+        assertEquals("SUCCEEDED", done.getStatus());
+        assertEquals(List.of(1L, 2L, 3L), received);
+
+        PredictionJobService.Subscription broken = service.subscribe(false, new BatchPredictionListener() {
+            @Override
+            public void onSuccess(PredictionResponseDTO result) {
+                brokenReceived.add(result.getPredictionId());
+                throw new IllegalStateException("client disconnected");
+            }
+        });
+        // Client yang putus tidak menggagalkan job
+        assertEquals("SUCCEEDED", broken.completion().get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(List.of(1L), brokenReceived);
+        assertEquals(3, broken.completion().get().getSucceededCount());
+    }
+
+    @Test
+    void jobRunningOnAnotherInstanceIsRejectedWithItsId() {
+        PredictionService predictionService = mock(PredictionService.class);
+        PredictionJobRepository repository = mock(PredictionJobRepository.class);
+        PredictionJobLock lock = mock(PredictionJobLock.class);
+        when(lock.tryClaim()).thenReturn(null);
+        when(lock.isAlive(41)).thenReturn(true);
+        when(repository.findByStatusIn(any())).thenReturn(List.of(
+                PredictionJob.builder().id(7L).status(PredictionJobStatus.RUNNING).incremental(true).lockKey(41)
+                        .build()));
+
+        PredictionJobServiceImpl service = new PredictionJobServiceImpl(predictionService, repository,
+                mock(AuthService.class), lock);
+        PredictionJobConflictException conflict = assertThrows(PredictionJobConflictException.class,
+                () -> service.submit(false));
+
+        assertEquals(7L, conflict.getRunningJobId());
+        assertTrue(conflict.isRunningIncremental());
+        verify(repository, never()).save(any());
+        verify(predictionService, never()).predictBatch(anyBoolean(), any());
+    }
+
+    @Test
+    void onlyJobsWhoseLockIsFreeAreFailedAsOrphans() {
+        PredictionJobRepository repository = mock(PredictionJobRepository.class);
+        PredictionJobLock lock = mock(PredictionJobLock.class);
+        PredictionJob alive = PredictionJob.builder().id(1L).status(PredictionJobStatus.RUNNING).lockKey(11).build();
+        PredictionJob dead = PredictionJob.builder().id(2L).status(PredictionJobStatus.RUNNING).lockKey(22).build();
+        PredictionJob legacy = PredictionJob.builder().id(3L).status(PredictionJobStatus.QUEUED).build();
+        when(repository.findByStatusIn(any())).thenReturn(List.of(alive, dead, legacy));
+        when(lock.isAlive(11)).thenReturn(true);
+        when(lock.isAlive(22)).thenReturn(false);
+
+        new PredictionJobServiceImpl(mock(PredictionService.class), repository, mock(AuthService.class), lock)
+                .failOrphanedJobs();
+
+        assertEquals(PredictionJobStatus.RUNNING, alive.getStatus());
+        assertEquals(PredictionJobStatus.FAILED, dead.getStatus());
+        assertEquals(PredictionJobStatus.FAILED, legacy.getStatus());
+        verify(repository).saveAll(List.of(dead, legacy));
+    }
+
+    private static PredictionJobLock claimableLock() {
+        PredictionJobLock lock = mock(PredictionJobLock.class);
+        when(lock.tryClaim()).thenReturn(mock(PredictionJobLock.Lease.class));
+        return lock;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.codingCamp.prediction.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.example.codingCamp.notification.service.NotificationFanOutService;
+import com.example.codingCamp.notification.service.PredictionNotificationFanOut;
+import com.example.codingCamp.prediction.dto.response.BatchPredictionSummaryDTO;
+import com.example.codingCamp.prediction.dto.response.PredictionResponseDTO;
+import com.example.codingCamp.prediction.model.PredictionStatus;
+import com.example.codingCamp.prediction.repository.PredictionRepository;
+import com.example.codingCamp.profile.model.Student;
+import com.example.codingCamp.profile.repository.StudentRepository;
+import com.example.codingCamp.profile.repository.TeacherRepository;
+import com.example.codingCamp.student.model.StudentPerformance;
+import com.example.codingCamp.student.repository.StudentPerformanceRepository;
+
+import jakarta.persistence.EntityManager;
+
+class PredictionServiceImplTest {
+
+    private final StudentPerformanceRepository performanceRepository = mock(StudentPerformanceRepository.class);
+    private final PredictionRepository predictionRepository = mock(PredictionRepository.class);
+    private final PredictionScorer predictionScorer = mock(PredictionScorer.class);
+
+    @Test
+    void incrementalSkipsUnchangedRowsButStampsThem() {
+        StudentPerformance unchanged = performance(1L, 80, 2, 75);
+        unchanged.setSubmittedForPrediction(true);
+        unchanged.setPredictionFingerprint("80|2|75");
+        StudentPerformance changed = performance(2L, 90, 1, 85);
+        changed.setSubmittedForPrediction(true);
+        changed.setPredictionFingerprint("70|1|85");
+
+        when(performanceRepository.countStudentsWithPerformance()).thenReturn(2L);
+        when(performanceRepository.countLatestPerStudentChangedSinceLastPrediction()).thenReturn(2L);
+        when(performanceRepository.streamLatestPerStudentChangedSinceLastPrediction())
+                .thenReturn(Stream.of(unchanged, changed));
+        when(predictionScorer.scoreInBatch(any())).thenReturn(PredictionStatus.STABLE);
+
+        List<PredictionResponseDTO> results = new ArrayList<>();
+        BatchPredictionSummaryDTO summary = service().predictBatch(true, new BatchPredictionListener() {
+            @Override
+            public void onSuccess(PredictionResponseDTO result) {
+                results.add(result);
+            }
+        });
+
+        verify(predictionScorer, times(1)).scoreInBatch(changed);
+        verify(predictionScorer, never()).scoreInBatch(unchanged);
+        verify(performanceRepository).touchPredictedInBatch(eq(List.of(1L)), any(Date.class));
+        verify(performanceRepository, never()).streamLatestPerStudent();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StudentPerformance>> written = ArgumentCaptor.forClass(List.class);
+        verify(performanceRepository).markPredictedInBatch(written.capture());
+        assertEquals(List.of(changed), written.getValue());
+        assertEquals("90|1|85", changed.getPredictionFingerprint());
+        assertNotNull(changed.getLastPredictedAt());
+
+        assertTrue(summary.getIncremental());
+        assertEquals(1, summary.getScoredCount());
+        assertEquals(1, summary.getSkippedCount());
+        assertEquals(0, summary.getFailedCount());
+        assertEquals(1, results.size());
+        assertEquals(2L, results.get(0).getSiswaId());
+    }
+
+    @Test
+    void fullModeScoresUnchangedRowsAndStampsNothingExtra() {
+        StudentPerformance unchanged = performance(1L, 80, 2, 75);
+        unchanged.setSubmittedForPrediction(true);
+        unchanged.setPredictionFingerprint("80|2|75");
+
+        when(performanceRepository.countStudentsWithPerformance()).thenReturn(1L);
+        when(performanceRepository.streamLatestPerStudent()).thenReturn(Stream.of(unchanged));
+        when(predictionScorer.scoreInBatch(any())).thenReturn(PredictionStatus.STABLE);
+
+        BatchPredictionSummaryDTO summary = service().predictBatch(false, new BatchPredictionListener() {
+        });
+
+        verify(predictionScorer).scoreInBatch(unchanged);
+        verify(performanceRepository, never()).touchPredictedInBatch(any(), any());
+        assertEquals(1, summary.getScoredCount());
+        assertEquals(0, summary.getSkippedCount());
+    }
+
+    private PredictionServiceImpl service() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        NotificationFanOutService fanOutService = mock(NotificationFanOutService.class);
+        when(fanOutService.openPredictionFanOut()).thenReturn(mock(PredictionNotificationFanOut.class));
+
+        PredictionServiceImpl service = new PredictionServiceImpl(performanceRepository,
+                mock(StudentRepository.class), mock(TeacherRepository.class), predictionRepository,
+                new BatchPredictionEngine(1, BatchPredictionEngine.PacingPolicy.FIXED_DELAY, 0, 20),
+                predictionScorer, fanOutService, transactionManager);
+        ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(service, "writeChunkSize", 50);
+        service.initTransactions();
+        return service;
+    }
+
+    private static StudentPerformance performance(Long id, int tugas, int absen, int rataRata) {
+        Student student = new Student();
+        student.setId(id);
+        student.setName("Siswa " + id);
+        StudentPerformance performance = new StudentPerformance();
+        performance.setId(id);
+        performance.setStudent(student);
+        performance.setPersentaseTugas(tugas);
+        performance.setJumlahKetidakhadiran(absen);
+        performance.setNilaiAkhirRataRata(rataRata);
+        return performance;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.codingCamp.prediction.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.codingCamp.prediction.inference.DenseKernel;
+import com.example.codingCamp.prediction.inference.DenseLayer;
+import com.example.codingCamp.prediction.inference.DenseNetwork;
+import com.example.codingCamp.prediction.inference.FeatureScaler;
+import com.example.codingCamp.prediction.inference.ModelBundle;
+
+class PredictionTableTest {
+
+    private static final String[] LABELS = { "Significant Decrease Performance", "Significant Increase Performance",
+            "Stable Performance" };
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void lookupMatchesModelOnEveryPoint() throws IOException {
+        DenseNetwork network = new DenseNetwork(syntheticBundle(new Random(7)), new DenseKernel.Scalar());
+        int maxKetidakhadiran = 12;
+        Path path = dir.resolve("prediction_table.bin");
+
+        PredictionTableBuilder.writeAtomically(path, "test", maxKetidakhadiran,
+                PredictionTableBuilder.sweepLocal(network, maxKetidakhadiran));
+        PredictionTable table = PredictionTable.load(path);
+
+        assertEquals("test", table.getModelVersion());
+        assertEquals(101L * 13 * 101, table.getPoints());
+        for (int tugas = 0; tugas <= 100; tugas++) {
+            for (int absen = 0; absen <= maxKetidakhadiran; absen++) {
+                for (int rata = 0; rata <= 100; rata++) {
+                    String expected = LABELS[network.predictIndex(tugas, absen, rata)];
+                    assertEquals(expected, table.lookup(tugas, absen, rata).getDisplayName());
+                }
+            }
+        }
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count(), "file sementara harus sudah di-rename");
+        }
+    }
+
+    @Test
+    void outOfDomainIsRejected() throws IOException {
+        Path path = dir.resolve("prediction_table.bin");
+        PredictionTableBuilder.writeAtomically(path, "test", 5, new byte[101 * 6 * 101]);
+        PredictionTable table = PredictionTable.load(path);
+
+        assertTrue(table.contains(100, 5, 100));
+        assertFalse(table.contains(50, 6, 50));
+        assertFalse(table.contains(-1, 0, 50));
+        assertThrows(IllegalArgumentException.class, () -> table.lookup(50, 6, 50));
+    }
+
+    private static ModelBundle syntheticBundle(Random random) {
+        FeatureScaler[] scalers = {
+                new FeatureScaler("Persentase Tugas", FeatureScaler.Type.YEO_JOHNSON, new double[] { 1.3, 40.0, 18.0 }),
+                new FeatureScaler("Jumlah Ketidakhadiran", FeatureScaler.Type.ROBUST, new double[] { 5.0, 4.0 }),
+                new FeatureScaler("Rata-rata", FeatureScaler.Type.STANDARD, new double[] { 65.0, 8.0 }),
+        };
+        DenseLayer[] layers = {
+                layer(random, 3, 16, DenseLayer.Activation.RELU),
+                layer(random, 16, 3, DenseLayer.Activation.SOFTMAX),
+        };
+        return new ModelBundle("test", scalers, LABELS, layers);
+    }
+
+    private static DenseLayer layer(Random random, int in, int out, DenseLayer.Activation activation) {
+        float[] kernel = new float[in * out];
+        float[] bias = new float[out];
+        for (int i = 0; i < kernel.length; i++) {
+            kernel[i] = (float) (random.nextGaussian() * Math.sqrt(2.0 / in));
+        }
+        return new DenseLayer(in, out, activation, kernel, bias);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.codingCamp.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Biaya autentikasi per request. Cara lama: filter validasi + parse subject,
+ * lalu AuthService validasi + parse lagi untuk id dan untuk role (5 verifikasi
+ * HMAC, key dan parser dibuat ulang tiap kali). Cara baru: satu parse di
+ * filter, id/role dibaca dari principal. Terakhir: token yang sama diambil
+ * dari VerifiedTokenCache tanpa verifikasi signature.
+ *
+ * mvn test -Pbenchmark -Dtest=JwtAuthBenchmarkTest
+ */
+@Tag("benchmark")
+class JwtAuthBenchmarkTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int REQUESTS = 100_000;
+
+    private final JwtUtils jwtUtils = JwtTokenFilterTest.jwtUtils();
+    private final String token = jwtUtils.generateJwtToken("budi", "42", "TEACHER");
+    private final VerifiedTokenCache tokenCache = new VerifiedTokenCache(1000, 0);
+
+    // Sink supaya JIT tidak membuang hasil parse
+    private long sink;
+
+    @Test
+    void perRequestAuthCost() {
+        run("lama: 5x verifikasi, key+parser per panggilan", this::legacyRequest);
+        run("baru: 1x verifikasi, parser di-cache", this::parseOnceRequest);
+        tokenCache.put(token, jwtUtils.parseClaims(token));
+        run("cache token terverifikasi (hit)", this::cachedRequest);
+        System.out.println("sink=" + sink);
+    }
+
+    private void run(String label, Runnable request) {
+        for (int i = 0; i < WARMUP; i++) {
+            request.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            request.run();
+        }
+        double microsPerRequest = (System.nanoTime() - start) / 1_000.0 / REQUESTS;
+        System.out.printf("%-50s %8.2f us/request%n", label, microsPerRequest);
+    }
+
+    private void legacyRequest() {
+        legacyParse(token); // filter: validateJwtToken
+        String username = legacyParse(token).getSubject(); // filter: getUserNameFromJwtToken
+        legacyParse(token); // AuthService.getCurrentUserId: validateJwtToken
+        String id = legacyParse(token).get("id", String.class);
+        legacyParse(token); // AuthService.getCurrentUserRole: validateJwtToken
+        sink += username.length() + Long.parseLong(id);
+    }
+
+    private void parseOnceRequest() {
+        JwtPrincipal principal = JwtPrincipal.fromClaims(jwtUtils.parseClaims(token));
+        sink += principal.username().length() + principal.id();
+    }
+
+    private void cachedRequest() {
+        JwtPrincipal principal = JwtPrincipal.fromClaims(tokenCache.get(token));
+        sink += principal.username().length() + principal.id();
+    }
+
+    private static Claims legacyParse(String token) {
+        JwtParser parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(JwtTokenFilterTest.SECRET.getBytes(StandardCharsets.UTF_8))).build();
+        return parser.parse(token).accept(Jws.CLAIMS).getPayload();
+    }
+}
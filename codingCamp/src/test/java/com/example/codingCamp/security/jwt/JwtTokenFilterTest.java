@@ -0,0 +1,104 @@
+package com.example.codingCamp.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.codingCamp.auth.service.AuthService;
+
+class JwtTokenFilterTest {
+
+    static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private final JwtUtils jwtUtils = jwtUtils();
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final JwtTokenFilter filter = new JwtTokenFilter();
+
+    static JwtUtils jwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60_000);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authServiceReadsIdAndRoleFromPrincipalBuiltByFilter() throws Exception {
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "verifiedTokenCache", new VerifiedTokenCache(100, 0));
+        ReflectionTestUtils.setField(filter, "userDetailService", userDetailsService);
+        when(userDetailsService.loadUserByUsername("budi"))
+                .thenReturn(new User("budi", "x", List.of(new SimpleGrantedAuthority("TEACHER"))));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + jwtUtils.generateJwtToken("budi", "42", "TEACHER"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+
+        AuthService authService = new AuthService();
+        assertEquals(42L, authService.getCurrentUserId());
+        assertEquals("TEACHER", authService.getCurrentUserRole());
+        assertEquals("budi", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    void statelessModeTakesAuthorityFromClaimAndHonoursDenyList() throws Exception {
+        TokenDenyList denyList = new TokenDenyList(null, 60_000);
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "verifiedTokenCache", new VerifiedTokenCache(100, 0));
+        ReflectionTestUtils.setField(filter, "tokenDenyList", denyList);
+        ReflectionTestUtils.setField(filter, "stateless", true);
+        String token = jwtUtils.generateJwtToken("budi", "42", "TEACHER");
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(List.of(new SimpleGrantedAuthority("TEACHER")),
+                List.copyOf(SecurityContextHolder.getContext().getAuthentication().getAuthorities()));
+        verifyNoInteractions(userDetailsService);
+
+        SecurityContextHolder.clearContext();
+        // Token di detik yang sama dengan pencabutan masih diterima; cabut di detik berikutnya
+        long issuedSecond = System.currentTimeMillis() / 1000;
+        while (System.currentTimeMillis() / 1000 <= issuedSecond) {
+            Thread.sleep(10);
+        }
+        denyList.revoke(42L);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void invalidTokenLeavesContextAnonymous() throws Exception {
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "verifiedTokenCache", new VerifiedTokenCache(100, 0));
+        ReflectionTestUtils.setField(filter, "userDetailService", userDetailsService);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer bukan.token.valid");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(new AuthService().getCurrentUserId());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.codingCamp.security.jwt;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Throughput GET terautentikasi lewat JwtTokenFilter: mode lama (lookup user
+ * per request) dibanding mode stateless. Lookup disimulasikan seperti
+ * Postgres remote di belakang pool Hikari 5 koneksi: semaphore 5 izin dan
+ * round trip BENCHMARK_DB_RTT_MS (default 3 ms).
+ *
+ * mvn test -Pbenchmark -Dtest=StatelessAuthLoadTest
+ */
+@Tag("benchmark")
+class StatelessAuthLoadTest {
+
+    private static final int CLIENTS = 32;
+    private static final long DURATION_MS = 5_000;
+    private static final int POOL_SIZE = 5;
+
+    private final JwtUtils jwtUtils = JwtTokenFilterTest.jwtUtils();
+
+    @Test
+    void authenticatedGetThroughput() throws Exception {
+        long rttMs = Long.parseLong(System.getenv().getOrDefault("BENCHMARK_DB_RTT_MS", "3"));
+        report("lookup user per request", run(filter(false, rttMs)));
+        report("stateless + deny-list", run(filter(true, rttMs)));
+    }
+
+    private JwtTokenFilter filter(boolean stateless, long rttMs) {
+        Semaphore connections = new Semaphore(POOL_SIZE);
+        UserDetailsService userDetailsService = username -> {
+            connections.acquireUninterruptibly();
+            try {
+                Thread.sleep(rttMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                connections.release();
+            }
+            return new User(username, "x", List.of(new SimpleGrantedAuthority("STUDENT")));
+        };
+        JwtTokenFilter filter = new JwtTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userDetailService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "tokenDenyList", new TokenDenyList(null, 60_000));
+        ReflectionTestUtils.setField(filter, "stateless", stateless);
+        ReflectionTestUtils.setField(filter, "verifiedTokenCache", new VerifiedTokenCache(0, 0));
+        return filter;
+    }
+
+    private long run(JwtTokenFilter filter) throws InterruptedException {
+        List<String> tokens = LongStream.range(0, CLIENTS)
+                .mapToObj(i -> jwtUtils.generateJwtToken("user" + i, String.valueOf(i + 1), "STUDENT"))
+                .toList();
+        AtomicLong completed = new AtomicLong();
+        long deadline = System.currentTimeMillis() + DURATION_MS;
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        for (String token : tokens) {
+            clients.execute(() -> {
+                try {
+                    while (System.currentTimeMillis() < deadline) {
+                        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notification/feed");
+                        request.addHeader("Authorization", "Bearer " + token);
+                        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+                        SecurityContextHolder.clearContext();
+                        completed.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.SECONDS);
+        return completed.get();
+    }
+
+    private static void report(String label, long requests) {
+        System.out.printf("%-28s %8d request, %10.0f request/s%n", label, requests,
+                requests * 1000.0 / DURATION_MS);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.codingCamp.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.codingCamp.profile.repository.RevokedUser;
+import com.example.codingCamp.profile.repository.UserRepository;
+
+class TokenDenyListTest {
+
+    @Test
+    void tokenIssuedInSameSecondAsRevocationIsAccepted() {
+        // Password diganti 400 ms setelah awal detik, 10 detik yang lalu
+        long second = System.currentTimeMillis() / 1000 * 1000 - 10_000;
+        RevokedUser user = mock(RevokedUser.class);
+        when(user.getId()).thenReturn(7L);
+        when(user.getPasswordChangedAt()).thenReturn(new Date(second + 400));
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findRevokedSince(any())).thenReturn(List.of(user));
+
+        TokenDenyList denyList = new TokenDenyList(userRepository, 60_000);
+        denyList.load();
+
+        assertTrue(denyList.isRevoked(7L, new Date(second - 1000)));
+        assertTrue(denyList.isRevoked(7L, null));
+        // iat dibulatkan ke detik: login ulang di detik pencabutan tetap berlaku
+        assertFalse(denyList.isRevoked(7L, new Date(second)));
+        assertFalse(denyList.isRevoked(7L, new Date(second + 1000)));
+        assertFalse(denyList.isRevoked(8L, new Date(second - 1000)));
+    }
+}
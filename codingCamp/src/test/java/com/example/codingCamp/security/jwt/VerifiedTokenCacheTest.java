@@ -0,0 +1,62 @@
+package com.example.codingCamp.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.codingCamp.auth.dto.response.TokenCacheStatsDTO;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+class VerifiedTokenCacheTest {
+
+    @Test
+    void hitsSkipVerificationAndExpiredEntriesAreDropped() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, 0);
+        cache.put("valid", claims(60_000));
+        cache.put("expired", claims(-1));
+
+        assertNull(cache.get("unknown"));
+        assertNotNull(cache.get("valid"));
+        assertNull(cache.get("expired"));
+
+        TokenCacheStatsDTO stats = cache.getStats();
+        assertEquals(1L, stats.getHits());
+        assertEquals(2L, stats.getMisses());
+        assertEquals(1L, stats.getExpiredEvictions());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenFull() {
+        // Kapasitas 16 = 1 entri per segmen; 200 token mengisi semua segmen
+        VerifiedTokenCache cache = new VerifiedTokenCache(16, 0);
+        for (int i = 0; i < 200; i++) {
+            cache.put("token-" + i, claims(60_000));
+        }
+        TokenCacheStatsDTO stats = cache.getStats();
+        assertEquals(16, stats.getSize());
+        assertEquals(184L, stats.getLruEvictions());
+        // Yang terakhir ditulis selalu masih ada
+        assertNotNull(cache.get("token-199"));
+    }
+
+    @Test
+    void sweepRemovesExpiredEntriesWithoutReads() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, 0);
+        cache.put("a", claims(-1));
+        cache.put("b", claims(60_000));
+        cache.sweepExpired();
+        assertEquals(1, cache.getStats().getSize());
+        assertEquals(1L, cache.getStats().getExpiredEvictions());
+    }
+
+    private static Claims claims(long ttlMs) {
+        return Jwts.claims().subject("budi").expiration(new Date(System.currentTimeMillis() + ttlMs)).build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.codingCamp.security.service;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Baris per detik untuk hashing password impor CSV pada cost BCrypt default
+ * (10): satu per satu di thread request (cara lama), paralel lewat
+ * BulkPasswordHasher, dan mode preHashed yang hanya memvalidasi format.
+ *
+ * mvn test -Pbenchmark -Dtest=BulkPasswordHasherBenchmarkTest
+ */
+@Tag("benchmark")
+class BulkPasswordHasherBenchmarkTest {
+
+    private static final int ROWS = 200;
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+
+    @Test
+    void csvPasswordHashingRowsPerSecond() {
+        List<String> raw = IntStream.range(0, ROWS).mapToObj(i -> "password-siswa-" + i).toList();
+        BulkPasswordHasher hasher = new BulkPasswordHasher(encoder, 0);
+
+        long start = System.nanoTime();
+        List<String> sequential = raw.stream().map(encoder::encode).toList();
+        report("berurutan", start);
+
+        start = System.nanoTime();
+        hasher.encodeAll(raw);
+        report("paralel (" + hasher.getParallelism() + " thread)", start);
+
+        start = System.nanoTime();
+        long valid = sequential.stream().filter(BulkPasswordHasher::isBcryptHash).count();
+        report("preHashed (validasi saja, " + valid + " valid)", start);
+
+        hasher.shutdown();
+    }
+
+    private static void report(String label, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("%-40s %6d baris %8.2f s %12.1f baris/s%n", label, ROWS, seconds, ROWS / seconds);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.codingCamp.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class BulkPasswordHasherTest {
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+
+    @Test
+    void hashesInParallelAndKeepsInputOrder() {
+        BulkPasswordHasher hasher = new BulkPasswordHasher(encoder, 3);
+        List<String> raw = IntStream.range(0, 50).mapToObj(i -> "rahasia-" + i).toList();
+
+        List<String> encoded = hasher.encodeAll(raw);
+
+        assertEquals(raw.size(), encoded.size());
+        for (int i = 0; i < raw.size(); i++) {
+            assertTrue(encoder.matches(raw.get(i), encoded.get(i)));
+        }
+        hasher.shutdown();
+    }
+
+    @Test
+    void recognisesBcryptHashes() {
+        assertTrue(BulkPasswordHasher.isBcryptHash(encoder.encode("rahasia")));
+        assertFalse(BulkPasswordHasher.isBcryptHash("rahasia"));
+        assertFalse(BulkPasswordHasher.isBcryptHash("$2a$10$terlalupendek"));
+        // Format benar tapi cost di luar rentang: checkpw melempar exception / login tertahan berjam-jam
+        String salt = encoder.encode("rahasia").substring(7);
+        assertFalse(BulkPasswordHasher.isBcryptHash("$2a$03$" + salt));
+        assertFalse(BulkPasswordHasher.isBcryptHash("$2a$31$" + salt));
+        assertTrue(BulkPasswordHasher.isBcryptHash("$2a$14$" + salt));
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.codingCamp.student.repository;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Membandingkan cara lama (IDENTITY, satu round trip per INSERT) dengan
+ * pooled sequence + JDBC batch + reWriteBatchedInserts, untuk 5.000 baris
+ * student_performance beserta nilai per mapel-nya.
+ *
+ * Butuh Postgres sungguhan, sebaiknya yang remote supaya latency-nya terasa:
+ * BENCHMARK_DB_URL=jdbc:postgresql://host:5432/db BENCHMARK_DB_USER=.. BENCHMARK_DB_PASSWORD=..
+ * mvn test -Pbenchmark -Dtest=BatchInsertBenchmarkTest
+ */
+@Tag("benchmark")
+class BatchInsertBenchmarkTest {
+
+    private static final int ROWS = 5_000;
+    private static final int MAPEL = 19;
+    private static final int BATCH_SIZE = 50;
+
+    @Test
+    void identityVersusBatchedSequenceInserts() throws SQLException {
+        String url = System.getenv("BENCHMARK_DB_URL");
+        assumeTrue(url != null && !url.isBlank(), "BENCHMARK_DB_URL tidak diisi");
+
+        try (Connection connection = connect(url, false)) {
+            createTables(connection);
+            long elapsedMs = insertOneByOne(connection);
+            report("identity, tanpa batch", elapsedMs);
+        }
+        try (Connection connection = connect(url, true)) {
+            createTables(connection);
+            long elapsedMs = insertBatched(connection);
+            report("sequence + batch " + BATCH_SIZE + " + reWriteBatchedInserts", elapsedMs);
+        }
+    }
+
+    private static Connection connect(String url, boolean rewriteBatchedInserts) throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", System.getenv().getOrDefault("BENCHMARK_DB_USER", "postgres"));
+        properties.setProperty("password", System.getenv().getOrDefault("BENCHMARK_DB_PASSWORD", ""));
+        properties.setProperty("reWriteBatchedInserts", String.valueOf(rewriteBatchedInserts));
+        Connection connection = DriverManager.getConnection(url, properties);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    // Tabel sementara dengan bentuk kolom yang sama dengan student_performance & nilai_ujian_per_mapel
+    private static void createTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMP TABLE bench_performance (id bigint GENERATED BY DEFAULT AS IDENTITY "
+                    + "PRIMARY KEY, student_id bigint, jumlah_ketidakhadiran int, persentase_tugas int, "
+                    + "nilai_akhir_rata_rata int, semester varchar(255), submitted_for_prediction boolean, "
+                    + "created_at timestamp, updated_at timestamp) ON COMMIT DROP");
+            statement.execute("CREATE TEMP SEQUENCE bench_performance_seq INCREMENT BY " + BATCH_SIZE);
+            statement.execute("CREATE TEMP TABLE bench_nilai (student_performance_id bigint, "
+                    + "mata_pelajaran varchar(255), nilai_ujian int) ON COMMIT DROP");
+        }
+    }
+
+    // Perilaku lama: IDENTITY memaksa INSERT ... RETURNING per entity, elemen collection juga satu per satu
+    private static long insertOneByOne(Connection connection) throws SQLException {
+        long start = System.nanoTime();
+        try (PreparedStatement performance = connection.prepareStatement(insertPerformance(false),
+                Statement.RETURN_GENERATED_KEYS);
+                PreparedStatement nilai = connection.prepareStatement(INSERT_NILAI)) {
+            for (int row = 0; row < ROWS; row++) {
+                bindPerformance(performance, row, 1);
+                performance.executeUpdate();
+                long id;
+                try (ResultSet keys = performance.getGeneratedKeys()) {
+                    keys.next();
+                    id = keys.getLong(1);
+                }
+                for (int mapel = 0; mapel < MAPEL; mapel++) {
+                    bindNilai(nilai, id, row, mapel);
+                    nilai.executeUpdate();
+                }
+            }
+        }
+        connection.commit();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    // Perilaku baru: id diambil dari pooled sequence, INSERT dikumpulkan lalu dikirim per batch
+    private static long insertBatched(Connection connection) throws SQLException {
+        long start = System.nanoTime();
+        long nextId = 0;
+        long lastIdInBlock = -1;
+        try (PreparedStatement sequence = connection.prepareStatement("SELECT nextval('bench_performance_seq')");
+                PreparedStatement performance = connection.prepareStatement(insertPerformance(true));
+                PreparedStatement nilai = connection.prepareStatement(INSERT_NILAI)) {
+            for (int row = 0; row < ROWS; row++) {
+                if (nextId > lastIdInBlock) {
+                    try (ResultSet value = sequence.executeQuery()) {
+                        value.next();
+                        nextId = value.getLong(1);
+                        lastIdInBlock = nextId + BATCH_SIZE - 1;
+                    }
+                }
+                long id = nextId++;
+                performance.setLong(1, id);
+                bindPerformance(performance, row, 2);
+                performance.addBatch();
+                for (int mapel = 0; mapel < MAPEL; mapel++) {
+                    bindNilai(nilai, id, row, mapel);
+                    nilai.addBatch();
+                }
+                // order_inserts: semua INSERT satu tabel dikirim bersama
+                if ((row + 1) % BATCH_SIZE == 0) {
+                    performance.executeBatch();
+                    nilai.executeBatch();
+                }
+            }
+            performance.executeBatch();
+            nilai.executeBatch();
+        }
+        connection.commit();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static final String INSERT_NILAI = "INSERT INTO bench_nilai (student_performance_id, "
+            + "mata_pelajaran, nilai_ujian) VALUES (?, ?, ?)";
+
+    private static String insertPerformance(boolean withId) {
+        return "INSERT INTO bench_performance (" + (withId ? "id, " : "")
+                + "student_id, jumlah_ketidakhadiran, persentase_tugas, nilai_akhir_rata_rata, semester, "
+                + "submitted_for_prediction, created_at, updated_at) VALUES (" + (withId ? "?, " : "")
+                + "?, ?, ?, ?, ?, false, ?, ?)";
+    }
+
+    private static void bindPerformance(PreparedStatement statement, int row, int firstIndex) throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int i = firstIndex;
+        statement.setLong(i++, row % 500 + 1);
+        statement.setInt(i++, row % 30);
+        statement.setInt(i++, 50 + row % 51);
+        statement.setInt(i++, 40 + row % 61);
+        statement.setString(i++, String.valueOf(row % 6 + 1));
+        statement.setTimestamp(i++, now);
+        statement.setTimestamp(i, now);
+    }
+
+    private static void bindNilai(PreparedStatement statement, long id, int row, int mapel) throws SQLException {
+        statement.setLong(1, id);
+        statement.setString(2, "Mapel " + mapel);
+        statement.setInt(3, (row * 31 + mapel * 7) % 101);
+    }
+
+    private static void report(String mode, long elapsedMs) {
+        double rowsPerSecond = ROWS * 1000.0 / Math.max(1, elapsedMs);
+        System.out.printf("%-50s rows=%d (+%d nilai)  elapsed=%6d ms  throughput=%9.1f rows/s%n",
+                mode, ROWS, ROWS * MAPEL, elapsedMs, rowsPerSecond);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.codingCamp.student.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.codingCamp.profile.model.Role;
+import com.example.codingCamp.profile.model.Student;
+import com.example.codingCamp.student.model.StudentPerformance;
+
+/**
+ * Aturan "performa terbaru per siswa" yang dipakai batch prediksi: createdAt
+ * terbaru, kalau sama id yang lebih besar, dan baris soft-delete diabaikan;
+ * juga cakupan kelas untuk guru.
+ *
+ * Query-nya bergantung pada perilaku Postgres, jadi dijalankan di Postgres sungguhan
+ * (skema dibuat Hibernate, transaksi di-rollback setelah test):
+ * TEST_DB_URL=jdbc:postgresql://localhost:5432/codingCamp_test TEST_DB_USER=.. TEST_DB_PASSWORD=..
+ * mvn test -Dtest=StudentPerformanceRepositoryTest
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+class StudentPerformanceRepositoryTest {
+
+    private static final Timestamp T1 = Timestamp.valueOf("2025-01-10 08:00:00");
+    private static final Timestamp T2 = Timestamp.valueOf("2025-02-10 08:00:00");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("TEST_DB_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("TEST_DB_USER", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("TEST_DB_PASSWORD", ""));
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentPerformanceRepository repository;
+
+    @Test
+    void latestPerStudentBreaksTiesByIdAndIgnoresSoftDeletedRows() {
+        Role role = new Role();
+        role.setRole("STUDENT");
+        entityManager.persist(role);
+
+        // Dua baris dengan createdAt sama: id lebih besar yang menang; baris lebih baru tapi terhapus diabaikan
+        Student tie = student(role, "tie");
+        performance(tie, T1, null);
+        StudentPerformance tieWinner = performance(tie, T1, null);
+        performance(tie, T2, new Date());
+
+        Student newest = student(role, "newest");
+        StudentPerformance newestWinner = performance(newest, T2, null);
+        performance(newest, T1, null);
+
+        // Semua performa terhapus: siswa tidak ikut batch sama sekali
+        Student deleted = student(role, "deleted");
+        performance(deleted, T2, new Date());
+
+        entityManager.clear();
+
+        Map<Long, Long> latest;
+        try (Stream<StudentPerformance> rows = repository.streamLatestPerStudent()) {
+            latest = rows.collect(Collectors.toMap(p -> p.getStudent().getId(), StudentPerformance::getId));
+        }
+        assertEquals(Map.of(tie.getId(), tieWinner.getId(), newest.getId(), newestWinner.getId()), latest);
+
+        // Hitungan ETA mode incremental memakai aturan yang sama (semua belum pernah diprediksi)
+        assertEquals(2, repository.countLatestPerStudentChangedSinceLastPrediction());
+    }
+
+    @Test
+    void teacherScopeTreatsBlankKelasAsUnassigned() {
+        Role role = new Role();
+        role.setRole("STUDENT");
+        entityManager.persist(role);
+
+        Student inKelas = student(role, "in-kelas");
+        inKelas.setKelas("X-1");
+        Student otherKelas = student(role, "other-kelas");
+        otherKelas.setKelas("X-2");
+        Student noKelas = student(role, "no-kelas");
+        Student blankKelas = student(role, "blank-kelas");
+        blankKelas.setKelas("  ");
+        for (Student student : List.of(inKelas, otherKelas, noKelas, blankKelas)) {
+            performance(student, T1, null);
+        }
+        entityManager.clear();
+
+        Set<Long> visible = repository.findAllInKelas(List.of("X-1"), Sort.by("id")).stream()
+                .map(p -> p.getStudent().getId())
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(inKelas.getId(), noKelas.getId(), blankKelas.getId()), visible);
+    }
+
+    private Student student(Role role, String name) {
+        Student student = new Student();
+        student.setName(name);
+        student.setUsername(name);
+        student.setEmail(name + "@test.local");
+        student.setPhone("08-" + name);
+        student.setPassword("-");
+        student.setRole(role);
+        return entityManager.persist(student);
+    }
+
+    private StudentPerformance performance(Student student, Timestamp createdAt, Date deletedAt) {
+        StudentPerformance performance = new StudentPerformance();
+        performance.setStudent(student);
+        performance.setNilaiAkhirRataRata(80);
+        performance.setJumlahKetidakhadiran(1);
+        performance.setPersentaseTugas(90);
+        performance.setDeletedAt(deletedAt);
+        entityManager.persistAndFlush(performance);
+        // createdAt diisi @CreationTimestamp saat insert; ditimpa supaya bisa dibuat sama persis
+        jdbcTemplate.update("UPDATE student_performance SET created_at = ? WHERE id = ?", createdAt,
+                performance.getId());
+        return performance;
+    }
+}
@@ -0,0 +1,100 @@
+import config from '../config';
+
+// Baca response NDJSON (satu objek JSON per baris) dan panggil onEvent per baris.
+// Dipakai untuk endpoint streaming yang tidak bisa lewat axios (axios menunggu body lengkap).
+export const streamNdjson = async (path, onEvent, { signal } = {}) => {
+  const token = localStorage.getItem('token');
+  const response = await fetch(`${config.API_BASE_URL}/${path}`, {
+    headers: {
+      Accept: 'application/x-ndjson',
+      ...(token ? { Authorization: `Bearer ${token}` } : {}),
+    },
+    signal,
+  });
+
+  if (response.status === 401) {
+    localStorage.removeItem('token');
+    window.location.href = '/login';
+    return;
+  }
+  if (!response.ok || !response.body) {
+    throw new Error(`Streaming gagal dengan status ${response.status}`);
+  }
+
+  const reader = response.body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) break;
+    buffer += decoder.decode(value, { stream: true });
+
+    let newline;
+    while ((newline = buffer.indexOf('\n')) >= 0) {
+      const line = buffer.slice(0, newline).trim();
+      buffer = buffer.slice(newline + 1);
+      if (line) onEvent(JSON.parse(line));
+    }
+  }
+  if (buffer.trim()) onEvent(JSON.parse(buffer));
+};
+
+// Baca response text/event-stream. EventSource bawaan browser tidak bisa mengirim header
+// Authorization, jadi SSE diparse manual. onEvent dipanggil dengan { id, event, data }.
+// Mengembalikan id event terakhir untuk dikirim ulang sebagai Last-Event-ID saat reconnect.
+export const streamSse = async (path, onEvent, { signal, lastEventId } = {}) => {
+  const token = localStorage.getItem('token');
+  const response = await fetch(`${config.API_BASE_URL}/${path}`, {
+    headers: {
+      Accept: 'text/event-stream',
+      ...(token ? { Authorization: `Bearer ${token}` } : {}),
+      ...(lastEventId ? { 'Last-Event-ID': lastEventId } : {}),
+    },
+    signal,
+  });
+
+  if (response.status === 401) {
+    localStorage.removeItem('token');
+    window.location.href = '/login';
+    return lastEventId;
+  }
+  if (!response.ok || !response.body) {
+    throw new Error(`Streaming gagal dengan status ${response.status}`);
+  }
+
+  const reader = response.body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+  let lastId = lastEventId;
+
+  const dispatch = (block) => {
+    let id;
+    let event = 'message';
+    const data = [];
+    for (const line of block.split('\n')) {
+      if (!line || line.startsWith(':')) continue; // komentar = heartbeat
+      const colon = line.indexOf(':');
+      const field = colon < 0 ? line : line.slice(0, colon);
+      const value = colon < 0 ? '' : line.slice(colon + 1).replace(/^ /, '');
+      if (field === 'id') id = value;
+      else if (field === 'event') event = value;
+      else if (field === 'data') data.push(value);
+    }
+    if (id !== undefined) lastId = id;
+    if (data.length) onEvent({ id, event, data: JSON.parse(data.join('\n')) });
+  };
+
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) break;
+    buffer += decoder.decode(value, { stream: true }).replace(/\r\n?/g, '\n');
+
+    let boundary;
+    while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+      dispatch(buffer.slice(0, boundary));
+      buffer = buffer.slice(boundary + 2);
+    }
+  }
+  return lastId;
+};
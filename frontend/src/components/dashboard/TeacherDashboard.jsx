@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { Users, BookOpen, AlertTriangle, CheckCircle } from 'lucide-react';
 import DashboardCard from '../common/DashboardCard';
 import api from '../../api/Axios';
+import { streamNdjson } from '../../api/Stream';
 import { Eye } from 'lucide-react';
 
 const TeacherDashboard = () => {
@@ -23,11 +24,6 @@ const TeacherDashboard = () => {
         const usersData = Array.isArray(usersResponse.data) ? usersResponse.data : usersResponse.data.data || [];
         setAllUsers(usersData);
 
-        // Fetch batch predictions for all students
-        const predictionsResponse = await api.get('api/prediction/batch');
-        const predictionsData = Array.isArray(predictionsResponse.data.data) ? predictionsResponse.data.data : [];
-        setPredictions(predictionsData);
-
       } catch (err) {
         console.error('Failed to fetch students:', err);
         setStudents([]);
@@ -37,7 +33,35 @@ const TeacherDashboard = () => {
         setLoading(false);
       }
     };
+
+    // Prediksi batch di-stream: tabel terisi per siswa tanpa menunggu seluruh batch selesai
+    const streamPredictions = async () => {
+      const addPrediction = (prediction) => {
+        setPredictions(prev => [...prev.filter(p => p.siswaId !== prediction.siswaId), prediction]);
+      };
+      try {
+        await streamNdjson('api/prediction/batch/stream', async ({ event, data }) => {
+          if (event === 'prediction') {
+            addPrediction(data);
+          } else if (event === 'done' && data.joined) {
+            // bergabung ke job yang sudah berjalan: hasil sebelum bergabung diambil sekaligus
+            const results = await api.get(`api/prediction/batch/jobs/${data.jobId}/results`);
+            (results.data.data || []).forEach(addPrediction);
+          } else if (event === 'error') {
+            console.error('Batch prediction failed:', data.message);
+          }
+        }, { signal: controller.signal });
+      } catch (err) {
+        if (err.name !== 'AbortError') {
+          console.error('Failed to stream predictions:', err);
+        }
+      }
+    };
+
+    const controller = new AbortController();
     fetchData();
+    streamPredictions();
+    return () => controller.abort();
   }, []);
 
   // Helper functions
@@ -1,5 +1,6 @@
 import { useState, useEffect } from 'react'; // Add this import
 import api from '../../api/Axios';
+import { streamSse } from '../../api/Stream';
 import { 
   AlertTriangle, 
   XCircle, 
@@ -7,25 +8,80 @@ import {
   Bell 
 } from 'lucide-react'; // Import the icons you're using
 
+const PAGE_SIZE = 20;
+
 const NotificationsPanel = ({ userRole }) => {
   const [notifications, setNotifications] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
+    const controller = new AbortController();
+
     const fetchNotifications = async () => {
       try {
-        const response = await api.get('/api/notification');
-        setNotifications(response.data.data);
+        const response = await api.get('/api/notification/feed', { params: { limit: PAGE_SIZE } });
+        const { items, nextCursor: cursor } = response.data.data;
+        setNotifications(items);
+        setNextCursor(cursor);
+        return items;
       } catch (err) {
         console.error('Failed to fetch notifications:', err);
         setNotifications([]);
+        return [];
       } finally {
         setLoading(false);
       }
     };
-    fetchNotifications();
+
+    // Notifikasi baru di-push lewat SSE; tidak ada polling. Putus -> sambung lagi dengan Last-Event-ID
+    const listen = async (initial) => {
+      // Mulai dari notifikasi terbaru yang sudah dimuat supaya yang masuk di antaranya tidak terlewat
+      const newest = initial.reduce((a, b) => (a && new Date(a.createdAt) >= new Date(b.createdAt) ? a : b), null);
+      let lastEventId = newest ? `${new Date(newest.createdAt).getTime()}-${newest.id}` : undefined;
+      while (!controller.signal.aborted) {
+        try {
+          lastEventId = await streamSse('api/notification/stream', ({ event, data }) => {
+            if (event === 'notification') {
+              setNotifications((current) => (current.some((n) => n.id === data.id)
+                ? current
+                : [data, ...current]));
+            } else if (event === 'resync') {
+              fetchNotifications();
+            }
+          }, { signal: controller.signal, lastEventId });
+        } catch (err) {
+          if (controller.signal.aborted) return;
+          console.error('Notification stream error:', err);
+        }
+        await new Promise((resolve) => setTimeout(resolve, 3000));
+      }
+    };
+
+    fetchNotifications().then(listen);
+    return () => controller.abort();
   }, []);
 
+  // Halaman berikutnya dari feed (keyset cursor), ditambahkan di bawah daftar
+  const loadMore = async () => {
+    if (!nextCursor || loadingMore) return;
+    setLoadingMore(true);
+    try {
+      const response = await api.get('/api/notification/feed', { params: { limit: PAGE_SIZE, cursor: nextCursor } });
+      const { items, nextCursor: cursor } = response.data.data;
+      setNotifications((current) => [
+        ...current,
+        ...items.filter((item) => !current.some((n) => n.id === item.id)),
+      ]);
+      setNextCursor(cursor);
+    } catch (err) {
+      console.error('Failed to load more notifications:', err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const getNotificationIcon = (type) => {
     switch (type) {
       case 'warning': return <AlertTriangle className="w-5 h-5 text-yellow-500" />;
@@ -57,6 +113,16 @@ const NotificationsPanel = ({ userRole }) => {
                 </div>
               </div>
             ))}
+            {nextCursor && (
+              <button
+                type="button"
+                onClick={loadMore}
+                disabled={loadingMore}
+                className="w-full p-4 text-sm text-blue-600 hover:bg-gray-50 disabled:text-gray-400"
+              >
+                {loadingMore ? 'Memuat...' : 'Muat lebih banyak'}
+              </button>
+            )}
           </div>
         )}
       </div>
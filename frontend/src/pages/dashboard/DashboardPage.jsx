@@ -5,7 +5,8 @@ import PerformanceDashboard from '../../components/dashboard/PerformanceDashboar
 import StudentManagement from '../../components/StudentManagement';
 import ScoreInputForm from '../../components/forms/ScoreInputForm';
 import NotificationsPanel from '../../components/notification/NotificationCard';
-import { useState } from 'react';
+import { useState, useEffect } from 'react';
+import api from '../../api/Axios';
 import { useAuth } from '../../auth/AuthContext';
 import { useLocation, Navigate } from 'react-router-dom';
 
@@ -13,6 +14,23 @@ import { useLocation, Navigate } from 'react-router-dom';
 const DashboardPage = () => {
   const { user } = useAuth();
   const location = useLocation(); 
+  const [unreadCount, setUnreadCount] = useState(0);
+
+  // Badge hanya butuh angka: endpoint unread-count dibaca dari counter di server, bukan seluruh inbox
+  useEffect(() => {
+    if (!user) return undefined;
+    const fetchUnreadCount = async () => {
+      try {
+        const response = await api.get('/api/notification/unread-count');
+        setUnreadCount(response.data.data);
+      } catch (err) {
+        console.error('Failed to fetch unread count:', err);
+      }
+    };
+    fetchUnreadCount();
+    const timer = setInterval(fetchUnreadCount, 30000);
+    return () => clearInterval(timer);
+  }, [user]);
 
   if (!user) return <div>Loading...</div>;
 
@@ -68,7 +86,11 @@ const DashboardPage = () => {
             <div className="flex items-center gap-4">
               <button className="relative">
                 <Bell className="w-5 h-5 text-gray-600" />
-                <span className="absolute -top-1 -right-1 w-3 h-3 bg-red-500 rounded-full text-xs text-white flex items-center justify-center">2</span>
+                {unreadCount > 0 && (
+                  <span className="absolute -top-1 -right-1 min-w-3 h-3 px-0.5 bg-red-500 rounded-full text-xs text-white flex items-center justify-center">
+                    {unreadCount > 99 ? '99+' : unreadCount}
+                  </span>
+                )}
               </button>
 
               <div className="flex items-center gap-2">
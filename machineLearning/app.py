@@ -6,6 +6,8 @@ import numpy as np
 from tensorflow.keras.models import load_model
 import os
 
+from export_model import model_version
+
 
 app = Flask(__name__)
 CORS(app)
@@ -15,6 +17,15 @@ BASE_DIR = os.path.dirname(os.path.abspath(__file__))
 model = load_model(os.path.join(BASE_DIR, "best_model.h5"))
 preprocessor = joblib.load(os.path.join(BASE_DIR, "preprocessor.pkl"))
 label_encoder = joblib.load(os.path.join(BASE_DIR, "label_encoder.pkl"))
+MODEL_VERSION = model_version()
+
+@app.route('/model_info', methods=['GET'])
+def model_info():
+    # Dipakai backend sebagai key versi tabel prediksi
+    return jsonify({
+        'model_version': MODEL_VERSION,
+        'labels': label_encoder.classes_.tolist()
+    })
 
 @app.route('/predict', methods=['POST'])
 def predict():
@@ -50,5 +61,36 @@ def predict():
         return jsonify({'error': str(e)})
 
 
+@app.route('/predict_batch', methods=['POST'])
+def predict_batch():
+    data = request.get_json()
+
+    try:
+        # {"instances": [{"Persentase Tugas": .., "Jumlah Ketidakhadiran": .., "Rata-rata": ..}, ...]}
+        instances = data['instances']
+        if len(instances) == 0:
+            return jsonify({'predicted_label': [], 'probabilities': []})
+
+        df = pd.DataFrame([{
+            'Persentase Tugas': int(row['Persentase Tugas']),
+            'Jumlah Ketidakhadiran': int(row['Jumlah Ketidakhadiran']),
+            'Rata-rata': int(row['Rata-rata'])
+        } for row in instances])
+
+        # Satu kali transform & predict untuk seluruh matrix
+        X_input = preprocessor.transform(df)
+        y_pred_proba = model.predict(X_input, verbose=0)
+        predicted_index = np.argmax(y_pred_proba, axis=1)
+        predicted_label = label_encoder.inverse_transform(predicted_index)
+
+        return jsonify({
+            'predicted_label': predicted_label.tolist(),
+            'probabilities': y_pred_proba.tolist()
+        })
+
+    except Exception as e:
+        return jsonify({'error': str(e)})
+
+
 if __name__ == '__main__':
     app.run(host='0.0.0.0', port=int(os.environ.get('PORT', 5000)), debug=False)
\ No newline at end of file
@@ -0,0 +1,162 @@
+"""
+Export best_model.h5 + preprocessor.pkl + label_encoder.pkl ke format biner
+sederhana yang dibaca oleh scorer Java (prediction.scorer=local).
+
+Format (big-endian, versi 1):
+    magic            4 byte  b'LTM1'
+    format_version   int32
+    model_version    utf     (sha256 dari file model + preprocessor + encoder)
+    n_features       int32
+      name           utf
+      scaler_type    int8    0=standard, 1=robust, 2=yeo-johnson
+      n_params       int32
+      params         float64 * n_params
+    n_labels         int32
+      label          utf
+    n_layers         int32
+      in_size        int32
+      out_size       int32
+      activation     int8    0=linear, 1=relu, 2=softmax
+      kernel         float32 * in_size * out_size   (row-major, shape [in, out])
+      bias           float32 * out_size
+
+Pemakaian:
+    python export_model.py --out student_model.bin --parity parity_expected.csv
+"""
+import argparse
+import csv
+import hashlib
+import os
+import struct
+
+import joblib
+import numpy as np
+import pandas as pd
+from tensorflow.keras.models import load_model
+
+BASE_DIR = os.path.dirname(os.path.abspath(__file__))
+
+MAGIC = b'LTM1'
+FORMAT_VERSION = 1
+
+SCALER_STANDARD = 0
+SCALER_ROBUST = 1
+SCALER_YEO_JOHNSON = 2
+
+ACTIVATIONS = {'linear': 0, 'relu': 1, 'softmax': 2}
+
+FEATURES = ['Persentase Tugas', 'Jumlah Ketidakhadiran', 'Rata-rata']
+
+MODEL_FILES = ['best_model.h5', 'preprocessor.pkl', 'label_encoder.pkl']
+
+
+def write_utf(f, text):
+    data = text.encode('utf-8')
+    f.write(struct.pack('>H', len(data)))
+    f.write(data)
+
+
+def model_version():
+    digest = hashlib.sha256()
+    for name in MODEL_FILES:
+        with open(os.path.join(BASE_DIR, name), 'rb') as f:
+            digest.update(f.read())
+    return digest.hexdigest()[:16]
+
+
+def scaler_params(transformer):
+    kind = type(transformer).__name__
+    if kind == 'StandardScaler':
+        return SCALER_STANDARD, [transformer.mean_[0], transformer.scale_[0]]
+    if kind == 'RobustScaler':
+        center = transformer.center_[0] if transformer.with_centering else 0.0
+        scale = transformer.scale_[0] if transformer.with_scaling else 1.0
+        return SCALER_ROBUST, [center, scale]
+    if kind == 'PowerTransformer':
+        if transformer.method != 'yeo-johnson':
+            raise ValueError('PowerTransformer method tidak didukung: ' + transformer.method)
+        if transformer.standardize:
+            mean, scale = transformer._scaler.mean_[0], transformer._scaler.scale_[0]
+        else:
+            mean, scale = 0.0, 1.0
+        return SCALER_YEO_JOHNSON, [transformer.lambdas_[0], mean, scale]
+    raise ValueError('Transformer tidak didukung: ' + kind)
+
+
+def export(out_path):
+    model = load_model(os.path.join(BASE_DIR, 'best_model.h5'))
+    preprocessor = joblib.load(os.path.join(BASE_DIR, 'preprocessor.pkl'))
+    label_encoder = joblib.load(os.path.join(BASE_DIR, 'label_encoder.pkl'))
+
+    features = []
+    for _, transformer, columns in preprocessor.transformers_:
+        if len(columns) == 0 or transformer in ('drop', 'passthrough'):
+            continue
+        if len(columns) != 1:
+            raise ValueError('Satu transformer per kolom diharapkan, ditemukan: ' + str(columns))
+        features.append((columns[0], *scaler_params(transformer)))
+
+    layers = []
+    for layer in model.layers:
+        kind = type(layer).__name__
+        if kind == 'Dropout':
+            continue  # no-op saat inference
+        if kind != 'Dense':
+            raise ValueError('Layer tidak didukung: ' + kind)
+        kernel, bias = layer.get_weights()
+        layers.append((kernel.astype('>f4'), bias.astype('>f4'), ACTIVATIONS[layer.activation.__name__]))
+
+    version = model_version()
+    with open(out_path, 'wb') as f:
+        f.write(MAGIC)
+        f.write(struct.pack('>i', FORMAT_VERSION))
+        write_utf(f, version)
+
+        f.write(struct.pack('>i', len(features)))
+        for name, scaler_type, params in features:
+            write_utf(f, name)
+            f.write(struct.pack('>b', scaler_type))
+            f.write(struct.pack('>i', len(params)))
+            for value in params:
+                f.write(struct.pack('>d', float(value)))
+
+        f.write(struct.pack('>i', len(label_encoder.classes_)))
+        for label in label_encoder.classes_:
+            write_utf(f, str(label))
+
+        f.write(struct.pack('>i', len(layers)))
+        for kernel, bias, activation in layers:
+            f.write(struct.pack('>iib', kernel.shape[0], kernel.shape[1], activation))
+            f.write(kernel.tobytes(order='C'))
+            f.write(bias.tobytes())
+
+    print('Model version {} ditulis ke {}'.format(version, out_path))
+    return model, preprocessor, label_encoder
+
+
+def export_parity(model, preprocessor, label_encoder, parity_path):
+    # Input dibulatkan ke int seperti yang dilakukan /predict
+    df = pd.read_csv(os.path.join(BASE_DIR, 'daftar_nilai_final5.csv'))
+    inputs = df[FEATURES].astype(float).astype(int)
+
+    proba = model.predict(preprocessor.transform(inputs), verbose=0)
+    labels = label_encoder.inverse_transform(np.argmax(proba, axis=1))
+
+    with open(parity_path, 'w', newline='') as f:
+        writer = csv.writer(f)
+        writer.writerow(FEATURES + ['predicted_label'] + ['p{}'.format(i) for i in range(proba.shape[1])])
+        for row, label, p in zip(inputs.itertuples(index=False), labels, proba):
+            writer.writerow(list(row) + [label] + ['{:.8f}'.format(v) for v in p])
+
+    print('{} baris parity ditulis ke {}'.format(len(inputs), parity_path))
+
+
+if __name__ == '__main__':
+    parser = argparse.ArgumentParser()
+    parser.add_argument('--out', default=os.path.join(BASE_DIR, 'student_model.bin'))
+    parser.add_argument('--parity', default=os.path.join(BASE_DIR, 'parity_expected.csv'))
+    args = parser.parse_args()
+
+    model, preprocessor, label_encoder = export(args.out)
+    if args.parity:
+        export_parity(model, preprocessor, label_encoder, args.parity)